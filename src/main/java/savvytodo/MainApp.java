@@ -1,8 +1,10 @@
 package savvytodo;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import com.google.common.eventbus.Subscribe;
@@ -13,10 +15,16 @@ import javafx.stage.Stage;
 import savvytodo.commons.core.Config;
 import savvytodo.commons.core.EventsCenter;
 import savvytodo.commons.core.LogsCenter;
+import savvytodo.commons.core.StartupOrchestrator;
 import savvytodo.commons.core.Version;
+import savvytodo.commons.events.storage.DataFileChangedEvent;
+import savvytodo.commons.events.storage.DeferredTasksLoadFailedEvent;
+import savvytodo.commons.events.storage.DeferredTasksLoadedEvent;
+import savvytodo.commons.events.storage.TaskChangesFollowedEvent;
 import savvytodo.commons.events.ui.ExitAppRequestEvent;
 import savvytodo.commons.exceptions.DataConversionException;
 import savvytodo.commons.util.ConfigUtil;
+import savvytodo.commons.util.NattyDateTimeParserUtil;
 import savvytodo.commons.util.StringUtil;
 import savvytodo.logic.Logic;
 import savvytodo.logic.LogicManager;
@@ -50,6 +58,9 @@ public class MainApp extends Application {
 
     public String configFile = Config.DEFAULT_CONFIG_FILE;
 
+    /** When the initialisation of the application started, in nanoseconds. */
+    private long initStartTime;
+
     //@@author A0140036X
     /**
      * Gets running JavaFX Application instance
@@ -82,19 +93,31 @@ public class MainApp extends Application {
      */
     public void initApplicationFromConfig(String configFilePath,
             boolean useSampleDataIfStorageFileNotFound) {
-        config = initConfig(configFilePath);
-
-        storage = new StorageManager(config.getTaskManagerFilePath(),
-                config.getUserPrefsFilePath());
-
-        userPrefs = initPrefs(config);
-
-        initLogging(config);
+        initStartTime = System.nanoTime();
+        new StartupOrchestrator()
+                .addPhase("config", () -> config = initConfig(configFilePath))
+                .addPhase("storage", () -> storage = new StorageManager(config), "config")
+                .addPhase("prefs", () -> userPrefs = initPrefs(config), "storage")
+                .addPhase("logging", () -> initLogging(config), "config")
+                .addPhase("model", () -> model = initModelManager(storage, userPrefs,
+                        useSampleDataIfStorageFileNotFound ? null : new TaskManager()), "storage", "prefs")
+                .addPhase("logic", () -> logic = new LogicManager(model, storage), "model")
+                .addPhase("archive", this::archiveCompletedTasks, "logic")
+                .addPhase("ui", () -> ui = new UiManager(logic, config, userPrefs), "logic")
+                .addPhase("date parser", NattyDateTimeParserUtil::warmUp)
+                .addPhase("view classes", UiManager::preloadViewClasses)
+                .run();
+    }
 
-        model = initModelManager(storage, userPrefs,
-                useSampleDataIfStorageFileNotFound ? null : new TaskManager());
-        logic = new LogicManager(model, storage);
-        ui = new UiManager(logic, config, userPrefs);
+    /**
+     * Moves the tasks completed more than the configured number of days ago into the archive.
+     * Does nothing if no number of days is configured, or while the older tasks of the data file are loading,
+     * in which case it is done again once they are added to the model.
+     */
+    private void archiveCompletedTasks() {
+        if (config.getTaskManagerArchiveAfterDays() > 0) {
+            logic.archiveCompletedTasks(LocalDateTime.now().minusDays(config.getTaskManagerArchiveAfterDays()));
+        }
     }
 
     private String getApplicationParameter(String parameterName) {
@@ -127,7 +150,9 @@ public class MainApp extends Application {
             initialData = new TaskManager();
         }
 
-        return new ModelManager(initialData, userPrefs);
+        Model model = new ModelManager(initialData, userPrefs);
+        model.setUndoHistory(storage.openUndoHistory(model.getTaskManager()));
+        return model;
     }
 
     //@@author A0140036X
@@ -248,6 +273,8 @@ public class MainApp extends Application {
     public void start(Stage primaryStage) {
         logger.info("Starting TaskManager " + MainApp.VERSION);
         ui.start(primaryStage);
+        logger.info("Main window shown " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - initStartTime)
+                + " ms after the initialisation started");
     }
 
     @Override
@@ -255,6 +282,8 @@ public class MainApp extends Application {
         logger.info(
                 "============================ [ Stopping Task Manager ] =============================");
         ui.stop();
+        model.closeUndoHistory();
+        storage.flushPendingSaves();
         try {
             storage.saveUserPrefs(userPrefs);
         } catch (IOException e) {
@@ -270,9 +299,81 @@ public class MainApp extends Application {
         this.stop();
     }
 
+    /**
+     * Adds the older tasks of the data file, which are read in the background, to the model once they are read.
+     */
+    @Subscribe
+    public void handleDeferredTasksLoadedEvent(DeferredTasksLoadedEvent event) {
+        logger.info(LogsCenter.getEventHandlingLogMessage(event));
+        // the model is only changed on the FX thread, which the UI observes it from
+        Platform.runLater(() -> addDeferredTasks(event));
+    }
+
+    private void addDeferredTasks(DeferredTasksLoadedEvent event) {
+        // another data file may have been loaded since
+        if (event.filePath.equals(storage.getTaskManagerFilePath())) {
+            model.addDeferredTasks(event.data);
+            logic.runQueuedCommands();
+            archiveCompletedTasks();
+        }
+    }
+
+    /**
+     * Runs the commands that waited for the older tasks, on the tasks that could be read.
+     */
+    @Subscribe
+    public void handleDeferredTasksLoadFailedEvent(DeferredTasksLoadFailedEvent event) {
+        logger.info(LogsCenter.getEventHandlingLogMessage(event));
+        Platform.runLater(() -> {
+            if (event.filePath.equals(storage.getTaskManagerFilePath())) {
+                logic.runQueuedCommands();
+            }
+        });
+    }
+
+    /**
+     * Applies the changes made by the instance that writes the data file, while this one only follows them.
+     */
+    @Subscribe
+    public void handleTaskChangesFollowedEvent(TaskChangesFollowedEvent event) {
+        logger.info(LogsCenter.getEventHandlingLogMessage(event));
+        // the model is only changed on the FX thread, which the UI observes it from
+        Platform.runLater(() -> followTaskChanges(event));
+    }
+
+    private void followTaskChanges(TaskChangesFollowedEvent event) {
+        // another data file may have been loaded since
+        if (!event.filePath.equals(storage.getTaskManagerFilePath())) {
+            return;
+        }
+        if (event.reloadedData != null) {
+            model.resetData(event.reloadedData);
+        } else {
+            model.followTaskChanges(event.removedTasks, event.addedTasks);
+        }
+    }
+
+    /**
+     * Updates the model with the data file after it was changed outside the application.
+     */
+    @Subscribe
+    public void handleDataFileChangedEvent(DataFileChangedEvent event) {
+        logger.info(LogsCenter.getEventHandlingLogMessage(event));
+        // the model is only changed on the FX thread, which the UI observes it from
+        Platform.runLater(() -> updateFromChangedDataFile(event));
+    }
+
+    private void updateFromChangedDataFile(DataFileChangedEvent event) {
+        // another data file may have been loaded since
+        if (event.filePath.equals(storage.getTaskManagerFilePath())) {
+            model.updateFromChangedData(event.data);
+        }
+    }
+
     //@@author A0140036X
     /**
      * Loads a new task manager file.
+     * If another instance is writing the file, this one only follows its changes.
      * 1. Update and save config file with new storage file path
      * 2. Update UI with new logic
      * @throws IOException
@@ -280,8 +381,14 @@ public class MainApp extends Application {
      */
     public void loadTaskManagerFile(String filePath) throws DataConversionException, IOException {
         logger.info("Loading new file " + filePath);
+        model.closeUndoHistory();
         storage.setTaskManagerStorageFilePath(filePath);
         model.resetData(getTaskManagerFromStorage(storage, new TaskManager()));
+        model.setUndoHistory(storage.openUndoHistory(model.getTaskManager()));
+        if (storage.isFollowingWriter()) {
+            logger.info("File " + filePath + " is written by another instance, opened read-only");
+        }
+        archiveCompletedTasks();
         config.setTaskManagerFilePath(filePath);
         saveConfig();
         ui.refresh();
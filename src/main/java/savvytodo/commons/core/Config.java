@@ -16,6 +16,15 @@ public class Config {
     private String userPrefsFilePath = "preferences.json";
     private String taskManagerFilePath = "data/taskmanager.xml";
     private String taskManagerName = "MyTaskManager";
+    private String taskManagerStorageFormat = "xml";
+    private long taskManagerSaveWindowMillis = 300;
+    private int taskManagerCompressionLevel = 0;
+    private int taskManagerArchiveAfterDays = 0;
+    private boolean taskManagerSharedAccess = true;
+    private boolean taskManagerWatchFile = true;
+    private String taskManagerSyncPolicy = "interval";
+    private long taskManagerSyncIntervalMillis = 1000;
+    private int undoHistoryDepth = 100;
 
 
     public String getAppTitle() {
@@ -58,6 +67,78 @@ public class Config {
         this.taskManagerName = taskManagerName;
     }
 
+    public String getTaskManagerStorageFormat() {
+        return taskManagerStorageFormat;
+    }
+
+    public void setTaskManagerStorageFormat(String taskManagerStorageFormat) {
+        this.taskManagerStorageFormat = taskManagerStorageFormat;
+    }
+
+    public long getTaskManagerSaveWindowMillis() {
+        return taskManagerSaveWindowMillis;
+    }
+
+    public void setTaskManagerSaveWindowMillis(long taskManagerSaveWindowMillis) {
+        this.taskManagerSaveWindowMillis = taskManagerSaveWindowMillis;
+    }
+
+    public int getTaskManagerCompressionLevel() {
+        return taskManagerCompressionLevel;
+    }
+
+    public void setTaskManagerCompressionLevel(int taskManagerCompressionLevel) {
+        this.taskManagerCompressionLevel = taskManagerCompressionLevel;
+    }
+
+    public int getTaskManagerArchiveAfterDays() {
+        return taskManagerArchiveAfterDays;
+    }
+
+    public void setTaskManagerArchiveAfterDays(int taskManagerArchiveAfterDays) {
+        this.taskManagerArchiveAfterDays = taskManagerArchiveAfterDays;
+    }
+
+    public boolean isTaskManagerSharedAccess() {
+        return taskManagerSharedAccess;
+    }
+
+    public void setTaskManagerSharedAccess(boolean taskManagerSharedAccess) {
+        this.taskManagerSharedAccess = taskManagerSharedAccess;
+    }
+
+    public boolean isTaskManagerWatchFile() {
+        return taskManagerWatchFile;
+    }
+
+    public void setTaskManagerWatchFile(boolean taskManagerWatchFile) {
+        this.taskManagerWatchFile = taskManagerWatchFile;
+    }
+
+    public String getTaskManagerSyncPolicy() {
+        return taskManagerSyncPolicy;
+    }
+
+    public void setTaskManagerSyncPolicy(String taskManagerSyncPolicy) {
+        this.taskManagerSyncPolicy = taskManagerSyncPolicy;
+    }
+
+    public long getTaskManagerSyncIntervalMillis() {
+        return taskManagerSyncIntervalMillis;
+    }
+
+    public void setTaskManagerSyncIntervalMillis(long taskManagerSyncIntervalMillis) {
+        this.taskManagerSyncIntervalMillis = taskManagerSyncIntervalMillis;
+    }
+
+    public int getUndoHistoryDepth() {
+        return undoHistoryDepth;
+    }
+
+    public void setUndoHistoryDepth(int undoHistoryDepth) {
+        this.undoHistoryDepth = undoHistoryDepth;
+    }
+
 
     @Override
     public boolean equals(Object other) {
@@ -74,12 +155,24 @@ public class Config {
                 && Objects.equals(logLevel, o.logLevel)
                 && Objects.equals(userPrefsFilePath, o.userPrefsFilePath)
                 && Objects.equals(taskManagerFilePath, o.taskManagerFilePath)
-                && Objects.equals(taskManagerName, o.taskManagerName);
+                && Objects.equals(taskManagerName, o.taskManagerName)
+                && Objects.equals(taskManagerStorageFormat, o.taskManagerStorageFormat)
+                && taskManagerSaveWindowMillis == o.taskManagerSaveWindowMillis
+                && taskManagerCompressionLevel == o.taskManagerCompressionLevel
+                && taskManagerArchiveAfterDays == o.taskManagerArchiveAfterDays
+                && taskManagerSharedAccess == o.taskManagerSharedAccess
+                && taskManagerWatchFile == o.taskManagerWatchFile
+                && Objects.equals(taskManagerSyncPolicy, o.taskManagerSyncPolicy)
+                && taskManagerSyncIntervalMillis == o.taskManagerSyncIntervalMillis
+                && undoHistoryDepth == o.undoHistoryDepth;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(appTitle, logLevel, userPrefsFilePath, taskManagerFilePath, taskManagerName);
+        return Objects.hash(appTitle, logLevel, userPrefsFilePath, taskManagerFilePath, taskManagerName,
+                taskManagerStorageFormat, taskManagerSaveWindowMillis, taskManagerCompressionLevel,
+                taskManagerArchiveAfterDays, taskManagerSharedAccess, taskManagerWatchFile, taskManagerSyncPolicy,
+                taskManagerSyncIntervalMillis, undoHistoryDepth);
     }
 
     @Override
@@ -90,6 +183,15 @@ public class Config {
         sb.append("\nPreference file Location : " + userPrefsFilePath);
         sb.append("\nLocal data file location : " + taskManagerFilePath);
         sb.append("\nTaskManager name : " + taskManagerName);
+        sb.append("\nTaskManager storage format : " + taskManagerStorageFormat);
+        sb.append("\nTaskManager save window (ms) : " + taskManagerSaveWindowMillis);
+        sb.append("\nTaskManager compression level : " + taskManagerCompressionLevel);
+        sb.append("\nTaskManager archive after (days) : " + taskManagerArchiveAfterDays);
+        sb.append("\nTaskManager shared access : " + taskManagerSharedAccess);
+        sb.append("\nTaskManager watch file : " + taskManagerWatchFile);
+        sb.append("\nTaskManager sync policy : " + taskManagerSyncPolicy);
+        sb.append("\nTaskManager sync interval (ms) : " + taskManagerSyncIntervalMillis);
+        sb.append("\nUndo history depth : " + undoHistoryDepth);
         return sb.toString();
     }
 
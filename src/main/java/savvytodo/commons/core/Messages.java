@@ -12,5 +12,15 @@ public class Messages {
     public static final String MESSAGE_CATEGORY_NOT_EXISTS = "The category does not exist";
     public static final String MESSAGE_INVALID_DATETIME = "Invalid date time entered!";
     public static final String MESSAGE_CONFLICTING_TASKS_WARNING = "\nWarning! DateTime conflict with: ";
+    public static final String MESSAGE_ARCHIVED_TASKS_LISTED_OVERVIEW = "\n%1$d archived tasks found:";
+    public static final String MESSAGE_ARCHIVED_TASK = "\nArchived %1$d: %2$s";
+    public static final String MESSAGE_MORE_ARCHIVED_TASKS = "\n...and %1$d more archived tasks";
+    public static final String MESSAGE_ARCHIVE_NOT_READABLE = "\nThe archive could not be searched!";
+    public static final String MESSAGE_READ_ONLY_TASK_MANAGER = "This task file is opened read-only! "
+            + "Save it to another file to make changes.";
+    public static final String MESSAGE_FOLLOWED_TASK_MANAGER = "This task file is being edited in another window! "
+            + "Its changes are shown here. Load the file again once the other window is closed to make changes.";
+    public static final String MESSAGE_COMMAND_QUEUED = "Older tasks are still being loaded! "
+            + "\"%1$s\" will run once they are loaded.";
 
 }
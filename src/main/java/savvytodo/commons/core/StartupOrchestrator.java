@@ -0,0 +1,150 @@
+package savvytodo.commons.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Runs the phases of the startup of the application on a small thread pool.
+ * Each phase starts as soon as the phases it depends on have finished, so that independent phases,
+ * such as loading the data file and loading the classes of the UI, overlap.
+ * How long each phase took is logged once all of them have finished.
+ */
+public class StartupOrchestrator {
+
+    private static final Logger logger = LogsCenter.getLogger(StartupOrchestrator.class);
+
+    private static final int MAX_THREAD_COUNT = 4;
+
+    private final Map<String, CompletableFuture<Void>> phases = new LinkedHashMap<>();
+    /** Start and end of each phase in nanoseconds, in the order the phases were added. */
+    private final Map<String, long[]> phaseTimes = new LinkedHashMap<>();
+    private final ExecutorService executor;
+    private final long startNanos = System.nanoTime();
+
+    public StartupOrchestrator() {
+        int threadCount = Math.max(2, Math.min(MAX_THREAD_COUNT, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "startup-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Adds a phase named {@code name}, which runs once the phases named {@code dependencies} have finished.
+     * The phases it depends on must have been added before.
+     */
+    public StartupOrchestrator addPhase(String name, Runnable phase, String... dependencies) {
+        assert !phases.containsKey(name) : "Phase " + name + " added twice";
+        List<CompletableFuture<Void>> dependencyFutures = new ArrayList<>();
+        for (String dependency : dependencies) {
+            assert phases.containsKey(dependency) : "Phase " + name + " depends on unknown phase " + dependency;
+            dependencyFutures.add(phases.get(dependency));
+        }
+        long[] times = new long[2];
+        synchronized (phaseTimes) {
+            phaseTimes.put(name, times);
+        }
+        CompletableFuture<Void> future = CompletableFuture
+                .allOf(dependencyFutures.toArray(new CompletableFuture<?>[0]))
+                .thenRunAsync(() -> runTimed(phase, times), executor);
+        phases.put(name, future);
+        return this;
+    }
+
+    private void runTimed(Runnable phase, long[] times) {
+        long start = System.nanoTime();
+        try {
+            phase.run();
+        } finally {
+            synchronized (phaseTimes) {
+                times[0] = start;
+                times[1] = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Waits for every phase to finish and logs how long they took.
+     * Phases that depend on a phase that failed do not run.
+     * @throws RuntimeException the failure of the first phase that failed, in the order the phases were added.
+     */
+    public void run() {
+        try {
+            for (CompletableFuture<Void> phase : phases.values()) {
+                try {
+                    phase.join();
+                } catch (CompletionException e) {
+                    throw unwrap(e);
+                }
+            }
+        } finally {
+            executor.shutdown();
+            logger.info(getTimingReport());
+        }
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return e;
+    }
+
+    /**
+     * Returns how long each finished phase took in milliseconds, in the order the phases were added.
+     */
+    public Map<String, Long> getPhaseMillis() {
+        Map<String, Long> phaseMillis = new LinkedHashMap<>();
+        synchronized (phaseTimes) {
+            for (Map.Entry<String, long[]> phase : phaseTimes.entrySet()) {
+                if (phase.getValue()[1] != 0) {
+                    phaseMillis.put(phase.getKey(), toMillis(phase.getValue()[1] - phase.getValue()[0]));
+                }
+            }
+        }
+        return phaseMillis;
+    }
+
+    /**
+     * Returns a report of when each phase started and how long it took,
+     * relative to the creation of this orchestrator.
+     */
+    public String getTimingReport() {
+        StringBuilder report = new StringBuilder("Startup phases (start ms + duration ms):");
+        long endNanos = startNanos;
+        synchronized (phaseTimes) {
+            for (Map.Entry<String, long[]> phase : phaseTimes.entrySet()) {
+                long[] times = phase.getValue();
+                report.append("\n    ").append(phase.getKey()).append(": ");
+                if (times[1] == 0) {
+                    report.append("did not run");
+                    continue;
+                }
+                report.append(toMillis(times[0] - startNanos)).append(" + ").append(toMillis(times[1] - times[0]));
+                endNanos = Math.max(endNanos, times[1]);
+            }
+        }
+        report.append("\n    total: ").append(toMillis(endNanos - startNanos));
+        return report.toString();
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+}
@@ -0,0 +1,18 @@
+package savvytodo.commons.events.model;
+
+import savvytodo.commons.events.BaseEvent;
+
+/** Indicates the tasks of a {@link savvytodo.commons.events.storage.DeferredTasksLoadedEvent} are now in the model */
+public class DeferredTasksMergedEvent extends BaseEvent {
+
+    public final int mergedCount;
+
+    public DeferredTasksMergedEvent(int mergedCount) {
+        this.mergedCount = mergedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "number of tasks merged " + mergedCount;
+    }
+}
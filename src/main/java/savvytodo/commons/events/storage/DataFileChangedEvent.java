@@ -0,0 +1,24 @@
+package savvytodo.commons.events.storage;
+
+import savvytodo.commons.events.BaseEvent;
+import savvytodo.model.ReadOnlyTaskManager;
+
+/**
+ * Indicates that the data file has been changed by something other than this application, and has been read again
+ */
+public class DataFileChangedEvent extends BaseEvent {
+
+    public final String filePath;
+    public final ReadOnlyTaskManager data;
+
+    public DataFileChangedEvent(String filePath, ReadOnlyTaskManager data) {
+        this.filePath = filePath;
+        this.data = data;
+    }
+
+    @Override
+    public String toString() {
+        return "number of tasks " + data.getTaskList().size() + " in " + filePath;
+    }
+
+}
@@ -0,0 +1,23 @@
+package savvytodo.commons.events.storage;
+
+import savvytodo.commons.events.BaseEvent;
+
+/**
+ * Indicates that tasks of a data file, which were left out when it was read, could not be read in the background
+ */
+public class DeferredTasksLoadFailedEvent extends BaseEvent {
+
+    public final String filePath;
+    public final Exception exception;
+
+    public DeferredTasksLoadFailedEvent(String filePath, Exception exception) {
+        this.filePath = filePath;
+        this.exception = exception;
+    }
+
+    @Override
+    public String toString() {
+        return filePath + ": " + exception;
+    }
+
+}
@@ -0,0 +1,24 @@
+package savvytodo.commons.events.storage;
+
+import savvytodo.commons.events.BaseEvent;
+import savvytodo.model.ReadOnlyTaskManager;
+
+/**
+ * Indicates that tasks of a data file, which were left out when it was read, have been read in the background
+ */
+public class DeferredTasksLoadedEvent extends BaseEvent {
+
+    public final String filePath;
+    public final ReadOnlyTaskManager data;
+
+    public DeferredTasksLoadedEvent(String filePath, ReadOnlyTaskManager data) {
+        this.filePath = filePath;
+        this.data = data;
+    }
+
+    @Override
+    public String toString() {
+        return "number of tasks " + data.getTaskList().size() + " from " + filePath;
+    }
+
+}
@@ -0,0 +1,37 @@
+package savvytodo.commons.events.storage;
+
+import java.util.List;
+
+import savvytodo.commons.events.BaseEvent;
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.task.Task;
+
+/**
+ * Indicates that the instance writing a data file has changed it, as seen by an instance that only follows it.
+ * Either the whole data file has been read again, or the tasks it logged as removed and added have been read.
+ */
+public class TaskChangesFollowedEvent extends BaseEvent {
+
+    public final String filePath;
+    /** The whole data file as it is now, or null if only the logged changes were read. */
+    public final ReadOnlyTaskManager reloadedData;
+    public final List<Task> removedTasks;
+    public final List<Task> addedTasks;
+
+    public TaskChangesFollowedEvent(String filePath, ReadOnlyTaskManager reloadedData, List<Task> removedTasks,
+            List<Task> addedTasks) {
+        this.filePath = filePath;
+        this.reloadedData = reloadedData;
+        this.removedTasks = removedTasks;
+        this.addedTasks = addedTasks;
+    }
+
+    @Override
+    public String toString() {
+        if (reloadedData != null) {
+            return "reloaded " + reloadedData.getTaskList().size() + " tasks from " + filePath;
+        }
+        return "removed " + removedTasks.size() + " and added " + addedTasks.size() + " tasks in " + filePath;
+    }
+
+}
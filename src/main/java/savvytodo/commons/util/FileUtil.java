@@ -2,13 +2,18 @@ package savvytodo.commons.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 /**
  * Writes and reads files
  */
 public class FileUtil {
 
+    /** Temporary files keep the name of the file they replace, so that it is still recognised by its suffix. */
+    public static final String TEMP_FILE_PREFIX = ".saving-";
+
     private static final String CHARSET = "UTF-8";
 
     public static boolean isFileExists(File file) {
@@ -74,6 +79,27 @@ public class FileUtil {
         Files.write(file.toPath(), content.getBytes(CHARSET));
     }
 
+    /**
+     * Moves {@code source} over {@code target}, replacing it.
+     * The move is atomic where the file system supports it, so readers see either the old or the new target.
+     */
+    public static void moveAtomically(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Returns the temporary file that {@code file} is written to before it is moved over {@code file},
+     * in the same directory so that the move can be atomic.
+     */
+    public static File getTempFile(File file) {
+        return new File(file.getAbsoluteFile().getParentFile(), TEMP_FILE_PREFIX + file.getName());
+    }
+
     /**
      * Converts a string to a platform-specific file path
      * @param pathWithForwardSlash A String representing a file path but using '/' as the separator
@@ -53,6 +53,15 @@ public class NattyDateTimeParserUtil {
         }
     }
 
+    /**
+     * Loads the grammar of natty by parsing a sample date, which takes a while the first time,
+     * so that the first command with a date does not have to wait for it.
+     */
+    public static void warmUp() {
+        parser = getInstance();
+        parser.parse("tomorrow 5pm");
+    }
+
     /**
      * Extracts the new task's dateTime from the string arguments using natty.
      * @param String dateTimeArgs
@@ -1,5 +1,7 @@
 package savvytodo.logic;
 
+import java.time.LocalDateTime;
+
 import javafx.collections.ObservableList;
 import savvytodo.logic.commands.CommandResult;
 import savvytodo.logic.commands.exceptions.CommandException;
@@ -17,6 +19,27 @@ public interface Logic {
      */
     CommandResult execute(String commandText) throws CommandException;
 
+    /**
+     * Returns true while older tasks of the data file are still read in the background.
+     * Commands that need every task are queued until then.
+     */
+    boolean isLoadingTasks();
+
+    /**
+     * Runs the commands queued while older tasks were read, in the order they were entered,
+     * and shows their results.
+     */
+    void runQueuedCommands();
+
+    /**
+     * Moves the completed tasks that ended before {@code cutoff}, or were added before it if they have no end,
+     * from the task manager into the archive of its data file.
+     * Nothing is removed from the task manager if the archive could not be written,
+     * or while the older tasks of the data file are still loading.
+     * @return the number of tasks archived.
+     */
+    int archiveCompletedTasks(LocalDateTime cutoff);
+
     //@@author A0147827U
     /** Returns the filtered list of tasks */
 
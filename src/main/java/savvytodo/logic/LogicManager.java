@@ -1,10 +1,21 @@
 package savvytodo.logic;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 import javafx.collections.ObservableList;
 import savvytodo.commons.core.ComponentManager;
 import savvytodo.commons.core.LogsCenter;
+import savvytodo.commons.core.Messages;
+import savvytodo.commons.events.ui.NewResultAvailableEvent;
+import savvytodo.commons.exceptions.DataConversionException;
+import savvytodo.commons.util.StringUtil;
 import savvytodo.logic.commands.Command;
 import savvytodo.logic.commands.CommandResult;
 import savvytodo.logic.commands.exceptions.CommandException;
@@ -22,6 +33,8 @@ public class LogicManager extends ComponentManager implements Logic {
     private final Model model;
     private final Parser parser;
     private final Storage storage;
+    /** Commands entered while older tasks were read, with their text, in the order they were entered. */
+    private final Queue<QueuedCommand> queuedCommands = new ArrayDeque<>();
 
     /**
      * Inits logic manager.
@@ -36,10 +49,78 @@ public class LogicManager extends ComponentManager implements Logic {
     public CommandResult execute(String commandText) throws CommandException {
         logger.info("----------------[USER COMMAND][" + commandText + "]");
         Command command = parser.parseCommand(commandText);
+        if (command.isMutating() && model.isReadOnly()) {
+            throw new CommandException(Messages.MESSAGE_READ_ONLY_TASK_MANAGER);
+        }
+        if (command.isMutating() && storage.isFollowingWriter()) {
+            throw new CommandException(Messages.MESSAGE_FOLLOWED_TASK_MANAGER);
+        }
+        // commands after a queued one wait as well, so that they run in the order they were entered
+        if (storage.isLoadingDeferredTasks() && (command.isUsingAllTasks() || !queuedCommands.isEmpty())) {
+            queuedCommands.add(new QueuedCommand(commandText, command));
+            logger.info("Queued command until older tasks are loaded: " + commandText);
+            return new CommandResult(String.format(Messages.MESSAGE_COMMAND_QUEUED, commandText));
+        }
+        return executeCommand(command);
+    }
+
+    private CommandResult executeCommand(Command command) throws CommandException {
         command.setDependencies(model, storage);
         return command.execute();
     }
 
+    @Override
+    public boolean isLoadingTasks() {
+        return storage.isLoadingDeferredTasks();
+    }
+
+    @Override
+    public void runQueuedCommands() {
+        if (queuedCommands.isEmpty()) {
+            return;
+        }
+        List<String> results = new ArrayList<>();
+        while (!queuedCommands.isEmpty()) {
+            QueuedCommand queued = queuedCommands.remove();
+            logger.info("----------------[QUEUED COMMAND][" + queued.commandText + "]");
+            try {
+                results.add(executeCommand(queued.command).feedbackToUser);
+            } catch (CommandException e) {
+                results.add(e.getMessage());
+            }
+        }
+        raise(new NewResultAvailableEvent(String.join("\n", results)));
+    }
+
+    @Override
+    public int archiveCompletedTasks(LocalDateTime cutoff) {
+        // the older tasks, which most completed tasks are, are archived once they are loaded
+        if (model.isReadOnly() || storage.isFollowingWriter() || storage.isLoadingDeferredTasks()) {
+            return 0;
+        }
+        List<ReadOnlyTask> tasksToArchive = model.getTaskManager().getTaskList().stream()
+                .filter(task -> isCompletedBefore(task, cutoff)).collect(Collectors.toList());
+        if (tasksToArchive.isEmpty()) {
+            return 0;
+        }
+        try {
+            storage.archiveTasks(tasksToArchive);
+        } catch (DataConversionException | IOException e) {
+            logger.warning("Could not archive completed tasks, keeping them " + StringUtil.getDetails(e));
+            return 0;
+        }
+        model.removeArchivedTasks(tasksToArchive);
+        logger.info("Archived " + tasksToArchive.size() + " tasks completed before " + cutoff);
+        return tasksToArchive.size();
+    }
+
+    private static boolean isCompletedBefore(ReadOnlyTask task, LocalDateTime cutoff) {
+        if (!task.isCompleted().value) {
+            return false;
+        }
+        LocalDateTime end = task.getDateTime().getEndDate();
+        return (end != null ? end : task.getTimeStamp().getDateTimeAdded()).isBefore(cutoff);
+    }
 
     @Override
     public ObservableList<ReadOnlyTask> getFilteredEventTaskList() {
@@ -50,4 +131,17 @@ public class LogicManager extends ComponentManager implements Logic {
     public ObservableList<ReadOnlyTask> getFilteredFloatingTaskList() {
         return model.getFilteredFloatingTaskList();
     }
+
+    /**
+     * A command entered while older tasks were read.
+     */
+    private static class QueuedCommand {
+        private final String commandText;
+        private final Command command;
+
+        QueuedCommand(String commandText, Command command) {
+            this.commandText = commandText;
+            this.command = command;
+        }
+    }
 }
@@ -17,4 +17,10 @@ public class ClearCommand extends Command {
         model.resetData(new TaskManager());
         return new CommandResult(MESSAGE_SUCCESS);
     }
+
+    @Override
+    public boolean isUsingAllTasks() {
+        return true;
+    }
+
 }
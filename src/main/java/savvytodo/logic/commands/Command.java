@@ -1,14 +1,27 @@
 package savvytodo.logic.commands;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
 import savvytodo.commons.core.Messages;
+import savvytodo.commons.exceptions.DataConversionException;
+import savvytodo.commons.util.StringUtil;
 import savvytodo.logic.commands.exceptions.CommandException;
 import savvytodo.model.Model;
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.task.ReadOnlyTask;
 import savvytodo.storage.Storage;
 
 /**
  * Represents a command with hidden internal logic and the ability to be executed.
  */
 public abstract class Command {
+    /** The most archived tasks listed by {@link #getArchivedTasksMessage(Predicate)}. */
+    public static final int MAX_ARCHIVED_TASKS_SHOWN = 10;
+
     protected Model model;
     protected Storage storage;
 
@@ -22,6 +35,40 @@ public abstract class Command {
         return String.format(Messages.MESSAGE_TASK_LISTED_OVERVIEW, displaySize);
     }
 
+    /**
+     * Searches the archived tasks of the data file for tasks matching {@code predicate}, and returns a message
+     * listing them, or an empty string if there are none.
+     * The archive is only read for the search and is not kept in memory afterwards.
+     */
+    protected String getArchivedTasksMessage(Predicate<ReadOnlyTask> predicate) {
+        if (storage == null) {
+            return StringUtil.EMPTY_STRING;
+        }
+        try {
+            Optional<ReadOnlyTaskManager> archive = storage.readArchivedTasks();
+            if (!archive.isPresent()) {
+                return StringUtil.EMPTY_STRING;
+            }
+            List<ReadOnlyTask> matches = archive.get().getTaskList().stream().filter(predicate)
+                    .collect(Collectors.toList());
+            if (matches.isEmpty()) {
+                return StringUtil.EMPTY_STRING;
+            }
+            StringBuilder message = new StringBuilder(
+                    String.format(Messages.MESSAGE_ARCHIVED_TASKS_LISTED_OVERVIEW, matches.size()));
+            int shownCount = Math.min(matches.size(), MAX_ARCHIVED_TASKS_SHOWN);
+            for (int i = 0; i < shownCount; i++) {
+                message.append(String.format(Messages.MESSAGE_ARCHIVED_TASK, i + 1, matches.get(i).getAsText()));
+            }
+            if (matches.size() > shownCount) {
+                message.append(String.format(Messages.MESSAGE_MORE_ARCHIVED_TASKS, matches.size() - shownCount));
+            }
+            return message.toString();
+        } catch (DataConversionException | IOException e) {
+            return Messages.MESSAGE_ARCHIVE_NOT_READABLE;
+        }
+    }
+
     /**
      * Executes the command and returns the result message.
      *
@@ -30,6 +77,22 @@ public abstract class Command {
      */
     public abstract CommandResult execute() throws CommandException;
 
+    /**
+     * Returns true if this command may change the task manager data.
+     * Such commands are refused while the data is opened read-only.
+     */
+    public boolean isMutating() {
+        return true;
+    }
+
+    /**
+     * Returns true if this command needs every task of the task manager.
+     * Such commands wait while older tasks are still read in the background.
+     */
+    public boolean isUsingAllTasks() {
+        return false;
+    }
+
     //@@author A0140036X
     /**
      * Provides any needed dependencies to the command.
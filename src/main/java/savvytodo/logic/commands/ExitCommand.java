@@ -18,4 +18,9 @@ public class ExitCommand extends Command {
         return new CommandResult(MESSAGE_EXIT_ACKNOWLEDGEMENT);
     }
 
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
+
 }
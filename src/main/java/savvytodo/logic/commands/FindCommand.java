@@ -2,9 +2,13 @@ package savvytodo.logic.commands;
 
 import java.util.Set;
 
+import savvytodo.model.search.SearchQuery;
+
 /**
- * Finds and lists all tasks in task manager whose name contains any of the argument keywords.
- * Keyword matching is case insensitive.
+ * Finds and lists all tasks in task manager whose name, description, location or categories contain any of the
+ * argument keywords, the most relevant first. Keyword matching is case insensitive, and a keyword ending with
+ * {@value SearchQuery#PREFIX_WILDCARD} matches the words starting with it.
+ * Archived tasks are searched as well and are listed in the result.
  *  (modified by)
  *  @author: A0147827U
  */
@@ -12,10 +16,12 @@ public class FindCommand extends Command {
 
     public static final String COMMAND_WORD = "find";
 
-    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Finds all tasks whose names contain any of "
-            + "the specified keywords (case-insensitive) and displays them as a list with index numbers.\n"
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Finds all tasks whose name, description, "
+            + "location or categories contain any of the specified keywords (case-insensitive) "
+            + "and displays them as a list with index numbers, the most relevant first.\n"
+            + "A keyword ending with " + SearchQuery.PREFIX_WILDCARD + " matches the words starting with it.\n"
             + "Parameters: KEYWORD [MORE_KEYWORDS]...\n"
-            + "Example: " + COMMAND_WORD + " alice bob charlie";
+            + "Example: " + COMMAND_WORD + " alice bob char" + SearchQuery.PREFIX_WILDCARD;
 
     private final Set<String> keywords;
 
@@ -26,7 +32,18 @@ public class FindCommand extends Command {
     @Override
     public CommandResult execute() {
         model.updateFilteredTaskList(keywords);
-        return new CommandResult(getMessageForTaskListShownSummary(model.getTotalFilteredListSize()));
+        return new CommandResult(getMessageForTaskListShownSummary(model.getTotalFilteredListSize())
+                + getArchivedTasksMessage(new SearchQuery(keywords)::matches));
+    }
+
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
+
+    @Override
+    public boolean isUsingAllTasks() {
+        return true;
     }
 
 }
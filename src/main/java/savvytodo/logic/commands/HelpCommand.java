@@ -20,4 +20,9 @@ public class HelpCommand extends Command {
         EventsCenter.getInstance().post(new ShowHelpRequestEvent());
         return new CommandResult(SHOWING_HELP_MESSAGE);
     }
+
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
 }
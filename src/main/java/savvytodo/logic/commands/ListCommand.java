@@ -84,7 +84,8 @@ public class ListCommand extends Command {
             try {
                 Status inputStatus = new Status(status.get());
                 model.updateFilteredTaskList(inputStatus.getPredicate());
-                return new CommandResult("Listed all " + status.get() + " tasks");
+                return new CommandResult("Listed all " + status.get() + " tasks"
+                        + getArchivedTasksMessage(inputStatus.getPredicate()));
 
             } catch (IllegalValueException ie) {
                 throw new CommandException(Status.MESSAGE_STATUS_CONSTRAINTS);
@@ -95,4 +96,15 @@ public class ListCommand extends Command {
             return new CommandResult(LIST_ALL_SUCCESS);
         }
     }
+
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
+
+    @Override
+    public boolean isUsingAllTasks() {
+        return true;
+    }
+
 }
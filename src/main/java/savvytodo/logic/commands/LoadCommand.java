@@ -15,6 +15,7 @@ public class LoadCommand extends Command {
 
     public static final String COMMAND_WORD = "load";
     public static final String MESSAGE_USAGE = COMMAND_WORD + ": Loads a storage XML file to the task manager. "
+            + "The file may be compressed with GZIP. "
             + "Parameters: FILEPATH" + "Example: " + COMMAND_WORD + " " + "/Users/Bob/taskmanager.xml";
 
     public static final String MESSAGE_SUCCESS = "Storage file loaded from %1$s";
@@ -57,4 +58,9 @@ public class LoadCommand extends Command {
     public static String getFailureMessage(String filePath) {
         return String.format(MESSAGE_FILE_NOT_FOUND, filePath);
     }
+
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
 }
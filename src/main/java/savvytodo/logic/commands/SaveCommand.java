@@ -61,4 +61,15 @@ public class SaveCommand extends Command {
     public static String getSaveFailureMessage(String filePath) {
         return String.format(MESSAGE_SUCCESS_FORMAT, filePath);
     }
+
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
+
+    @Override
+    public boolean isUsingAllTasks() {
+        return true;
+    }
+
 }
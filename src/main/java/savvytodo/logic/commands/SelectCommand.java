@@ -44,4 +44,9 @@ public class SelectCommand extends Command {
 
     }
 
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
+
 }
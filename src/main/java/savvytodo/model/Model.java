@@ -1,6 +1,7 @@
 package savvytodo.model;
 
 import java.time.DateTimeException;
+import java.util.Collection;
 import java.util.Set;
 
 import java.util.function.Predicate;
@@ -8,6 +9,7 @@ import java.util.function.Predicate;
 import javafx.collections.ObservableList;
 import savvytodo.commons.core.UnmodifiableObservableList;
 import savvytodo.commons.exceptions.IllegalValueException;
+import savvytodo.model.operations.OperationHistory;
 import savvytodo.model.operations.exceptions.RedoFailureException;
 import savvytodo.model.operations.exceptions.UndoFailureException;
 import savvytodo.model.task.DateTime;
@@ -27,12 +29,46 @@ public interface Model {
     /** Returns the TaskManager */
     ReadOnlyTaskManager getTaskManager();
 
+    /**
+     * Returns true if the data is a {@link ReadOnlyTaskArchive} that is opened read-only.
+     * Commands that change the data are refused while this is the case.
+     */
+    boolean isReadOnly();
+
     /** Deletes the given task */
     void deleteTask(ReadOnlyTask target) throws UniqueTaskList.TaskNotFoundException;
 
     /** Adds the given task */
     void addTask(Task task) throws UniqueTaskList.DuplicateTaskException;
 
+    /**
+     * Removes the given tasks, which have been moved to the archive, from the task manager.
+     * The undo and redo history is cleared, as it may refer to the removed tasks.
+     */
+    void removeArchivedTasks(Collection<? extends ReadOnlyTask> tasks);
+
+    /**
+     * Adds the tasks that were left out when the data was read, and have been read in the background since.
+     * Tasks that are already in the task manager are skipped. The undo and redo history is cleared,
+     * as it may refer to tasks by their position.
+     */
+    void addDeferredTasks(ReadOnlyTaskManager deferredData);
+
+    /**
+     * Applies the changes another instance, which writes the data file, has made to it.
+     * {@code addedTasks} replace the equal tasks in the task manager, if any. The undo and redo history is cleared,
+     * as it may refer to tasks by their position.
+     */
+    void followTaskChanges(Collection<? extends ReadOnlyTask> removedTasks,
+            Collection<? extends ReadOnlyTask> addedTasks);
+
+    /**
+     * Brings the task manager up to date with {@code changedData}, which the data file holds after it was changed
+     * outside the application. Only the tasks that differ are removed and added, and the tasks that are in both
+     * keep the time they were added. The undo and redo history is cleared if any task differs.
+     */
+    void updateFromChangedData(ReadOnlyTaskManager changedData);
+
 
     /** Checks for tasks with conflicting datetime and returns a string of all conflicting tasks
      * @throws IllegalValueException
@@ -83,5 +119,17 @@ public interface Model {
     //@@author A0124863A
     /** Record a mark or unmark for undo*/
     void recordMark(int index);
+    //@@author
+
+    /**
+     * Keeps the undo and redo operations in {@code history} from now on, in place of the current ones.
+     */
+    void setUndoHistory(OperationHistory history);
+
+    /**
+     * Closes the current undo history, whose operations have all been applied to the current data,
+     * and keeps an empty history in memory until another one is set.
+     */
+    void closeUndoHistory();
 
 }
@@ -2,16 +2,27 @@ package savvytodo.model;
 
 import java.time.DateTimeException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.EmptyStackException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.logging.Logger;
 
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
 import savvytodo.commons.core.ComponentManager;
 import savvytodo.commons.core.LogsCenter;
 import savvytodo.commons.core.UnmodifiableObservableList;
+import savvytodo.commons.events.model.DeferredTasksMergedEvent;
 import savvytodo.commons.events.model.TaskManagerChangedEvent;
 import savvytodo.commons.exceptions.IllegalValueException;
 import savvytodo.commons.util.CollectionUtil;
@@ -19,6 +30,7 @@ import savvytodo.commons.util.DateTimeUtil;
 import savvytodo.commons.util.StringUtil;
 import savvytodo.logic.commands.exceptions.CommandException;
 import savvytodo.model.operations.Operation;
+import savvytodo.model.operations.OperationHistory;
 import savvytodo.model.operations.RedoMarkOperation;
 import savvytodo.model.operations.UndoAddOperation;
 import savvytodo.model.operations.UndoClearOperation;
@@ -28,7 +40,10 @@ import savvytodo.model.operations.UndoMarkOperation;
 import savvytodo.model.operations.UndoRedoOperationCentre;
 import savvytodo.model.operations.exceptions.RedoFailureException;
 import savvytodo.model.operations.exceptions.UndoFailureException;
+import savvytodo.model.search.SearchQuery;
+import savvytodo.model.search.TaskSearchIndex;
 import savvytodo.model.task.DateTime;
+import savvytodo.model.task.EventIntervalIndex;
 import savvytodo.model.task.ReadOnlyTask;
 import savvytodo.model.task.Status;
 import savvytodo.model.task.Task;
@@ -49,10 +64,30 @@ public class ModelManager extends ComponentManager implements Model {
 
     private final TaskManager taskManager;
     private final UndoRedoOperationCentre undoRedoOpCentre;
+    /** The events of the task manager, and those of them still ongoing, by the period they take place in. */
+    private final EventIntervalIndex events;
+    private final EventIntervalIndex ongoingEvents;
+    /** The tasks of the task manager by the words of their searched fields. */
+    private final TaskSearchIndex searchIndex;
 
     //@@author A0147827U
-    private final FilteredList<ReadOnlyTask> filteredFloatingTasks;
-    private final FilteredList<ReadOnlyTask> filteredEventTasks;
+    private FilteredList<ReadOnlyTask> filteredFloatingTasks;
+    private FilteredList<ReadOnlyTask> filteredEventTasks;
+    //@@author
+    /** The filtered lists as they are shown, ordered by relevance after a find and as in the task manager otherwise. */
+    private ObservableList<ReadOnlyTask> shownFloatingTasks;
+    private ObservableList<ReadOnlyTask> shownEventTasks;
+    /**
+     * The filtered lists sorted as they are shown, null while an archive is shown, as it is never reordered and
+     * sorting would decode every task of an archive that decodes its tasks as they are used.
+     */
+    private SortedList<ReadOnlyTask> sortedFloatingTasks;
+    private SortedList<ReadOnlyTask> sortedEventTasks;
+    /** The position of each shown event, built when first needed and then kept up to date with the list. */
+    private Map<ReadOnlyTask, Integer> shownEventPositions;
+
+    /** The data shown while a task archive is opened read-only, null otherwise. */
+    private ReadOnlyTaskArchive archive;
 
     /**
      * Initializes a ModelManager with the given taskManager and userPrefs.
@@ -63,16 +98,100 @@ public class ModelManager extends ComponentManager implements Model {
 
         logger.fine("Initializing with task manager: " + taskManager + " and user prefs " + userPrefs);
 
-        this.taskManager = new TaskManager(taskManager);
         this.undoRedoOpCentre = new UndoRedoOperationCentre();
+        boolean isArchive = taskManager instanceof ReadOnlyTaskArchive;
+        this.taskManager = isArchive ? new TaskManager() : new TaskManager(taskManager);
+        // the indexes listen to the tasks before the filtered lists do,
+        // so that they are up to date when the filtered lists test a changed task
+        this.events = new EventIntervalIndex(this.taskManager.getTaskList(), task -> true);
+        Predicate<ReadOnlyTask> isOngoing = task -> task.isCompleted().value == Status.ONGOING;
+        this.ongoingEvents = new EventIntervalIndex(this.taskManager.getTaskList(), isOngoing);
+        this.searchIndex = new TaskSearchIndex(this.taskManager.getTaskList());
+        if (isArchive) {
+            openArchive((ReadOnlyTaskArchive) taskManager);
+        } else {
+            initFilteredLists();
+        }
+    }
+    //@@author
+
+    private void initFilteredLists() {
         filteredEventTasks = new FilteredList<>(this.taskManager.getTaskList());
         filteredEventTasks.setPredicate(Type.getEventType().getPredicate());
         filteredFloatingTasks = new FilteredList<>(this.taskManager.getTaskList());
         filteredFloatingTasks.setPredicate(Type.getFloatingType().getPredicate()
                 .or(Type.getDeadlineType().getPredicate()));
+        sortedEventTasks = new SortedList<>(filteredEventTasks);
+        sortedFloatingTasks = new SortedList<>(filteredFloatingTasks);
+        initShownLists(sortedEventTasks, sortedFloatingTasks);
+    }
 
+    private void initShownLists(ObservableList<ReadOnlyTask> eventTasks, ObservableList<ReadOnlyTask> floatingTasks) {
+        shownEventTasks = eventTasks;
+        shownFloatingTasks = floatingTasks;
+        shownEventPositions = null;
+        shownEventTasks.addListener(this::updateShownEventPositions);
+    }
+
+    /**
+     * Keeps the positions of the shown events up to date with {@code change}. Events replaced in place take the
+     * positions of those they replace, and events added or removed only move the events after them, so the
+     * usual change of one task costs little. Changes that reorder the list or come in several parts drop the
+     * positions, which are then built again when needed.
+     */
+    private void updateShownEventPositions(ListChangeListener.Change<? extends ReadOnlyTask> change) {
+        if (shownEventPositions == null || !change.next()) {
+            return;
+        }
+        int from = change.getFrom();
+        List<ReadOnlyTask> removed = new ArrayList<>(change.getRemoved());
+        int addedSize = change.getAddedSize();
+        if (change.wasPermutated() || change.next()) {
+            shownEventPositions = null;
+            return;
+        }
+        for (int i = 0; i < removed.size(); i++) {
+            // the event may still be in the list elsewhere for a moment, e.g. while two events are swapped
+            shownEventPositions.remove(removed.get(i), from + i + 1);
+        }
+        int end = removed.size() == addedSize ? from + addedSize : shownEventTasks.size();
+        for (int i = from; i < end; i++) {
+            shownEventPositions.put(shownEventTasks.get(i), i + 1);
+        }
+    }
+
+    /**
+     * Returns the position of each shown event, counted from 1, in a map comparing tasks by identity.
+     */
+    private Map<ReadOnlyTask, Integer> getShownEventPositions() {
+        if (shownEventPositions == null) {
+            shownEventPositions = new IdentityHashMap<>();
+            int position = 1;
+            for (ReadOnlyTask task : shownEventTasks) {
+                shownEventPositions.put(task, position++);
+            }
+        }
+        return shownEventPositions;
+    }
+
+    /**
+     * Shows the tasks of {@code taskArchive} without loading them.
+     * The archive already separates the tasks by type, so the lists start without a predicate,
+     * which would otherwise have to be tested against every task.
+     */
+    private void openArchive(ReadOnlyTaskArchive taskArchive) {
+        archive = taskArchive;
+        filteredEventTasks = new FilteredList<>(taskArchive.getEventTaskList());
+        filteredFloatingTasks = new FilteredList<>(taskArchive.getFloatingTaskList());
+        sortedEventTasks = null;
+        sortedFloatingTasks = null;
+        initShownLists(filteredEventTasks, filteredFloatingTasks);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return archive != null;
     }
-    //@@author
 
     public ModelManager() {
         this(new TaskManager(), new UserPrefs());
@@ -81,6 +200,22 @@ public class ModelManager extends ComponentManager implements Model {
     //@@author A0124863A
     @Override
     public void resetData(ReadOnlyTaskManager newData) {
+        if (newData instanceof ReadOnlyTaskArchive || isReadOnly()) {
+            // the history cannot be carried between an archive and editable data
+            undoRedoOpCentre.resetUndo();
+            undoRedoOpCentre.resetRedo();
+            archive = null;
+            if (newData instanceof ReadOnlyTaskArchive) {
+                taskManager.resetData(new TaskManager());
+                openArchive((ReadOnlyTaskArchive) newData);
+                return;
+            }
+            taskManager.resetData(newData);
+            initFilteredLists();
+            indicateTaskManagerChanged();
+            return;
+        }
+
         UndoClearOperation undoClear = new UndoClearOperation(taskManager, newData);
         undoRedoOpCentre.storeUndoOperation(undoClear);
         undoRedoOpCentre.resetRedo();
@@ -93,7 +228,7 @@ public class ModelManager extends ComponentManager implements Model {
 
     @Override
     public ReadOnlyTaskManager getTaskManager() {
-        return taskManager;
+        return isReadOnly() ? archive : taskManager;
     }
 
     /** Raises an event to indicate the model has changed */
@@ -128,6 +263,83 @@ public class ModelManager extends ComponentManager implements Model {
         updateFilteredListToShowAll();
         indicateTaskManagerChanged();
     }
+    //@@author
+
+    @Override
+    public synchronized void removeArchivedTasks(Collection<? extends ReadOnlyTask> tasks) {
+        assert !isReadOnly();
+        if (taskManager.removeTasks(tasks) == 0) {
+            return;
+        }
+        // undo operations refer to tasks by their position in the list, which has changed
+        undoRedoOpCentre.resetUndo();
+        undoRedoOpCentre.resetRedo();
+        indicateTaskManagerChanged();
+    }
+
+    @Override
+    public synchronized void addDeferredTasks(ReadOnlyTaskManager deferredData) {
+        int addedCount = taskManager.addTasks(deferredData.getTaskList());
+        raise(new DeferredTasksMergedEvent(addedCount));
+        if (addedCount == 0) {
+            return;
+        }
+        // undo operations refer to tasks by their position in the list, which has changed
+        undoRedoOpCentre.resetUndo();
+        undoRedoOpCentre.resetRedo();
+        indicateTaskManagerChanged();
+    }
+
+    @Override
+    public synchronized void followTaskChanges(Collection<? extends ReadOnlyTask> removedTasks,
+            Collection<? extends ReadOnlyTask> addedTasks) {
+        if (isReadOnly()) {
+            return;
+        }
+        // tasks added again may have been added at another time than the equal tasks they replace
+        List<ReadOnlyTask> tasksToRemove = new ArrayList<>();
+        for (ReadOnlyTask task : taskManager.getTaskList()) {
+            if (removedTasks.contains(task) || addedTasks.contains(task)) {
+                tasksToRemove.add(task);
+            }
+        }
+        replaceTasks(tasksToRemove, addedTasks);
+    }
+
+    @Override
+    public synchronized void updateFromChangedData(ReadOnlyTaskManager changedData) {
+        if (isReadOnly()) {
+            resetData(changedData);
+            return;
+        }
+        // the time tasks were added is left out, as not every data file keeps it
+        Map<String, ReadOnlyTask> tasksToRemove = new HashMap<>();
+        for (ReadOnlyTask task : taskManager.getTaskList()) {
+            tasksToRemove.put(task.getAsText(), task);
+        }
+        List<ReadOnlyTask> addedTasks = new ArrayList<>();
+        for (ReadOnlyTask task : changedData.getTaskList()) {
+            if (tasksToRemove.remove(task.getAsText()) == null) {
+                addedTasks.add(task);
+            }
+        }
+        replaceTasks(tasksToRemove.values(), addedTasks);
+    }
+
+    /**
+     * Removes the given task objects, then adds {@code addedTasks}.
+     */
+    private void replaceTasks(Collection<? extends ReadOnlyTask> tasksToRemove,
+            Collection<? extends ReadOnlyTask> addedTasks) {
+        int changedCount = taskManager.removeTasks(tasksToRemove) + taskManager.addTasks(addedTasks);
+        if (changedCount == 0) {
+            return;
+        }
+        // undo operations refer to tasks by their position in the list, which has changed
+        undoRedoOpCentre.resetUndo();
+        undoRedoOpCentre.resetRedo();
+        indicateTaskManagerChanged();
+    }
 
     //@@author A0147827U
     @Override
@@ -135,7 +347,7 @@ public class ModelManager extends ComponentManager implements Model {
             throws UniqueTaskList.DuplicateTaskException {
         assert editedTask != null;
 
-        int taskManagerIndex = getFilteredTasks(originalTask.getType()).getSourceIndex(filteredTaskListIndex);
+        int taskManagerIndex = getTaskManagerIndex(originalTask.getType(), filteredTaskListIndex);
         UndoEditOperation undoEdit = new UndoEditOperation(taskManagerIndex, originalTask, editedTask);
         undoRedoOpCentre.storeUndoOperation(undoEdit);
         undoRedoOpCentre.resetRedo();
@@ -149,8 +361,8 @@ public class ModelManager extends ComponentManager implements Model {
     public void updateTask(int filteredTaskListIndex, ReadOnlyTask editedTask)
             throws UniqueTaskList.DuplicateTaskException {
         assert editedTask != null;
-        Task originalTask = new Task(getFilteredTasks(editedTask.getType()).get(filteredTaskListIndex));
-        int taskManagerIndex = getFilteredTasks(originalTask.getType()).getSourceIndex(filteredTaskListIndex);
+        Task originalTask = new Task(getShownTasks(editedTask.getType()).get(filteredTaskListIndex));
+        int taskManagerIndex = getTaskManagerIndex(originalTask.getType(), filteredTaskListIndex);
         UndoEditOperation undoEdit = new UndoEditOperation(taskManagerIndex, originalTask, editedTask);
         undoRedoOpCentre.storeUndoOperation(undoEdit);
         undoRedoOpCentre.resetRedo();
@@ -167,6 +379,17 @@ public class ModelManager extends ComponentManager implements Model {
     }
 
 
+    //@@author
+    @Override
+    public void setUndoHistory(OperationHistory history) {
+        undoRedoOpCentre.setHistory(history);
+    }
+
+    @Override
+    public void closeUndoHistory() {
+        undoRedoOpCentre.closeHistory(taskManager);
+    }
+
     //@@author A0124863A
     @Override
     public void undo() throws UndoFailureException {
@@ -243,34 +466,59 @@ public class ModelManager extends ComponentManager implements Model {
     private int appendConflictingTasks(
             StringBuilder conflictingTasksStringBuilder,
             DateTime dateTimeToCheck) throws DateTimeException, IllegalValueException {
-        int conflictCount = 0;
-        int conflictPosition = 1;
-        for (ReadOnlyTask task : filteredEventTasks) {
-            if (task.isCompleted().value == Status.ONGOING
-                    && DateTimeUtil.isDateTimeConflict(task.getDateTime(), dateTimeToCheck)) {
-                conflictingTasksStringBuilder
-                        .append(String.format(TASK_CONFLICTED, conflictPosition, task.getAsText()));
-                conflictCount++;
+        List<ReadOnlyTask> conflictingTasks = new ArrayList<>();
+        Predicate<? super ReadOnlyTask> shownEvents = filteredEventTasks.getPredicate();
+        for (ReadOnlyTask task : ongoingEvents.getConflictingEvents(dateTimeToCheck)) {
+            if (shownEvents == null || shownEvents.test(task)) {
+                conflictingTasks.add(task);
             }
-            conflictPosition++;
+        }
+        if (conflictingTasks.isEmpty()) {
+            return 0;
+        }
+
+        // the conflicting tasks are listed in the order they are shown, with their position in the list
+        Map<ReadOnlyTask, Integer> positions = getShownEventPositions();
+        conflictingTasks.sort(Comparator.comparing(positions::get));
+        int conflictCount = 0;
+        for (ReadOnlyTask task : conflictingTasks) {
+            conflictingTasksStringBuilder
+                    .append(String.format(TASK_CONFLICTED, positions.get(task), task.getAsText()));
+            conflictCount++;
         }
         return conflictCount;
     }
 
     //@@author A0147827U
     /**
-     * Returns the corresponding filter list view based on Task type
+     * Returns the corresponding shown list view based on Task type
      * @param type
-     * @return FilterList with predicate for the type already set.
+     * @return the shown list over the filtered list with predicate for the type already set.
+     */
+    private ObservableList<ReadOnlyTask> getShownTasks(Type type) {
+        switch (type.getType()) {
+        case EVENT:
+            return shownEventTasks;
+        case FLOATING:
+        case DEADLINE:
+        default:
+            return shownFloatingTasks;
+        }
+    }
+    //@@author
+
+    /**
+     * Returns the index in the task manager of the task at {@code shownIndex} of the shown list of {@code type}.
      */
-    private FilteredList<ReadOnlyTask> getFilteredTasks(Type type) {
+    private int getTaskManagerIndex(Type type, int shownIndex) {
+        assert !isReadOnly();
         switch (type.getType()) {
         case EVENT:
-            return filteredEventTasks;
+            return filteredEventTasks.getSourceIndex(sortedEventTasks.getSourceIndex(shownIndex));
         case FLOATING:
         case DEADLINE:
         default:
-            return filteredFloatingTasks;
+            return filteredFloatingTasks.getSourceIndex(sortedFloatingTasks.getSourceIndex(shownIndex));
         }
     }
 
@@ -278,7 +526,7 @@ public class ModelManager extends ComponentManager implements Model {
     //@@author A0140016B
     @Override
     public ObservableList<ReadOnlyTask> getFilteredTaskList() {
-        return taskManager.getTaskList();
+        return getTaskManager().getTaskList();
     }
     //@@author
     //@@author A0147827U
@@ -297,13 +545,13 @@ public class ModelManager extends ComponentManager implements Model {
 
     @Override
     public ObservableList<ReadOnlyTask> getFilteredEventTaskList() {
-        return filteredEventTasks;
+        return shownEventTasks;
     }
 
 
     @Override
     public ObservableList<ReadOnlyTask> getFilteredFloatingTaskList() {
-        return filteredFloatingTasks;
+        return shownFloatingTasks;
     }
 
     /**
@@ -311,28 +559,59 @@ public class ModelManager extends ComponentManager implements Model {
      */
     @Override
     public void updateFilteredListToShowAll() {
+        setShownOrder(null);
+        if (isReadOnly()) {
+            filteredFloatingTasks.setPredicate(null);
+            filteredEventTasks.setPredicate(null);
+            return;
+        }
         filteredFloatingTasks.setPredicate(Type.getFloatingType().getPredicate()
                 .or(Type.getDeadlineType().getPredicate()));
         filteredEventTasks.setPredicate(Type.getEventType().getPredicate());
     }
 
+    /**
+     * Shows the tasks matching any of {@code keywords} in any of their searched fields,
+     * the most relevant first unless an archive is shown.
+     * @see SearchQuery
+     */
     @Override
     public void updateFilteredTaskList(Set<String> keywords) {
-        updateFilteredTaskList(new PredicateExpression(new NameQualifier(keywords)));
+        KeywordQualifier qualifier = new KeywordQualifier(new SearchQuery(keywords));
+        updateFilteredTaskList(new PredicateExpression(qualifier));
+        if (!isReadOnly()) {
+            setShownOrder(Comparator.comparing(qualifier::getRelevance).reversed());
+        }
     }
 
     public void updateFilteredTaskList(Predicate<ReadOnlyTask> predicate) {
+        setShownOrder(null);
         filteredFloatingTasks.setPredicate(predicate.and(Type.getFloatingType().getPredicate()
                 .or(Type.getDeadlineType().getPredicate())));
         filteredEventTasks.setPredicate(predicate.and(Type.getEventType().getPredicate()));
     }
 
     private void updateFilteredTaskList(Expression expression) {
+        setShownOrder(null);
         filteredFloatingTasks.setPredicate(Type.getFloatingType().getPredicate()
                 .or(Type.getDeadlineType().getPredicate()).and(expression::satisfies));
         filteredEventTasks.setPredicate(Type.getEventType().getPredicate().and(expression::satisfies));
     }
     //@@author
+
+    /**
+     * Orders the shown lists with {@code comparator}, or as the tasks are in the task manager if it is null.
+     * The lists of an archive keep their order.
+     */
+    private void setShownOrder(Comparator<ReadOnlyTask> comparator) {
+        if (isReadOnly()) {
+            assert comparator == null;
+            return;
+        }
+        sortedEventTasks.setComparator(comparator);
+        sortedFloatingTasks.setComparator(comparator);
+    }
+
     //@@author A0140016B
     public void updateFilteredTaskListByDateTime(DateTime dateTime) {
         updateFilteredTaskList(new PredicateExpression(new DateTimeQualifier(dateTime)));
@@ -374,23 +653,48 @@ public class ModelManager extends ComponentManager implements Model {
         String toString();
     }
 
-    private class NameQualifier implements Qualifier {
-        private Set<String> nameKeyWords;
-
-        NameQualifier(Set<String> nameKeyWords) {
-            this.nameKeyWords = nameKeyWords;
+    /**
+     * Qualifier for the tasks matching a search query, found and ranked through the search index.
+     * The relevance of a task stays the one found when it was first shown, so that the order of the shown
+     * lists does not change when other tasks do. The tasks of an archive are compared with the query instead.
+     */
+    private class KeywordQualifier implements Qualifier {
+        private final SearchQuery query;
+        /** The tasks matching the query and their relevance, looked up again once the tasks change. */
+        private Map<ReadOnlyTask, Double> relevances;
+        private int searchIndexModificationCount;
+
+        KeywordQualifier(SearchQuery query) {
+            this.query = query;
         }
 
         @Override
         public boolean run(ReadOnlyTask task) {
-            return nameKeyWords.stream()
-                    .filter(keyword -> StringUtil.containsWordIgnoreCase(task.getName().name, keyword)).findAny()
-                    .isPresent();
+            if (isReadOnly()) {
+                return query.matches(task);
+            }
+            return getRelevances().containsKey(task);
+        }
+
+        double getRelevance(ReadOnlyTask task) {
+            return getRelevances().getOrDefault(task, 0.0);
+        }
+
+        private Map<ReadOnlyTask, Double> getRelevances() {
+            if (relevances == null || searchIndexModificationCount != searchIndex.getModificationCount()) {
+                Map<ReadOnlyTask, Double> currentRelevances = searchIndex.search(query);
+                if (relevances != null) {
+                    relevances.forEach((task, relevance) -> currentRelevances.replace(task, relevance));
+                }
+                relevances = currentRelevances;
+                searchIndexModificationCount = searchIndex.getModificationCount();
+            }
+            return relevances;
         }
 
         @Override
         public String toString() {
-            return "name=" + String.join(", ", nameKeyWords);
+            return "keywords=" + query;
         }
     }
 
@@ -409,6 +713,9 @@ public class ModelManager extends ComponentManager implements Model {
         private LocalDateTime startDateTime;
         private LocalDateTime endDateTime;
         private DateTime dateTimeQuery;
+        /** The events within the range found through the index, looked up again once the tasks change. */
+        private Set<ReadOnlyTask> eventsWithinRange;
+        private int eventsModificationCount;
 
         public DateTimeQualifier (DateTime dateTime) {
             if (dateTime.getStartDate() != null) {
@@ -443,6 +750,9 @@ public class ModelManager extends ComponentManager implements Model {
 
         @Override
         public boolean run(ReadOnlyTask task) {
+            if (!isReadOnly()) {
+                return getEventsWithinRange().contains(task);
+            }
             try {
                 return DateTimeUtil.isDateTimeWithinRange(task.getDateTime(), dateTimeQuery);
             } catch (DateTimeException e) {
@@ -452,6 +762,15 @@ public class ModelManager extends ComponentManager implements Model {
             }
             return false;
         }
+
+        private Set<ReadOnlyTask> getEventsWithinRange() {
+            if (eventsWithinRange == null || eventsModificationCount != events.getModificationCount()) {
+                eventsWithinRange = Collections.newSetFromMap(new IdentityHashMap<>());
+                eventsWithinRange.addAll(events.getEventsWithinRange(dateTimeQuery));
+                eventsModificationCount = events.getModificationCount();
+            }
+            return eventsWithinRange;
+        }
     }
 
 }
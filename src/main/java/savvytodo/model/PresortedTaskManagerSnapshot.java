@@ -0,0 +1,19 @@
+package savvytodo.model;
+
+import java.util.List;
+
+import savvytodo.model.category.Category;
+import savvytodo.model.task.ReadOnlyTask;
+
+/**
+ * A {@link TaskManagerSnapshot} whose tasks are known to be unique and sorted by the time they were added,
+ * e.g. because an index of the file they were read from says so.
+ * A task manager takes these tasks over as they are, without checking for duplicates or sorting them again.
+ */
+public class PresortedTaskManagerSnapshot extends TaskManagerSnapshot {
+
+    public PresortedTaskManagerSnapshot(List<? extends ReadOnlyTask> tasks, List<Category> categories) {
+        super(tasks, categories);
+    }
+
+}
@@ -0,0 +1,23 @@
+package savvytodo.model;
+
+import javafx.collections.ObservableList;
+import savvytodo.model.task.ReadOnlyTask;
+
+/**
+ * Unmodifiable view of a task manager that is too large to be held in memory as a whole.
+ * Tasks are only loaded when they are accessed, and the tasks of each task list panel are provided
+ * separately so that the panels can be shown without going through every task.
+ */
+public interface ReadOnlyTaskArchive extends ReadOnlyTaskManager {
+
+    /**
+     * Returns an unmodifiable view of the event tasks.
+     */
+    ObservableList<ReadOnlyTask> getEventTaskList();
+
+    /**
+     * Returns an unmodifiable view of the floating and deadline tasks.
+     */
+    ObservableList<ReadOnlyTask> getFloatingTaskList();
+
+}
@@ -1,5 +1,6 @@
 package savvytodo.model;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -64,10 +65,14 @@ public class TaskManager implements ReadOnlyTaskManager {
 
     public void resetData(ReadOnlyTaskManager newData) {
         assert newData != null;
-        try {
-            setTasks(newData.getTaskList());
-        } catch (UniqueTaskList.DuplicateTaskException e) {
-            assert false : "Task Manager should not have duplicate tasks";
+        if (newData instanceof PresortedTaskManagerSnapshot) {
+            tasks.setPresortedTasks(newData.getTaskList());
+        } else {
+            try {
+                setTasks(newData.getTaskList());
+            } catch (UniqueTaskList.DuplicateTaskException e) {
+                assert false : "Task Manager should not have duplicate tasks";
+            }
         }
         try {
             setCategories(newData.getCategoryList());
@@ -97,6 +102,21 @@ public class TaskManager implements ReadOnlyTaskManager {
         tasks.add(p); //global task list storage
     }
 
+    /**
+     * Adds the given tasks, skipping those that are already in the task manager.
+     * @see UniqueTaskList#addAll(Collection)
+     * @return the number of tasks added.
+     */
+    public int addTasks(Collection<? extends ReadOnlyTask> newTasks) {
+        List<Task> tasksToAdd = new ArrayList<>();
+        for (ReadOnlyTask task : newTasks) {
+            Task taskToAdd = new Task(task);
+            syncMasterCategoryListWith(taskToAdd);
+            tasksToAdd.add(taskToAdd);
+        }
+        return tasks.addAll(tasksToAdd);
+    }
+
     //@@author A0140016B
     /**
      * Updates the task in the list at position {@code index} with {@code editedReadOnlyTask}.
@@ -131,6 +151,14 @@ public class TaskManager implements ReadOnlyTaskManager {
 
     }
 
+    /**
+     * Removes the given task objects from the task manager.
+     * @see UniqueTaskList#removeAll(Collection)
+     */
+    public int removeTasks(Collection<? extends ReadOnlyTask> keys) {
+        return tasks.removeAll(keys);
+    }
+
     // @@author A0140016B
     /**
      * Sorts internal list by ascending priority - Low to High
@@ -0,0 +1,46 @@
+package savvytodo.model;
+
+import java.util.List;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import savvytodo.commons.core.UnmodifiableObservableList;
+import savvytodo.model.category.Category;
+import savvytodo.model.task.ReadOnlyTask;
+
+/**
+ * An unmodifiable copy of a task manager at one point in time, which may be read from any thread.
+ * Only the lists are copied, the tasks themselves are shared with the source since tasks are
+ * replaced rather than modified once they are in a task manager.
+ */
+public class TaskManagerSnapshot implements ReadOnlyTaskManager {
+
+    private final ObservableList<ReadOnlyTask> tasks;
+    private final ObservableList<Category> categories;
+
+    public TaskManagerSnapshot(ReadOnlyTaskManager source) {
+        this(source.getTaskList(), source.getCategoryList());
+    }
+
+    public TaskManagerSnapshot(List<? extends ReadOnlyTask> tasks, List<Category> categories) {
+        assert tasks != null && categories != null;
+        this.tasks = new UnmodifiableObservableList<>(FXCollections.observableArrayList(tasks));
+        this.categories = new UnmodifiableObservableList<>(FXCollections.observableArrayList(categories));
+    }
+
+    @Override
+    public ObservableList<ReadOnlyTask> getTaskList() {
+        return tasks;
+    }
+
+    @Override
+    public ObservableList<Category> getCategoryList() {
+        return categories;
+    }
+
+    @Override
+    public String toString() {
+        return tasks.size() + " tasks, " + categories.size() + " categories";
+    }
+
+}
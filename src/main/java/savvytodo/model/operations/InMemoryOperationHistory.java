@@ -0,0 +1,79 @@
+package savvytodo.model.operations;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EmptyStackException;
+
+import savvytodo.model.ReadOnlyTaskManager;
+
+/**
+ * Keeps the undo and redo operations in memory, for as long as the application runs.
+ */
+public class InMemoryOperationHistory implements OperationHistory {
+
+    private final Deque<Operation> undoStack = new ArrayDeque<>();
+    private final Deque<Operation> redoStack = new ArrayDeque<>();
+    private final int depth;
+
+    /**
+     * @param depth the number of undo and redo operations each kept, older ones are dropped.
+     *          0 keeps every operation.
+     */
+    public InMemoryOperationHistory(int depth) {
+        assert depth >= 0;
+        this.depth = depth;
+    }
+
+    public InMemoryOperationHistory() {
+        this(0);
+    }
+
+    @Override
+    public void pushUndo(Operation undoOperation) {
+        push(undoStack, undoOperation);
+    }
+
+    @Override
+    public Operation popUndo() throws EmptyStackException {
+        return pop(undoStack);
+    }
+
+    @Override
+    public void clearUndo() {
+        undoStack.clear();
+    }
+
+    @Override
+    public void pushRedo(Operation redoOperation) {
+        push(redoStack, redoOperation);
+    }
+
+    @Override
+    public Operation popRedo() throws EmptyStackException {
+        return pop(redoStack);
+    }
+
+    @Override
+    public void clearRedo() {
+        redoStack.clear();
+    }
+
+    private void push(Deque<Operation> stack, Operation operation) {
+        stack.push(operation);
+        if (depth > 0 && stack.size() > depth) {
+            stack.removeLast();
+        }
+    }
+
+    private static Operation pop(Deque<Operation> stack) throws EmptyStackException {
+        if (stack.isEmpty()) {
+            throw new EmptyStackException();
+        }
+        return stack.pop();
+    }
+
+    @Override
+    public void close(ReadOnlyTaskManager taskManager) {
+    }
+
+}
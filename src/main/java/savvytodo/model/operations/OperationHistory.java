@@ -0,0 +1,39 @@
+package savvytodo.model.operations;
+
+import java.util.EmptyStackException;
+
+import savvytodo.model.ReadOnlyTaskManager;
+
+/**
+ * Keeps the undo and redo operations of the {@link UndoRedoOperationCentre}.
+ * Each operation is kept as the inverse of a change made to the task manager.
+ */
+public interface OperationHistory {
+
+    void pushUndo(Operation undoOperation);
+
+    /**
+     * Removes and returns the latest undo operation.
+     * @throws EmptyStackException if there is none.
+     */
+    Operation popUndo() throws EmptyStackException;
+
+    void clearUndo();
+
+    void pushRedo(Operation redoOperation);
+
+    /**
+     * Removes and returns the latest redo operation.
+     * @throws EmptyStackException if there is none.
+     */
+    Operation popRedo() throws EmptyStackException;
+
+    void clearRedo();
+
+    /**
+     * Stops keeping operations, once they have been applied to {@code taskManager}.
+     * The history is not used after it is closed.
+     */
+    void close(ReadOnlyTaskManager taskManager);
+
+}
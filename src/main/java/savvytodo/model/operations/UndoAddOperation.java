@@ -16,6 +16,11 @@ public class UndoAddOperation extends Operation {
     public UndoAddOperation(Task task) {
         this.task = task;
     }
+
+    public Task getTask() {
+        return task;
+    }
+
     @Override
     public void execute() throws CommandException {
         assert taskManager != null;
@@ -1,7 +1,7 @@
 package savvytodo.model.operations;
 
 import savvytodo.model.ReadOnlyTaskManager;
-import savvytodo.model.TaskManager;
+import savvytodo.model.TaskManagerSnapshot;
 
 //@@author A0124863A
 /**
@@ -10,13 +10,23 @@ import savvytodo.model.TaskManager;
  */
 
 public class UndoClearOperation extends Operation {
-    private TaskManager currTaskManager;
-    private TaskManager newTaskManager;
+    // snapshots share the tasks with the task manager, only their lists are copied
+    private ReadOnlyTaskManager currTaskManager;
+    private ReadOnlyTaskManager newTaskManager;
     public UndoClearOperation(ReadOnlyTaskManager currTaskManager, ReadOnlyTaskManager newTaskManager) {
-        this.currTaskManager = new TaskManager(currTaskManager);
-        this.newTaskManager = new TaskManager(newTaskManager);
+        this.currTaskManager = new TaskManagerSnapshot(currTaskManager);
+        this.newTaskManager = new TaskManagerSnapshot(newTaskManager);
     }
 
+    /** Returns the data restored by this operation. */
+    public ReadOnlyTaskManager getRestoredData() {
+        return currTaskManager;
+    }
+
+    /** Returns the data replaced by this operation, which its reverse restores. */
+    public ReadOnlyTaskManager getReplacedData() {
+        return newTaskManager;
+    }
 
     @Override
     public void execute() {
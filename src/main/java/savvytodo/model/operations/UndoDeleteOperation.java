@@ -20,6 +20,10 @@ public class UndoDeleteOperation extends Operation {
         this.task = new Task(task);
     }
 
+    public Task getTask() {
+        return task;
+    }
+
     @Override
     public void execute() throws CommandException {
         assert taskManager != null;
@@ -25,6 +25,18 @@ public class UndoEditOperation extends Operation {
 
     }
 
+    public int getIndex() {
+        return index;
+    }
+
+    public Task getUndoTask() {
+        return undoTask;
+    }
+
+    public Task getRedoTask() {
+        return redoTask;
+    }
+
     @Override
     public void execute() throws CommandException {
         assert taskManager != null;
@@ -19,6 +19,10 @@ public class UndoMarkOperation extends Operation {
         this.setTaskManager(taskManager);
     }
 
+    public int getNumToUnmark() {
+        return numToUnmark;
+    }
+
     public void setUndoRedoOperationCentre(UndoRedoOperationCentre undoRedoOpCentre) {
         this.undoRedoOpCentre = undoRedoOpCentre;
     }
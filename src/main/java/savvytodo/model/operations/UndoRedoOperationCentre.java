@@ -1,8 +1,8 @@
 package savvytodo.model.operations;
 
 import java.util.EmptyStackException;
-import java.util.Stack;
 
+import savvytodo.model.ReadOnlyTaskManager;
 
 //@@author A0124863A
 /**
@@ -10,39 +10,59 @@ import java.util.Stack;
  * Class that stores the undo and redo commands
  */
 public class UndoRedoOperationCentre {
-    private Stack<Operation> undoStack = new Stack<Operation>();
-    private Stack<Operation> redoStack = new Stack<Operation>();
+    private OperationHistory history = new InMemoryOperationHistory();
+
+    /**
+     * Keeps the operations in {@code history} from now on, in place of the current ones.
+     */
+    public void setHistory(OperationHistory history) {
+        assert history != null;
+        this.history = history;
+    }
+
+    /**
+     * Closes the current history once its operations have been applied to {@code taskManager},
+     * and starts an empty history in memory.
+     */
+    public void closeHistory(ReadOnlyTaskManager taskManager) {
+        history.close(taskManager);
+        history = new InMemoryOperationHistory();
+    }
 
     public void storeUndoOperation(Operation undoOperation) {
-        undoStack.push(undoOperation);
+        history.pushUndo(undoOperation);
     }
 
     public void storeRedoOperation(Operation redoOperation) {
-        redoStack.push(redoOperation);
+        history.pushRedo(redoOperation);
     }
 
     public void resetRedo() {
-        redoStack.clear();
+        history.clearRedo();
+    }
+
+    public void resetUndo() {
+        history.clearUndo();
     }
 
     public Operation getUndoOperation() throws EmptyStackException {
-        Operation undo = undoStack.pop();
+        Operation undo = history.popUndo();
         if (undo.getClass().isAssignableFrom(UndoMarkOperation.class)) {
             return undo;
         } else {
             Operation redo = undo.reverse();
-            redoStack.push(redo);
+            history.pushRedo(redo);
             return undo;
         }
     }
 
     public Operation getRedoOperation() throws EmptyStackException {
-        Operation redo = redoStack.pop();
+        Operation redo = history.popRedo();
         if (redo.getClass().isAssignableFrom(UndoMarkOperation.class)) {
             return redo;
         } else {
             Operation undo = redo.reverse();
-            undoStack.push(undo);
+            history.pushUndo(undo);
             return redo;
         }
     }
@@ -0,0 +1,67 @@
+package savvytodo.model.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import savvytodo.commons.util.StringUtil;
+import savvytodo.model.category.Category;
+import savvytodo.model.task.ReadOnlyTask;
+
+/**
+ * A part of a task that is searched, with how much a match in it counts towards the relevance of the task.
+ * Words are separated by whitespace and compared ignoring case, as by {@link StringUtil#containsWordIgnoreCase}.
+ */
+public enum SearchField {
+    NAME(3.0),
+    CATEGORY(2.0),
+    LOCATION(1.0),
+    DESCRIPTION(1.0);
+
+    public final double weight;
+
+    SearchField(double weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * Returns the lower-cased words of this field of {@code task}, in order and including repeated words.
+     */
+    public List<String> getWords(ReadOnlyTask task) {
+        List<String> words = new ArrayList<>();
+        switch (this) {
+        case NAME:
+            addWords(words, task.getName().name);
+            break;
+        case CATEGORY:
+            for (Category category : task.getCategories()) {
+                addWords(words, category.categoryName);
+            }
+            break;
+        case LOCATION:
+            addWords(words, task.getLocation().value);
+            break;
+        case DESCRIPTION:
+        default:
+            addWords(words, task.getDescription().value);
+            break;
+        }
+        return words;
+    }
+
+    private static void addWords(List<String> words, String text) {
+        for (String word : text.split(StringUtil.WHITESPACE_REGEX)) {
+            if (!word.isEmpty()) {
+                words.add(toSearchedWord(word));
+            }
+        }
+    }
+
+    /**
+     * Returns {@code word} as it is compared with the words of the tasks.
+     */
+    public static String toSearchedWord(String word) {
+        return word.trim().toLowerCase(Locale.ROOT);
+    }
+
+}
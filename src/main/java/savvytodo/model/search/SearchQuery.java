@@ -0,0 +1,88 @@
+package savvytodo.model.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import savvytodo.model.task.ReadOnlyTask;
+
+/**
+ * The keywords searched for by the find command. A task matches if any of its searched fields has a word
+ * equal to any keyword, ignoring case, or starting with it if the keyword ends with {@value #PREFIX_WILDCARD}.
+ */
+public class SearchQuery {
+
+    public static final String PREFIX_WILDCARD = "*";
+
+    private final List<Keyword> keywords = new ArrayList<>();
+
+    /**
+     * @param keywords cannot be empty, each must be a single word
+     */
+    public SearchQuery(Collection<String> keywords) {
+        assert !keywords.isEmpty();
+        for (String keyword : keywords) {
+            this.keywords.add(new Keyword(keyword));
+        }
+    }
+
+    public List<Keyword> getKeywords() {
+        return Collections.unmodifiableList(keywords);
+    }
+
+    /**
+     * Returns true if {@code task} matches any of the keywords, comparing them with every word of the task.
+     * {@link TaskSearchIndex#search} finds the same tasks without going through every task.
+     */
+    public boolean matches(ReadOnlyTask task) {
+        for (SearchField field : SearchField.values()) {
+            for (String word : field.getWords(task)) {
+                for (Keyword keyword : keywords) {
+                    if (keyword.matches(word)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        List<String> words = new ArrayList<>();
+        for (Keyword keyword : keywords) {
+            words.add(keyword.toString());
+        }
+        return String.join(", ", words);
+    }
+
+    /**
+     * A keyword, which matches either a whole word or the words starting with it.
+     */
+    public static class Keyword {
+        /** The keyword lower-cased, without the wildcard of a prefix. */
+        public final String word;
+        public final boolean isPrefix;
+
+        Keyword(String keyword) {
+            String searchedWord = SearchField.toSearchedWord(keyword);
+            isPrefix = searchedWord.length() > PREFIX_WILDCARD.length() && searchedWord.endsWith(PREFIX_WILDCARD);
+            word = isPrefix ? searchedWord.substring(0, searchedWord.length() - PREFIX_WILDCARD.length())
+                    : searchedWord;
+        }
+
+        /**
+         * Returns true if {@code taskWord}, lower-cased, is matched by this keyword.
+         */
+        public boolean matches(String taskWord) {
+            return isPrefix ? taskWord.startsWith(word) : taskWord.equals(word);
+        }
+
+        @Override
+        public String toString() {
+            return isPrefix ? word + PREFIX_WILDCARD : word;
+        }
+    }
+
+}
@@ -0,0 +1,162 @@
+package savvytodo.model.search;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import savvytodo.model.task.ReadOnlyTask;
+
+/**
+ * An inverted index from the words of the searched fields of tasks to the tasks of a list, which finds and
+ * ranks the tasks matching a {@link SearchQuery} without going through every task.
+ *
+ * Tasks are ranked with BM25F: the frequency of a word in each field is normalised by the length of the field
+ * against its average length, weighted by the field, saturated and multiplied by the rarity of the word among
+ * the tasks. A prefix keyword counts as its best matching word. The index is kept in sync by listening to
+ * every change of the list.
+ */
+public class TaskSearchIndex {
+
+    /** How quickly repeating a word stops making a task more relevant. */
+    private static final double K1 = 1.2;
+    /** How much the length of a field reduces the weight of each of its words, from 0 to 1. */
+    private static final double B = 0.75;
+
+    private static final SearchField[] FIELDS = SearchField.values();
+
+    /** For each word, the tasks containing it and how many times it is in each of their fields. */
+    private final NavigableMap<String, Map<ReadOnlyTask, int[]>> postings = new TreeMap<>();
+    private final Map<ReadOnlyTask, Document> documents = new IdentityHashMap<>();
+    private final long[] totalFieldLengths = new long[FIELDS.length];
+    private int modificationCount;
+
+    /**
+     * Indexes the tasks of {@code tasks}, now and after every change of the list.
+     * The tasks must not be modified in place while they are in the list.
+     */
+    public TaskSearchIndex(ObservableList<? extends ReadOnlyTask> tasks) {
+        tasks.forEach(this::add);
+        tasks.addListener(this::update);
+    }
+
+    private void update(ListChangeListener.Change<? extends ReadOnlyTask> change) {
+        while (change.next()) {
+            if (change.wasPermutated()) {
+                continue;
+            }
+            change.getRemoved().forEach(this::remove);
+            change.getAddedSubList().forEach(this::add);
+            modificationCount++;
+        }
+    }
+
+    /**
+     * Returns the number of times the indexed tasks have changed, so that results found before can be
+     * told apart from the current ones.
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Returns the tasks matching {@code query}, each with its relevance, in a map comparing tasks by identity.
+     * The more relevant a task is, the higher its relevance.
+     */
+    public Map<ReadOnlyTask, Double> search(SearchQuery query) {
+        Map<ReadOnlyTask, Double> relevances = new IdentityHashMap<>();
+        for (SearchQuery.Keyword keyword : query.getKeywords()) {
+            Map<ReadOnlyTask, Double> keywordRelevances = new IdentityHashMap<>();
+            for (Map<ReadOnlyTask, int[]> tasksWithWord : getPostings(keyword)) {
+                double inverseDocumentFrequency = getInverseDocumentFrequency(tasksWithWord.size());
+                tasksWithWord.forEach((task, frequencies) -> keywordRelevances.merge(task,
+                        inverseDocumentFrequency * getSaturatedFrequency(task, frequencies), Math::max));
+            }
+            keywordRelevances.forEach((task, relevance) -> relevances.merge(task, relevance, Double::sum));
+        }
+        return relevances;
+    }
+
+    /**
+     * Returns the postings of the words matched by {@code keyword}.
+     */
+    private Collection<Map<ReadOnlyTask, int[]>> getPostings(SearchQuery.Keyword keyword) {
+        if (keyword.isPrefix) {
+            return postings.subMap(keyword.word, true, keyword.word + Character.MAX_VALUE, false).values();
+        }
+        Map<ReadOnlyTask, int[]> tasksWithWord = postings.get(keyword.word);
+        return tasksWithWord == null ? Collections.emptyList() : Collections.singletonList(tasksWithWord);
+    }
+
+    private double getInverseDocumentFrequency(int documentFrequency) {
+        return Math.log(1 + (documents.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private double getSaturatedFrequency(ReadOnlyTask task, int[] frequencies) {
+        int[] fieldLengths = documents.get(task).fieldLengths;
+        double weightedFrequency = 0;
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (frequencies[i] == 0) {
+                continue;
+            }
+            double averageFieldLength = (double) totalFieldLengths[i] / documents.size();
+            weightedFrequency += FIELDS[i].weight * frequencies[i]
+                    / (1 - B + B * fieldLengths[i] / averageFieldLength);
+        }
+        return weightedFrequency / (K1 + weightedFrequency);
+    }
+
+    private void add(ReadOnlyTask task) {
+        Document document = documents.get(task);
+        if (document != null) {
+            // the task can be in the list twice for a moment, e.g. while two tasks are swapped
+            document.count++;
+            return;
+        }
+        document = new Document();
+        for (SearchField field : FIELDS) {
+            for (String word : field.getWords(task)) {
+                postings.computeIfAbsent(word, unused -> new IdentityHashMap<>())
+                        .computeIfAbsent(task, unused -> new int[FIELDS.length])[field.ordinal()]++;
+                document.fieldLengths[field.ordinal()]++;
+            }
+            totalFieldLengths[field.ordinal()] += document.fieldLengths[field.ordinal()];
+        }
+        documents.put(task, document);
+    }
+
+    private void remove(ReadOnlyTask task) {
+        Document document = documents.get(task);
+        if (document == null || --document.count > 0) {
+            return;
+        }
+        documents.remove(task);
+        Set<String> words = new HashSet<>();
+        for (SearchField field : FIELDS) {
+            words.addAll(field.getWords(task));
+            totalFieldLengths[field.ordinal()] -= document.fieldLengths[field.ordinal()];
+        }
+        for (String word : words) {
+            Map<ReadOnlyTask, int[]> tasksWithWord = postings.get(word);
+            tasksWithWord.remove(task);
+            if (tasksWithWord.isEmpty()) {
+                postings.remove(word);
+            }
+        }
+    }
+
+    /**
+     * The number of words in each field of an indexed task, and how many times the task is in the list.
+     */
+    private static class Document {
+        private final int[] fieldLengths = new int[FIELDS.length];
+        private int count = 1;
+    }
+
+}
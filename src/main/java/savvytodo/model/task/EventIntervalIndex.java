@@ -0,0 +1,235 @@
+package savvytodo.model.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+/**
+ * An index of the events of a list of tasks by their start and end, which finds the events overlapping
+ * a period without comparing it with every event.
+ *
+ * The events are kept in a tree ordered by start, where each node also holds the latest end in its subtree,
+ * so that subtrees ending before the period are skipped. Finding the k events overlapping a period takes
+ * O(log n + k) time. The tree is a treap, kept balanced on average by giving each node a random priority.
+ * The index is kept in sync by listening to every change of the list.
+ */
+public class EventIntervalIndex {
+
+    private final Predicate<ReadOnlyTask> filter;
+    private final Map<ReadOnlyTask, Node> nodes = new IdentityHashMap<>();
+    private final Random random = new Random();
+    private Node root;
+    private long nextSequence;
+    private int modificationCount;
+
+    /**
+     * Indexes the events of {@code tasks} that satisfy {@code filter}, now and after every change of the list.
+     * The tasks must not be modified in place while they are in the list.
+     */
+    public EventIntervalIndex(ObservableList<? extends ReadOnlyTask> tasks, Predicate<ReadOnlyTask> filter) {
+        this.filter = filter;
+        tasks.forEach(this::add);
+        tasks.addListener(this::update);
+    }
+
+    private void update(ListChangeListener.Change<? extends ReadOnlyTask> change) {
+        while (change.next()) {
+            if (change.wasPermutated()) {
+                continue;
+            }
+            change.getRemoved().forEach(this::remove);
+            change.getAddedSubList().forEach(this::add);
+            modificationCount++;
+        }
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Returns the number of times the indexed tasks have changed, so that results found before can be
+     * told apart from the current ones.
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Returns the indexed events that start before the end of {@code dateTime} and end after its start,
+     * as checked by {@link savvytodo.commons.util.DateTimeUtil#isDateTimeConflict}, ordered by start.
+     * Returns an empty list if {@code dateTime} is not an event.
+     */
+    public List<ReadOnlyTask> getConflictingEvents(DateTime dateTime) {
+        return getEvents(dateTime, false);
+    }
+
+    /**
+     * Returns the indexed events that start at or before the end of {@code dateTime} and end at or after its
+     * start, as checked by {@link savvytodo.commons.util.DateTimeUtil#isDateTimeWithinRange}, ordered by start.
+     * Returns an empty list if {@code dateTime} is not an event.
+     */
+    public List<ReadOnlyTask> getEventsWithinRange(DateTime dateTime) {
+        return getEvents(dateTime, true);
+    }
+
+    private List<ReadOnlyTask> getEvents(DateTime dateTime, boolean isInclusive) {
+        List<ReadOnlyTask> events = new ArrayList<>();
+        if (isEvent(dateTime)) {
+            collect(root, dateTime.getStartDate(), dateTime.getEndDate(), isInclusive, events);
+        }
+        return events;
+    }
+
+    /**
+     * Adds the events of the subtree of {@code node} overlapping the period from {@code start} to {@code end}
+     * to {@code events}, in order.
+     */
+    private static void collect(Node node, LocalDateTime start, LocalDateTime end, boolean isInclusive,
+            List<ReadOnlyTask> events) {
+        if (node == null || !endsAfter(node.maxEnd, start, isInclusive)) {
+            return;
+        }
+        collect(node.left, start, end, isInclusive, events);
+        if (!endsAfter(end, node.start, isInclusive)) {
+            // the events on the right start even later
+            return;
+        }
+        if (endsAfter(node.end, start, isInclusive)) {
+            events.add(node.task);
+        }
+        collect(node.right, start, end, isInclusive, events);
+    }
+
+    private static boolean endsAfter(LocalDateTime end, LocalDateTime start, boolean isInclusive) {
+        return isInclusive ? !end.isBefore(start) : end.isAfter(start);
+    }
+
+    private static boolean isEvent(DateTime dateTime) {
+        return dateTime.getStartDate() != null && dateTime.getEndDate() != null;
+    }
+
+    private void add(ReadOnlyTask task) {
+        if (!isEvent(task.getDateTime()) || !filter.test(task)) {
+            return;
+        }
+        if (nodes.containsKey(task)) {
+            // the task can be in the list twice for a moment, e.g. while two tasks are swapped
+            nodes.get(task).count++;
+            return;
+        }
+        Node node = new Node(task, nextSequence++, random.nextInt());
+        nodes.put(task, node);
+        Node[] split = split(root, node);
+        root = merge(merge(split[0], node), split[1]);
+    }
+
+    private void remove(ReadOnlyTask task) {
+        Node node = nodes.get(task);
+        if (node != null && --node.count == 0) {
+            nodes.remove(task);
+            root = remove(root, node);
+        }
+    }
+
+    private static Node remove(Node subtree, Node node) {
+        if (subtree == node) {
+            return merge(node.left, node.right);
+        }
+        if (node.compareTo(subtree) < 0) {
+            subtree.left = remove(subtree.left, node);
+        } else {
+            subtree.right = remove(subtree.right, node);
+        }
+        return subtree.update();
+    }
+
+    /**
+     * Splits the subtree into the nodes ordered before {@code node} and the others.
+     */
+    private static Node[] split(Node subtree, Node node) {
+        if (subtree == null) {
+            return new Node[] {null, null};
+        }
+        if (subtree.compareTo(node) < 0) {
+            Node[] split = split(subtree.right, node);
+            subtree.right = split[0];
+            return new Node[] {subtree.update(), split[1]};
+        }
+        Node[] split = split(subtree.left, node);
+        subtree.left = split[1];
+        return new Node[] {split[0], subtree.update()};
+    }
+
+    /**
+     * Merges two subtrees, all the nodes of {@code left} being ordered before those of {@code right}.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return left.update();
+        }
+        right.left = merge(left, right.left);
+        return right.update();
+    }
+
+    /**
+     * An indexed event, ordered by start and then by the order it was indexed in.
+     */
+    private static class Node implements Comparable<Node> {
+        private final ReadOnlyTask task;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final long sequence;
+        private final int priority;
+        /** How many times the task is in the list. */
+        private int count = 1;
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(ReadOnlyTask task, long sequence, int priority) {
+            this.task = task;
+            this.start = task.getDateTime().getStartDate();
+            this.end = task.getDateTime().getEndDate();
+            this.sequence = sequence;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        /**
+         * Recomputes the latest end of the subtree from the children.
+         * @return this node
+         */
+        Node update() {
+            maxEnd = end;
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+            return this;
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            int byStart = start.compareTo(other.start);
+            return byStart != 0 ? byStart : Long.compare(sequence, other.sequence);
+        }
+    }
+
+}
@@ -1,5 +1,8 @@
 package savvytodo.model.task;
 
+import java.util.Locale;
+import java.util.Objects;
+
 import savvytodo.model.category.UniqueCategoryList;
 
 //@@author A0140016B
@@ -42,6 +45,15 @@ public interface ReadOnlyTask {
                 && other.getType().equals(this.getType());
     }
 
+    /**
+     * Returns a hash of the fields compared by {@link #isSameStateAs}, so that tasks with the same state
+     * have the same hash. The type is left out, as it follows from the date and time.
+     */
+    default int getStateHash() {
+        return Objects.hash(getName().name, getPriority().value.toLowerCase(Locale.ROOT), isCompleted().value,
+                getDescription().value, getDateTime().toString(), getLocation().value);
+    }
+
     /**
      * Formats the task as text, showing all contact details.
      */
@@ -25,6 +25,8 @@ public class Task implements ReadOnlyTask, Comparable<Task> {
     private Type type;
 
     private UniqueCategoryList categories;
+    /** The cached {@link #getStateHash()}, 0 until it is computed again after a change. */
+    private int stateHash;
 
     /**
      * Every field must be present and not null.
@@ -91,6 +93,7 @@ public class Task implements ReadOnlyTask, Comparable<Task> {
     public void setName(Name name) {
         assert name != null;
         this.name = name;
+        stateHash = 0;
     }
 
     @Override
@@ -101,6 +104,7 @@ public class Task implements ReadOnlyTask, Comparable<Task> {
     public void setPriority(Priority priority) {
         assert priority != null;
         this.priority = priority;
+        stateHash = 0;
     }
 
     @Override
@@ -111,6 +115,7 @@ public class Task implements ReadOnlyTask, Comparable<Task> {
     public void setDescription(Description description) {
         assert description != null;
         this.description = description;
+        stateHash = 0;
     }
 
     @Override
@@ -121,6 +126,7 @@ public class Task implements ReadOnlyTask, Comparable<Task> {
     public void setLocation(Location location) {
         assert location != null;
         this.location = location;
+        stateHash = 0;
     }
 
     @Override
@@ -131,6 +137,7 @@ public class Task implements ReadOnlyTask, Comparable<Task> {
     public void setDateTime(DateTime dateTime) {
         assert dateTime != null;
         this.dateTime = dateTime;
+        stateHash = 0;
         updateType();
     }
 
@@ -157,6 +164,7 @@ public class Task implements ReadOnlyTask, Comparable<Task> {
 
     public void setStatus(Status isCompleted) {
         this.isCompleted = isCompleted;
+        stateHash = 0;
     }
 
     @Override
@@ -189,6 +197,17 @@ public class Task implements ReadOnlyTask, Comparable<Task> {
         this.setTimeStamp(replacement.getTimeStamp());
     }
 
+    /**
+     * Returns the hash of the state of this task, which is only computed again after the task is changed.
+     */
+    @Override
+    public int getStateHash() {
+        if (stateHash == 0) {
+            stateHash = ReadOnlyTask.super.getStateHash();
+        }
+        return stateHash;
+    }
+
     @Override
     public boolean equals(Object other) {
         return other == this // short circuit if same object
@@ -1,9 +1,20 @@
 package savvytodo.model.task;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import savvytodo.commons.core.UnmodifiableObservableList;
 import savvytodo.commons.exceptions.DuplicateDataException;
@@ -19,7 +30,39 @@ import savvytodo.commons.util.CollectionUtil;
  */
 public class UniqueTaskList implements Iterable<Task> {
 
+    private static final Comparator<ReadOnlyTask> BY_TIME_ADDED = Comparator.comparing(task -> task.getTimeStamp()
+            .getDateTimeAdded());
+
     private final ObservableList<Task> internalList = FXCollections.observableArrayList();
+    /**
+     * False once the list has been sorted some other way through {@link #getInternalList()},
+     * until the next add sorts it by the date and time the tasks were added again.
+     */
+    private boolean isSortedByTimeAdded = true;
+    /**
+     * How many tasks of the list have each state, so that equal tasks are found without comparing every task.
+     * Kept in sync by listening to every change of the list, including those made through {@link #getInternalList()}.
+     */
+    private final Map<TaskState, Integer> stateIndex = new HashMap<>();
+
+    public UniqueTaskList() {
+        internalList.addListener(this::updateStateIndex);
+    }
+
+    private void updateStateIndex(ListChangeListener.Change<? extends Task> change) {
+        while (change.next()) {
+            if (change.wasPermutated()) {
+                isSortedByTimeAdded = false;
+                continue;
+            }
+            for (Task removed : change.getRemoved()) {
+                stateIndex.computeIfPresent(new TaskState(removed), (state, count) -> count == 1 ? null : count - 1);
+            }
+            for (Task added : change.getAddedSubList()) {
+                stateIndex.merge(new TaskState(added), 1, Integer::sum);
+            }
+        }
+    }
 
     //@@author A0140016B
     /**
@@ -34,12 +77,13 @@ public class UniqueTaskList implements Iterable<Task> {
      */
     public boolean contains(ReadOnlyTask toCheck) {
         assert toCheck != null;
-        return internalList.contains(toCheck);
+        return stateIndex.containsKey(new TaskState(toCheck));
     }
 
     //@@author A0124863A
     /**
-     * Adds a task to the list, list is then sorted by the data and time it was added
+     * Adds a task to the list, after the tasks added at or before the date and time it was added,
+     * so that the list stays sorted by it
      *
      * @throws DuplicateTaskException if the task to add is a duplicate of an existing task in the list.
      */
@@ -48,12 +92,78 @@ public class UniqueTaskList implements Iterable<Task> {
         if (contains(toAdd)) {
             throw new DuplicateTaskException(toAdd);
         }
-        internalList.add(toAdd);
-        internalList.sort((ReadOnlyTask task1, ReadOnlyTask task2) -> task1.getTimeStamp()
-                .getDateTimeAdded().compareTo(task2.getTimeStamp().getDateTimeAdded()));
+        if (!isSortedByTimeAdded) {
+            internalList.add(toAdd);
+            sortByTimeAdded();
+            return;
+        }
+        internalList.add(getInsertionIndex(toAdd.getTimeStamp().getDateTimeAdded()), toAdd);
     }
     //@@author
 
+    /**
+     * Adds the given tasks to the list, skipping those that are already in it, each after the tasks added at or
+     * before the date and time it was added. Tasks that go next to each other are added in one change,
+     * so tasks that were all added after the tasks of the list are added in a single change.
+     *
+     * @return the number of tasks added.
+     */
+    public int addAll(Collection<Task> toAdd) {
+        assert toAdd != null;
+        List<Task> tasks = new ArrayList<>();
+        Set<TaskState> addedStates = new HashSet<>();
+        for (Task task : toAdd) {
+            if (!contains(task) && addedStates.add(new TaskState(task))) {
+                tasks.add(task);
+            }
+        }
+        tasks.sort(BY_TIME_ADDED);
+        if (!isSortedByTimeAdded) {
+            internalList.addAll(tasks);
+            sortByTimeAdded();
+            return tasks.size();
+        }
+
+        int[] insertionIndices = new int[tasks.size()];
+        for (int i = 0; i < tasks.size(); i++) {
+            insertionIndices[i] = getInsertionIndex(tasks.get(i).getTimeStamp().getDateTimeAdded());
+        }
+        // from the last run of tasks that go at the same index, so that the indices before it stay valid
+        int runEnd = tasks.size();
+        while (runEnd > 0) {
+            int runStart = runEnd - 1;
+            while (runStart > 0 && insertionIndices[runStart - 1] == insertionIndices[runEnd - 1]) {
+                runStart--;
+            }
+            internalList.addAll(insertionIndices[runStart], tasks.subList(runStart, runEnd));
+            runEnd = runStart;
+        }
+        return tasks.size();
+    }
+
+    /**
+     * Returns the index after the last task added at or before {@code dateTimeAdded}.
+     * The list must be sorted by the date and time the tasks were added.
+     */
+    private int getInsertionIndex(LocalDateTime dateTimeAdded) {
+        int low = 0;
+        int high = internalList.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (internalList.get(middle).getTimeStamp().getDateTimeAdded().isAfter(dateTimeAdded)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private void sortByTimeAdded() {
+        internalList.sort(BY_TIME_ADDED);
+        isSortedByTimeAdded = true;
+    }
+
     /**
      * Updates the task in the list at position {@code index} with {@code editedTask}.
      *
@@ -65,15 +175,13 @@ public class UniqueTaskList implements Iterable<Task> {
         assert editedTask != null;
 
         Task taskToUpdate = internalList.get(index);
-        if (!taskToUpdate.equals(editedTask) && internalList.contains(editedTask)) {
+        if (!taskToUpdate.equals(editedTask) && contains(editedTask)) {
             throw new DuplicateTaskException(editedTask);
         }
 
-        taskToUpdate.resetData(editedTask);
-        // TODO: The code below is just a workaround to notify observers of the updated task.
-        // The right way is to implement observable properties in the Task class.
-        // Then, TaskCard should then bind its text labels to those observable properties.
-        internalList.set(index, taskToUpdate);
+        // Tasks in the list are replaced rather than modified in place, so that
+        // snapshots of the list can share the task objects safely.
+        internalList.set(index, new Task(editedTask));
     }
 
     /**
@@ -83,15 +191,31 @@ public class UniqueTaskList implements Iterable<Task> {
      */
     public boolean remove(ReadOnlyTask toRemove) throws TaskNotFoundException {
         assert toRemove != null;
-        final boolean taskFoundAndDeleted = internalList.remove(toRemove);
+        final boolean taskFoundAndDeleted = contains(toRemove) && internalList.remove(toRemove);
         if (!taskFoundAndDeleted) {
             throw new TaskNotFoundException();
         }
         return taskFoundAndDeleted;
     }
 
+    /**
+     * Removes the given task objects from the list in one change. Tasks that are equal to one of them
+     * but are other objects are kept.
+     *
+     * @return the number of tasks removed.
+     */
+    public int removeAll(Collection<? extends ReadOnlyTask> toRemove) {
+        assert toRemove != null;
+        Set<ReadOnlyTask> tasksToRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+        tasksToRemove.addAll(toRemove);
+        int sizeBefore = internalList.size();
+        internalList.removeAll(tasksToRemove);
+        return sizeBefore - internalList.size();
+    }
+
     public void setTasks(UniqueTaskList replacement) {
         this.internalList.setAll(replacement.internalList);
+        isSortedByTimeAdded = replacement.isSortedByTimeAdded;
     }
 
     public void setTasks(List<? extends ReadOnlyTask> tasks) throws DuplicateTaskException {
@@ -102,6 +226,19 @@ public class UniqueTaskList implements Iterable<Task> {
         setTasks(replacement);
     }
 
+    /**
+     * Replaces the tasks with {@code tasks}, which must be unique and sorted by the date and time they were added.
+     * Unlike {@link #setTasks(List)}, the tasks are neither checked for duplicates nor sorted.
+     */
+    public void setPresortedTasks(List<? extends ReadOnlyTask> tasks) {
+        final List<Task> replacement = new ArrayList<>(tasks.size());
+        for (final ReadOnlyTask task : tasks) {
+            replacement.add(new Task(task));
+        }
+        internalList.setAll(replacement);
+        isSortedByTimeAdded = true;
+    }
+
     public UnmodifiableObservableList<Task> asObservableList() {
         return new UnmodifiableObservableList<>(internalList);
     }
@@ -123,6 +260,32 @@ public class UniqueTaskList implements Iterable<Task> {
         return internalList.hashCode();
     }
 
+    /**
+     * The state of a task as compared by {@link ReadOnlyTask#isSameStateAs}, with its hash computed once.
+     */
+    private static class TaskState {
+        private final ReadOnlyTask task;
+        private final int hash;
+
+        TaskState(ReadOnlyTask task) {
+            this.task = task;
+            this.hash = task.getStateHash();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other == this
+                    || (other instanceof TaskState
+                            && hash == ((TaskState) other).hash
+                            && task.isSameStateAs(((TaskState) other).task));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
     //@@author A0140036X
     /**
      * Signals that an operation would have violated the 'no duplicates' property of the list.
@@ -0,0 +1,183 @@
+package savvytodo.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import savvytodo.commons.core.Config;
+import savvytodo.commons.core.LogsCenter;
+import savvytodo.commons.util.FileUtil;
+
+/**
+ * Writes TaskManager data files atomically. The content is written to a temporary file next to the data file,
+ * which then replaces the data file with an atomic move, so that a crash during a save leaves either the old or
+ * the new file, never a partly written one.
+ *
+ * When the files are forced to the disk depends on the sync policy, see {@link #init(Config)}:
+ * {@link #SYNC_ALWAYS} forces the temporary file before it replaces the data file, on the thread that saves.
+ * {@link #SYNC_INTERVAL} and {@link #SYNC_ON_EXIT} leave that to a background thread, or to the exit of the
+ * application, so that saves do not wait for the disk. A power loss may then lose the last saves,
+ * but the data file is still either the old or the new one on file systems that order the move after the write.
+ */
+public class AtomicFileWriter {
+
+    public static final String SYNC_ALWAYS = "always";
+    public static final String SYNC_INTERVAL = "interval";
+    public static final String SYNC_ON_EXIT = "exit";
+    public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 1000;
+
+    private static final Logger logger = LogsCenter.getLogger(AtomicFileWriter.class);
+
+    private static String syncPolicy = SYNC_ALWAYS;
+    private static long syncIntervalMillis = DEFAULT_SYNC_INTERVAL_MILLIS;
+    /** Files written since they were last forced to the disk, in the order they were written. */
+    private static final Set<File> unsyncedFiles = new LinkedHashSet<>();
+    private static ScheduledExecutorService syncExecutor;
+
+    /**
+     * Writes the content of a file.
+     */
+    public interface ContentWriter {
+        void write(File file) throws IOException;
+    }
+
+    /**
+     * Syncs every data file that is written from now on with the policy in {@code config}.
+     * Unknown policies fall back to {@link #SYNC_ALWAYS}, intervals that are not positive to
+     * {@link #DEFAULT_SYNC_INTERVAL_MILLIS}.
+     */
+    public static void init(Config config) {
+        long intervalMillis = config.getTaskManagerSyncIntervalMillis();
+        if (intervalMillis <= 0) {
+            logger.warning("Invalid TaskManager sync interval " + intervalMillis + " ms, syncing every "
+                    + DEFAULT_SYNC_INTERVAL_MILLIS + " ms");
+            intervalMillis = DEFAULT_SYNC_INTERVAL_MILLIS;
+        }
+        setSyncPolicy(config.getTaskManagerSyncPolicy(), intervalMillis);
+    }
+
+    /**
+     * Sets when written files are forced to the disk.
+     * @param intervalMillis how often files are forced with {@link #SYNC_INTERVAL}.
+     */
+    public static synchronized void setSyncPolicy(String policy, long intervalMillis) {
+        assert intervalMillis > 0;
+        syncPolicy = SYNC_INTERVAL.equalsIgnoreCase(policy) || SYNC_ON_EXIT.equalsIgnoreCase(policy)
+                ? policy.toLowerCase() : SYNC_ALWAYS;
+        if (syncExecutor != null) {
+            syncExecutor.shutdown();
+            syncExecutor = null;
+        }
+        syncIntervalMillis = intervalMillis;
+        if (SYNC_INTERVAL.equals(syncPolicy)) {
+            syncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "data-file-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            syncExecutor.scheduleWithFixedDelay(AtomicFileWriter::syncPendingFiles, syncIntervalMillis,
+                    syncIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public static synchronized String getSyncPolicy() {
+        return syncPolicy;
+    }
+
+    /**
+     * Writes {@code file} with {@code contentWriter}, which is given a temporary file to write to.
+     * The file and its directory are created if they are missing. If writing fails, {@code file} is left as it was.
+     */
+    public static void write(File file, ContentWriter contentWriter) throws IOException {
+        File tempFile = FileUtil.getTempFile(file);
+        FileUtil.createParentDirsOfFile(tempFile);
+        try {
+            contentWriter.write(tempFile);
+            boolean isSyncedNow = SYNC_ALWAYS.equals(getSyncPolicy());
+            if (isSyncedNow) {
+                sync(tempFile);
+            }
+            FileUtil.moveAtomically(tempFile, file);
+            if (isSyncedNow) {
+                // the move itself is only durable once the directory is
+                syncDirectory(file.getAbsoluteFile().getParentFile());
+            } else {
+                addUnsyncedFile(file);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+
+    /**
+     * Syncs {@code file}, which has just been written or moved into place by other means, with the sync policy.
+     */
+    public static void markWritten(File file) throws IOException {
+        if (SYNC_ALWAYS.equals(getSyncPolicy())) {
+            sync(file);
+            syncDirectory(file.getAbsoluteFile().getParentFile());
+        } else {
+            addUnsyncedFile(file);
+        }
+    }
+
+    private static synchronized void addUnsyncedFile(File file) {
+        unsyncedFiles.add(file.getAbsoluteFile());
+    }
+
+    /**
+     * Forces the files written since they were last forced to the disk, along with their directories.
+     * Returns once they are on the disk.
+     */
+    public static void syncPendingFiles() {
+        List<File> files;
+        synchronized (AtomicFileWriter.class) {
+            files = new ArrayList<>(unsyncedFiles);
+            unsyncedFiles.clear();
+        }
+        Set<File> directories = new LinkedHashSet<>();
+        for (File file : files) {
+            try {
+                if (file.exists()) {
+                    sync(file);
+                    directories.add(file.getParentFile());
+                }
+            } catch (IOException e) {
+                logger.warning("Could not force " + file + " to the disk: " + e);
+            }
+        }
+        for (File directory : directories) {
+            syncDirectory(directory);
+        }
+    }
+
+    public static synchronized int getUnsyncedFileCount() {
+        return unsyncedFiles.size();
+    }
+
+    private static void sync(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    private static void syncDirectory(File directory) {
+        try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // not every platform can open a directory, where the move is durable without it
+            logger.fine("Could not force directory " + directory + " to the disk: " + e);
+        }
+    }
+
+}
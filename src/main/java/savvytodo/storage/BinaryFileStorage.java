@@ -0,0 +1,399 @@
+package savvytodo.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Checksum;
+
+import savvytodo.commons.exceptions.DataConversionException;
+import savvytodo.commons.exceptions.IllegalValueException;
+import savvytodo.commons.util.DateTimeUtil;
+import savvytodo.commons.util.FileUtil;
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.TaskManagerSnapshot;
+import savvytodo.model.category.Category;
+import savvytodo.model.category.UniqueCategoryList;
+import savvytodo.model.task.DateTime;
+import savvytodo.model.task.Description;
+import savvytodo.model.task.Location;
+import savvytodo.model.task.Name;
+import savvytodo.model.task.Priority;
+import savvytodo.model.task.ReadOnlyTask;
+import savvytodo.model.task.Recurrence;
+import savvytodo.model.task.Status;
+import savvytodo.model.task.Task;
+import savvytodo.model.task.TaskType;
+import savvytodo.model.task.TimeStamp;
+
+/**
+ * Stores taskManager data in a compact binary file.
+ *
+ * The file consists of
+ * <ol>
+ * <li>a header: the magic number, the format version and the number of tasks,</li>
+ * <li>a string table holding every priority, location and category name once,</li>
+ * <li>the master category list as string table indices,</li>
+ * <li>the tasks, each as a record prefixed with its length in bytes,</li>
+ * <li>a footer indexing the records: the offset of every record, the {@link TaskType} of every task,
+ * and lastly the offset of the footer itself.</li>
+ * </ol>
+ * The footer allows single records to be read without going through the whole file.
+ * It was added in version 2, files of version 1 end after the records.
+ * Dates are stored as minutes since the epoch, and time stamps as seconds since the epoch plus nanoseconds,
+ * both in UTC.
+ */
+public class BinaryFileStorage {
+
+    public static final int MAGIC_NUMBER = 0x53544442; // "STDB"
+    public static final short FORMAT_VERSION = 2;
+    public static final short FIRST_VERSION_WITH_FOOTER = 2;
+    private static final short OLDEST_SUPPORTED_VERSION = 1;
+
+    public static final String MESSAGE_NOT_BINARY_FILE = "Not a binary task manager file: %1$s";
+    public static final String MESSAGE_UNSUPPORTED_VERSION = "Unsupported binary file version %1$d in %2$s";
+
+    private static final int NO_STRING = -1;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final byte COMPLETED = 1;
+    private static final byte ONGOING = 0;
+
+    /**
+     * Returns true if the file starts with the magic number of this format.
+     */
+    public static boolean isBinaryFile(File file) {
+        if (!FileUtil.isFileExists(file) || file.length() < Integer.BYTES) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(DataFileCompression.openInput(file))) {
+            return in.readInt() == MAGIC_NUMBER;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Saves the given taskManager data to the specified file.
+     */
+    public static void saveDataToFile(File file, ReadOnlyTaskManager taskManager) throws IOException {
+        saveDataToFile(file, taskManager, null);
+    }
+
+    /**
+     * Saves the given taskManager data to the specified file, updating {@code checksum} with the bytes written.
+     * @param checksum the checksum to update, or null to keep none.
+     */
+    public static void saveDataToFile(File file, ReadOnlyTaskManager taskManager, Checksum checksum)
+            throws IOException {
+        assert file != null;
+        assert taskManager != null;
+
+        StringTable stringTable = new StringTable();
+        for (ReadOnlyTask task : taskManager.getTaskList()) {
+            stringTable.add(task.getPriority().value);
+            stringTable.add(task.getLocation().value);
+            for (Category category : task.getCategories()) {
+                stringTable.add(category.categoryName);
+            }
+        }
+        for (Category category : taskManager.getCategoryList()) {
+            stringTable.add(category.categoryName);
+        }
+
+        try (DataOutputStream out = new DataOutputStream(DataFileCompression.openOutput(file, checksum))) {
+            out.writeInt(MAGIC_NUMBER);
+            out.writeShort(FORMAT_VERSION);
+            out.writeInt(taskManager.getTaskList().size());
+
+            out.writeInt(stringTable.strings.size());
+            for (String string : stringTable.strings) {
+                writeString(out, string);
+            }
+
+            out.writeInt(taskManager.getCategoryList().size());
+            for (Category category : taskManager.getCategoryList()) {
+                out.writeInt(stringTable.indexOf(category.categoryName));
+            }
+
+            List<ReadOnlyTask> tasks = taskManager.getTaskList();
+            long[] recordOffsets = new long[tasks.size()];
+            long position = out.size();
+            ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+            DataOutputStream record = new DataOutputStream(recordBytes);
+            for (int i = 0; i < tasks.size(); i++) {
+                recordBytes.reset();
+                writeTask(record, tasks.get(i), stringTable);
+                recordOffsets[i] = position;
+                out.writeInt(recordBytes.size());
+                recordBytes.writeTo(out);
+                position += Integer.BYTES + recordBytes.size();
+            }
+
+            for (long recordOffset : recordOffsets) {
+                out.writeLong(recordOffset);
+            }
+            for (ReadOnlyTask task : tasks) {
+                out.writeByte(task.getType().getType().ordinal());
+            }
+            out.writeLong(position);
+        }
+    }
+
+    /**
+     * Returns task manager in the file.
+     * @throws FileNotFoundException if the file is missing.
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    public static ReadOnlyTaskManager loadDataFromSaveFile(File file) throws DataConversionException, IOException {
+        assert file != null;
+
+        if (!FileUtil.isFileExists(file)) {
+            throw new FileNotFoundException("File not found : " + file.getAbsolutePath());
+        }
+
+        try (DataInputStream in = new DataInputStream(DataFileCompression.openInput(file))) {
+            readHeader(in, file);
+            int taskCount = in.readInt();
+            DecodedStringTable stringTable = readStringTable(in);
+            List<Category> categories = readCategories(in, stringTable);
+
+            List<Task> tasks = new ArrayList<>(taskCount);
+            byte[] recordBytes = new byte[0];
+            for (int i = 0; i < taskCount; i++) {
+                int recordLength = in.readInt();
+                if (recordLength > recordBytes.length) {
+                    recordBytes = new byte[recordLength];
+                }
+                in.readFully(recordBytes, 0, recordLength);
+                tasks.add(readTask(ByteBuffer.wrap(recordBytes, 0, recordLength), stringTable));
+            }
+            return new TaskManagerSnapshot(tasks, categories);
+        } catch (EOFException | IllegalValueException | BufferUnderflowException | IndexOutOfBoundsException
+                | NegativeArraySizeException e) {
+            throw new DataConversionException(e);
+        }
+    }
+
+    //================ Header ==============================
+
+    /**
+     * Checks the magic number and the version of the file.
+     * @return the version of the file.
+     */
+    static short readHeader(DataInputStream in, File file) throws IOException, DataConversionException {
+        if (in.readInt() != MAGIC_NUMBER) {
+            throw new DataConversionException(
+                    new IllegalValueException(String.format(MESSAGE_NOT_BINARY_FILE, file)));
+        }
+        short version = in.readShort();
+        if (version < OLDEST_SUPPORTED_VERSION || version > FORMAT_VERSION) {
+            throw new DataConversionException(
+                    new IllegalValueException(String.format(MESSAGE_UNSUPPORTED_VERSION, version, file)));
+        }
+        return version;
+    }
+
+    static DecodedStringTable readStringTable(DataInputStream in) throws IOException {
+        String[] strings = new String[in.readInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = readString(in);
+        }
+        return new DecodedStringTable(strings);
+    }
+
+    static List<Category> readCategories(DataInputStream in, DecodedStringTable stringTable)
+            throws IOException, IllegalValueException {
+        int categoryCount = in.readInt();
+        List<Category> categories = new ArrayList<>(categoryCount);
+        for (int i = 0; i < categoryCount; i++) {
+            categories.add(stringTable.getCategory(in.readInt()));
+        }
+        return categories;
+    }
+
+    //================ Task records ==============================
+
+    private static void writeTask(DataOutputStream out, ReadOnlyTask task, StringTable stringTable)
+            throws IOException {
+        writeString(out, task.getName().name);
+        writeString(out, task.getDescription().value);
+        out.writeInt(stringTable.indexOf(task.getPriority().value));
+        out.writeInt(stringTable.indexOf(task.getLocation().value));
+        out.writeLong(toEpochMinutes(task.getDateTime().getStartDate()));
+        out.writeLong(toEpochMinutes(task.getDateTime().getEndDate()));
+        out.writeByte(task.getRecurrence().type.ordinal());
+        out.writeInt(task.getRecurrence().occurences);
+        out.writeByte(task.isCompleted().value ? COMPLETED : ONGOING);
+        LocalDateTime dateTimeAdded = task.getTimeStamp().getDateTimeAdded();
+        out.writeLong(dateTimeAdded.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(dateTimeAdded.getNano());
+        out.writeShort(task.getCategories().asObservableList().size());
+        for (Category category : task.getCategories()) {
+            out.writeInt(stringTable.indexOf(category.categoryName));
+        }
+    }
+
+    /**
+     * Decodes one task record.
+     * @param record positioned at the start of the record, without the length prefix.
+     */
+    static Task readTask(ByteBuffer record, DecodedStringTable stringTable) throws IllegalValueException {
+        Name name = new Name(readString(record));
+        Description description = new Description(readString(record));
+        Priority priority = stringTable.getPriority(record.getInt());
+        Location location = stringTable.getLocation(record.getInt());
+        DateTime dateTime = toDateTime(record.getLong(), record.getLong());
+        Recurrence.Type recurrenceType = Recurrence.Type.values()[record.get()];
+        Recurrence recurrence = new Recurrence(recurrenceType.toString(), record.getInt());
+        Status status = new Status(record.get() == COMPLETED);
+        TimeStamp timeStamp = new TimeStamp(LocalDateTime.ofEpochSecond(record.getLong(), record.getInt(),
+                ZoneOffset.UTC));
+        int categoryCount = record.getShort() & 0xFFFF;
+        List<Category> categories = new ArrayList<>(categoryCount);
+        for (int i = 0; i < categoryCount; i++) {
+            categories.add(stringTable.getCategory(record.getInt()));
+        }
+        return new Task(name, priority, description, location, new UniqueCategoryList(categories), dateTime,
+                recurrence, status, timeStamp);
+    }
+
+    private static long toEpochMinutes(LocalDateTime dateTime) {
+        return dateTime == null ? NO_DATE : dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static LocalDateTime fromEpochMinutes(long epochMinutes) {
+        return epochMinutes == NO_DATE ? null : LocalDateTime.ofEpochSecond(epochMinutes * 60, 0, ZoneOffset.UTC);
+    }
+
+    private static DateTime toDateTime(long startMinutes, long endMinutes) throws IllegalValueException {
+        LocalDateTime start = fromEpochMinutes(startMinutes);
+        LocalDateTime end = fromEpochMinutes(endMinutes);
+        if (start != null && end != null) {
+            return new DateTime(start, end);
+        }
+        if (start == null && end == null) {
+            return new DateTime();
+        }
+        return new DateTime(start == null ? "" : start.format(DateTimeUtil.DATE_STRING_FORMATTER),
+                end == null ? "" : end.format(DateTimeUtil.DATE_STRING_FORMATTER));
+    }
+
+    //================ Strings ==============================
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NO_STRING);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == NO_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NO_STRING) {
+            return null;
+        }
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                    StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+
+    /**
+     * Assigns each distinct string an index in the order they are first added.
+     */
+    private static class StringTable {
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, Integer> indices = new HashMap<>();
+
+        void add(String value) {
+            if (value != null && !indices.containsKey(value)) {
+                indices.put(value, strings.size());
+                strings.add(value);
+            }
+        }
+
+        int indexOf(String value) {
+            return value == null ? NO_STRING : indices.get(value);
+        }
+    }
+
+    /**
+     * The string table of a file being read.
+     * Priorities, locations and categories are immutable, so each is validated and created only once
+     * and then shared by all the tasks that refer to it.
+     */
+    static class DecodedStringTable {
+        private final String[] strings;
+        private final Priority[] priorities;
+        private final Location[] locations;
+        private final Category[] categories;
+
+        DecodedStringTable(String[] strings) {
+            this.strings = strings;
+            this.priorities = new Priority[strings.length];
+            this.locations = new Location[strings.length];
+            this.categories = new Category[strings.length];
+        }
+
+        Priority getPriority(int index) throws IllegalValueException {
+            if (index == NO_STRING) {
+                return new Priority(null);
+            }
+            if (priorities[index] == null) {
+                priorities[index] = new Priority(strings[index]);
+            }
+            return priorities[index];
+        }
+
+        Location getLocation(int index) throws IllegalValueException {
+            if (index == NO_STRING) {
+                return new Location(null);
+            }
+            if (locations[index] == null) {
+                locations[index] = new Location(strings[index]);
+            }
+            return locations[index];
+        }
+
+        Category getCategory(int index) throws IllegalValueException {
+            if (categories[index] == null) {
+                categories[index] = new Category(strings[index]);
+            }
+            return categories[index];
+        }
+    }
+
+}
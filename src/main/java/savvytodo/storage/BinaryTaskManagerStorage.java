@@ -0,0 +1,75 @@
+package savvytodo.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.logging.Logger;
+import java.util.zip.Checksum;
+
+import savvytodo.commons.core.LogsCenter;
+import savvytodo.commons.exceptions.DataConversionException;
+import savvytodo.model.ReadOnlyTaskManager;
+
+/**
+ * A class to access TaskManager data stored as a binary file on the hard disk.
+ * Files in the xml format can still be read, and are written back in the binary format.
+ * @see BinaryFileStorage
+ */
+public class BinaryTaskManagerStorage implements TaskManagerStorage {
+
+    private static final Logger logger = LogsCenter.getLogger(BinaryTaskManagerStorage.class);
+
+    private String filePath;
+
+    public BinaryTaskManagerStorage(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public String getTaskManagerFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public Optional<ReadOnlyTaskManager> readTaskManager() throws DataConversionException, IOException {
+        return taskManagerBook(filePath);
+    }
+
+    /**
+     * Similar to {@link #readTaskManager()}
+     * @param filePath location of the data. Cannot be null
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    public Optional<ReadOnlyTaskManager> taskManagerBook(String filePath) throws DataConversionException,
+                                                                                 IOException {
+        assert filePath != null;
+
+        File taskManagerFile = new File(filePath);
+
+        if (!taskManagerFile.exists()) {
+            logger.info("TaskManager file "  + taskManagerFile + " not found");
+            return Optional.empty();
+        }
+
+        return Optional.of(TaskManagerFileConverter.readAnyFormat(taskManagerFile));
+    }
+
+    @Override
+    public void saveTaskManager(ReadOnlyTaskManager taskManager) throws IOException {
+        saveTaskManager(taskManager, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveTaskManager(ReadOnlyTaskManager)}
+     * @param filePath location of the data. Cannot be null
+     */
+    public void saveTaskManager(ReadOnlyTaskManager taskManager, String filePath) throws IOException {
+        assert taskManager != null;
+        assert filePath != null;
+
+        File file = new File(filePath);
+        Checksum checksum = TaskIndexSidecar.newChecksum(taskManager);
+        AtomicFileWriter.write(file, tempFile -> BinaryFileStorage.saveDataToFile(tempFile, taskManager, checksum));
+        TaskIndexSidecar.write(file, taskManager, checksum);
+    }
+
+}
@@ -0,0 +1,77 @@
+package savvytodo.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import savvytodo.commons.core.LogsCenter;
+import savvytodo.commons.exceptions.DataConversionException;
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.TaskManager;
+import savvytodo.model.task.ReadOnlyTask;
+import savvytodo.model.task.Task;
+import savvytodo.model.task.UniqueTaskList.DuplicateTaskException;
+
+/**
+ * Keeps tasks that are no longer in use, such as long completed ones, in an archive file next to the data file,
+ * so that they are neither held in memory nor written on every save.
+ * The archive is a binary file, which is memory-mapped when it is read, see {@link MappedTaskManagerStorage}.
+ */
+public class ColdTaskStore {
+
+    public static final String ARCHIVE_FILE_SUFFIX = ".archive";
+
+    private static final Logger logger = LogsCenter.getLogger(ColdTaskStore.class);
+
+    private final File archiveFile;
+
+    /**
+     * @param taskManagerFilePath the data file whose tasks are archived.
+     */
+    public ColdTaskStore(String taskManagerFilePath) {
+        this.archiveFile = new File(taskManagerFilePath + ARCHIVE_FILE_SUFFIX);
+    }
+
+    public File getArchiveFile() {
+        return archiveFile;
+    }
+
+    /**
+     * Returns the archived tasks, which are decoded as they are used, or an empty Optional if nothing has been
+     * archived. The archive is not kept in memory after the returned task manager is dropped.
+     * @throws DataConversionException if the archive file is not in the correct format.
+     */
+    public Optional<ReadOnlyTaskManager> read() throws DataConversionException, IOException {
+        return new MappedTaskManagerStorage(archiveFile.getPath()).readTaskManager();
+    }
+
+    /**
+     * Adds {@code tasks} to the archive. Tasks that are already in the archive are not added again,
+     * so archiving the same tasks twice, e.g. after a crash, is harmless.
+     * The archive is replaced in one step once it has been written in full, so it is never left half written
+     * and earlier results of {@link #read()} stay readable.
+     * @throws DataConversionException if the existing archive file is not in the correct format.
+     */
+    public void archive(List<? extends ReadOnlyTask> tasks) throws DataConversionException, IOException {
+        TaskManager archive = new TaskManager();
+        if (archiveFile.exists()) {
+            archive.resetData(TaskManagerFileConverter.readAnyFormat(archiveFile));
+        }
+        int archivedCount = 0;
+        for (ReadOnlyTask task : tasks) {
+            try {
+                archive.addTask(new Task(task));
+                archivedCount++;
+            } catch (DuplicateTaskException e) {
+                logger.fine("Task already archived: " + task.getName());
+            }
+        }
+
+        AtomicFileWriter.write(archiveFile, tempFile -> BinaryFileStorage.saveDataToFile(tempFile, archive));
+        logger.info("Archived " + archivedCount + " tasks to " + archiveFile + ", which now holds "
+                + archive.getTaskList().size() + " tasks");
+    }
+
+}
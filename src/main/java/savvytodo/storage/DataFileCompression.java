@@ -0,0 +1,161 @@
+package savvytodo.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.logging.Logger;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Checksum;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import savvytodo.commons.core.Config;
+import savvytodo.commons.core.LogsCenter;
+
+/**
+ * Opens TaskManager data files, compressing them with GZIP where wanted.
+ * Compressed files are recognised from their first bytes when they are read, whatever their name,
+ * so every storage format can read both compressed and plain files.
+ *
+ * Files are written compressed if their name ends with {@link #COMPRESSED_FILE_SUFFIX},
+ * or if a compression level has been set, see {@link #init(Config)}.
+ */
+public class DataFileCompression {
+
+    public static final String COMPRESSED_FILE_SUFFIX = ".gz";
+    /** Files are only compressed if their name asks for it. */
+    public static final int NO_COMPRESSION = 0;
+    public static final int MIN_COMPRESSION_LEVEL = Deflater.BEST_SPEED;
+    public static final int MAX_COMPRESSION_LEVEL = Deflater.BEST_COMPRESSION;
+
+    private static final Logger logger = LogsCenter.getLogger(DataFileCompression.class);
+
+    private static final int GZIP_MAGIC_FIRST_BYTE = GZIPInputStream.GZIP_MAGIC & 0xff;
+    private static final int GZIP_MAGIC_SECOND_BYTE = (GZIPInputStream.GZIP_MAGIC >> 8) & 0xff;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static int compressionLevel = NO_COMPRESSION;
+
+    /**
+     * Compresses every data file that is written from now on at the level in {@code config}.
+     * Invalid levels fall back to {@link #NO_COMPRESSION}.
+     */
+    public static void init(Config config) {
+        int level = config.getTaskManagerCompressionLevel();
+        if (!isValidCompressionLevel(level)) {
+            logger.warning("Invalid TaskManager compression level " + level + ", only compressing files named "
+                    + "to be compressed");
+            level = NO_COMPRESSION;
+        }
+        setCompressionLevel(level);
+    }
+
+    /**
+     * Returns true if {@code level} is {@link #NO_COMPRESSION} or a GZIP level.
+     */
+    public static boolean isValidCompressionLevel(int level) {
+        return level == NO_COMPRESSION || (level >= MIN_COMPRESSION_LEVEL && level <= MAX_COMPRESSION_LEVEL);
+    }
+
+    /**
+     * Sets the GZIP level every data file is written with, from {@link #MIN_COMPRESSION_LEVEL}, which uses the
+     * least CPU, to {@link #MAX_COMPRESSION_LEVEL}, which writes the least to disk.
+     * {@link #NO_COMPRESSION} only compresses files whose name ends with {@link #COMPRESSED_FILE_SUFFIX}.
+     */
+    public static synchronized void setCompressionLevel(int level) {
+        assert isValidCompressionLevel(level);
+        compressionLevel = level;
+    }
+
+    public static synchronized int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * Returns true if {@code file} starts with the GZIP magic number.
+     */
+    public static boolean isCompressed(File file) {
+        try (InputStream in = new FileInputStream(file)) {
+            return isCompressed(in.read(), in.read());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean isCompressed(int firstByte, int secondByte) {
+        return firstByte == GZIP_MAGIC_FIRST_BYTE && secondByte == GZIP_MAGIC_SECOND_BYTE;
+    }
+
+    /**
+     * Returns true if {@code file} will be compressed when it is written.
+     */
+    public static boolean isCompressedOnSave(File file) {
+        return getCompressionLevel() != NO_COMPRESSION || file.getName().endsWith(COMPRESSED_FILE_SUFFIX);
+    }
+
+    /**
+     * Opens {@code file} for reading, decompressing it if it is compressed. The stream is buffered.
+     */
+    public static InputStream openInput(File file) throws IOException {
+        InputStream in = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+        try {
+            in.mark(2);
+            boolean isCompressed = isCompressed(in.read(), in.read());
+            in.reset();
+            if (isCompressed) {
+                return new BufferedInputStream(new GZIPInputStream(in, BUFFER_SIZE), BUFFER_SIZE);
+            }
+            return in;
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens {@code file} for writing, compressing it if {@link #isCompressedOnSave(File)}. The stream is buffered.
+     */
+    public static OutputStream openOutput(File file) throws IOException {
+        return openOutput(file, null);
+    }
+
+    /**
+     * Opens {@code file} for writing like {@link #openOutput(File)}, updating {@code checksum} with the bytes
+     * written to the file, after any compression.
+     * @param checksum the checksum to update, or null to keep none.
+     */
+    public static OutputStream openOutput(File file, Checksum checksum) throws IOException {
+        OutputStream out = new FileOutputStream(file);
+        if (checksum != null) {
+            out = new CheckedOutputStream(out, checksum);
+        }
+        if (!isCompressedOnSave(file)) {
+            return new BufferedOutputStream(out, BUFFER_SIZE);
+        }
+        int level = getCompressionLevel();
+        try {
+            return new BufferedOutputStream(new LeveledGzipOutputStream(out,
+                    level == NO_COMPRESSION ? Deflater.DEFAULT_COMPRESSION : level), BUFFER_SIZE);
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+    }
+
+    /**
+     * A {@link GZIPOutputStream} that compresses at a given level.
+     */
+    private static class LeveledGzipOutputStream extends GZIPOutputStream {
+        LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(level);
+        }
+    }
+
+}
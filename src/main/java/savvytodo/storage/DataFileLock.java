@@ -0,0 +1,80 @@
+package savvytodo.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import savvytodo.commons.core.LogsCenter;
+import savvytodo.commons.util.FileUtil;
+
+/**
+ * An exclusive lock on a data file, held by the one instance of the application that writes it.
+ * The lock is taken on a separate file next to the data file, as the data file itself is replaced when it is saved.
+ * Instances that cannot take the lock open the data file read-only and follow the changes of the one that holds it,
+ * see {@link TaskChangeLogFollower}.
+ */
+public class DataFileLock {
+
+    public static final String LOCK_FILE_SUFFIX = ".lock";
+
+    private static final Logger logger = LogsCenter.getLogger(DataFileLock.class);
+
+    private final File lockFile;
+    private final FileChannel channel;
+    private final FileLock lock;
+
+    private DataFileLock(File lockFile, FileChannel channel, FileLock lock) {
+        this.lockFile = lockFile;
+        this.channel = channel;
+        this.lock = lock;
+    }
+
+    public static File getLockFile(String filePath) {
+        return new File(filePath + LOCK_FILE_SUFFIX);
+    }
+
+    /**
+     * Takes the lock on the data file at {@code filePath} without waiting for it.
+     * Returns an empty Optional if another instance holds the lock.
+     * @throws IOException if the lock file could not be created.
+     */
+    public static Optional<DataFileLock> tryAcquire(String filePath) throws IOException {
+        File lockFile = getLockFile(filePath);
+        FileUtil.createParentDirsOfFile(lockFile);
+        FileChannel channel = FileChannel.open(lockFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // held by another storage of this process
+            lock = null;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        if (lock == null) {
+            channel.close();
+            return Optional.empty();
+        }
+        return Optional.of(new DataFileLock(lockFile, channel, lock));
+    }
+
+    /**
+     * Releases the lock, so that another instance can become the writer of the data file.
+     */
+    public void release() {
+        try {
+            lock.release();
+            channel.close();
+        } catch (IOException e) {
+            logger.warning("Could not release the lock " + lockFile + ": " + e);
+        }
+    }
+
+}
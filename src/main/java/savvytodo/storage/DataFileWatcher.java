@@ -0,0 +1,112 @@
+package savvytodo.storage;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import savvytodo.commons.core.LogsCenter;
+import savvytodo.commons.util.FileUtil;
+
+/**
+ * Watches a data file for changes with a {@link WatchService} on its directory, on a background thread.
+ * A save usually changes the file several times in a row, so the change handler only runs once the file has not
+ * changed for {@link #SETTLE_MILLIS}. The handler also runs for the saves of this application, which it has to
+ * tell apart itself.
+ */
+public class DataFileWatcher {
+
+    public static final long SETTLE_MILLIS = 200;
+
+    private static final Logger logger = LogsCenter.getLogger(DataFileWatcher.class);
+
+    private final Path dataFile;
+    private final Runnable changeHandler;
+    private WatchService watchService;
+    private Thread watcherThread;
+
+    public DataFileWatcher(String filePath, Runnable changeHandler) {
+        this.dataFile = Paths.get(filePath).toAbsolutePath();
+        this.changeHandler = changeHandler;
+    }
+
+    /**
+     * Starts watching the data file, creating its directory if it is missing.
+     * @throws IOException if the directory cannot be watched.
+     */
+    public synchronized void start() throws IOException {
+        if (watchService != null) {
+            return;
+        }
+        Path directory = dataFile.getParent();
+        FileUtil.createDirs(directory.toFile());
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+        watcherThread = new Thread(this::watch, "data-file-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    /**
+     * Stops watching the data file. The change handler does not run for changes made from now on.
+     */
+    public synchronized void stop() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warning("Could not stop watching " + dataFile + ": " + e);
+        }
+        watcherThread.interrupt();
+        watchService = null;
+        watcherThread = null;
+    }
+
+    private void watch() {
+        WatchService service = watchService;
+        try {
+            while (true) {
+                boolean isDataFileChanged = isDataFileChanged(service.take());
+                while (isDataFileChanged) {
+                    WatchKey nextKey = service.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                    if (nextKey == null) {
+                        break;
+                    }
+                    isDataFileChanged(nextKey);
+                }
+                if (isDataFileChanged) {
+                    changeHandler.run();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            logger.fine("Stopped watching " + dataFile);
+        }
+    }
+
+    /**
+     * Returns true if any of the events of {@code key} may be a change to the data file, and resets the key.
+     */
+    private boolean isDataFileChanged(WatchKey key) {
+        boolean isDataFileChanged = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            // events are dropped when they come too fast, any of them may have been about the data file
+            if (event.kind() == OVERFLOW || dataFile.getFileName().equals(event.context())) {
+                isDataFileChanged = true;
+            }
+        }
+        key.reset();
+        return isDataFileChanged;
+    }
+
+}
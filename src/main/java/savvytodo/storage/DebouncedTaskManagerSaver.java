@@ -0,0 +1,120 @@
+package savvytodo.storage;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import savvytodo.commons.core.LogsCenter;
+import savvytodo.model.ReadOnlyTaskManager;
+
+/**
+ * Saves task manager data on a single background writer thread.
+ * Data submitted within the save window of an earlier submission is coalesced with it,
+ * so a burst of changes results in one write of the latest data.
+ */
+public class DebouncedTaskManagerSaver {
+
+    /**
+     * Writes task manager data to disk.
+     */
+    @FunctionalInterface
+    public interface SaveAction {
+        void save(ReadOnlyTaskManager taskManager) throws IOException;
+    }
+
+    private static final Logger logger = LogsCenter.getLogger(DebouncedTaskManagerSaver.class);
+
+    private final SaveAction saveAction;
+    private final Consumer<IOException> failureHandler;
+    private final long saveWindowMillis;
+    private final ScheduledExecutorService executor;
+
+    private ReadOnlyTaskManager pendingData;
+    private ScheduledFuture<?> scheduledSave;
+
+    /**
+     * @param saveWindowMillis how long to wait for further changes before writing submitted data.
+     * @param failureHandler called on the writer thread when a save fails.
+     */
+    public DebouncedTaskManagerSaver(SaveAction saveAction, Consumer<IOException> failureHandler,
+            long saveWindowMillis) {
+        assert saveAction != null && failureHandler != null;
+        assert saveWindowMillis >= 0;
+        this.saveAction = saveAction;
+        this.failureHandler = failureHandler;
+        this.saveWindowMillis = saveWindowMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-manager-saver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Schedules {@code taskManager} to be saved, replacing any data that has not been written yet.
+     * The data must not be modified afterwards.
+     */
+    public synchronized void submit(ReadOnlyTaskManager taskManager) {
+        assert taskManager != null;
+        pendingData = taskManager;
+        if (scheduledSave == null) {
+            scheduledSave = executor.schedule(this::savePendingData, saveWindowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes any pending data right away and waits until it is on disk.
+     */
+    public void flush() {
+        synchronized (this) {
+            if (scheduledSave != null) {
+                scheduledSave.cancel(false);
+                scheduledSave = null;
+            }
+        }
+        Future<?> save = executor.submit(this::savePendingData);
+        try {
+            save.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.warning("Unexpected error while flushing task manager data: " + e.getCause());
+        }
+    }
+
+    /**
+     * Flushes pending data and stops the writer thread.
+     */
+    public void shutdown() {
+        flush();
+        executor.shutdown();
+    }
+
+    private void savePendingData() {
+        ReadOnlyTaskManager data;
+        synchronized (this) {
+            data = pendingData;
+            pendingData = null;
+            scheduledSave = null;
+        }
+        if (data == null) {
+            return;
+        }
+        try {
+            saveAction.save(data);
+        } catch (IOException e) {
+            failureHandler.accept(e);
+        } catch (RuntimeException e) {
+            // the data would otherwise be dropped without a word, as nothing waits for this save
+            logger.severe("Unexpected error while saving task manager data: " + e);
+            failureHandler.accept(new IOException(e));
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package savvytodo.storage;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import savvytodo.commons.events.storage.DeferredTasksLoadedEvent;
+import savvytodo.commons.exceptions.DataConversionException;
+import savvytodo.model.ReadOnlyTaskManager;
+
+/**
+ * Represents a storage for {@link savvytodo.model.TaskManager} that may leave some tasks out when it reads
+ * its data file, and read them on a background thread, after which a {@link DeferredTasksLoadedEvent}
+ * is raised with their tasks, or a
+ * {@link savvytodo.commons.events.storage.DeferredTasksLoadFailedEvent} if they could not be read.
+ * Until {@link #markDeferredTasksMerged()} is called, saves to the data file keep the deferred tasks,
+ * as they are not part of the saved data yet.
+ */
+public interface DeferringTaskManagerStorage extends TaskManagerStorage {
+
+    /**
+     * Returns true if tasks deferred by the last read of the data file have not been merged yet.
+     */
+    boolean hasDeferredTasks();
+
+    /**
+     * Returns true if tasks deferred by the last read of the data file are still being read,
+     * or have been read but not merged yet.
+     */
+    boolean isLoadingDeferredTasks();
+
+    /**
+     * Records that the deferred tasks are now part of the data that is saved,
+     * so saves no longer need to keep them.
+     */
+    void markDeferredTasksMerged();
+
+    /**
+     * Reads the whole data file right away, without deferring any of its tasks.
+     * @see #readTaskManager()
+     */
+    Optional<ReadOnlyTaskManager> readWholeTaskManager() throws DataConversionException, IOException;
+
+}
@@ -0,0 +1,190 @@
+package savvytodo.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Logger;
+
+import savvytodo.commons.core.EventsCenter;
+import savvytodo.commons.core.LogsCenter;
+import savvytodo.commons.events.storage.DeferredTasksLoadFailedEvent;
+import savvytodo.commons.events.storage.DeferredTasksLoadedEvent;
+import savvytodo.commons.exceptions.DataConversionException;
+import savvytodo.commons.exceptions.IllegalValueException;
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.TaskManager;
+import savvytodo.model.TaskManagerSnapshot;
+import savvytodo.model.category.Category;
+import savvytodo.model.task.Task;
+
+/**
+ * Reads a large xml or JSON data file in two steps, so that the tasks the user most likely looks for first
+ * can be shown before the whole file is converted: deadlines that are not done and events that have not ended
+ * are converted right away, the other tasks on a background thread, after which a
+ * {@link DeferredTasksLoadedEvent} is raised with them.
+ * Until {@link #markDeferredTasksMerged()} is called, {@link #addDeferredTasks(ReadOnlyTaskManager)} adds them
+ * to the data saved to the file, so that a save before they are merged does not lose them.
+ * @see DeferringTaskManagerStorage
+ */
+public class IncrementalTaskLoader {
+
+    /** Smaller files are read in one step, as converting all of their tasks does not take long. */
+    public static final long MIN_INCREMENTAL_FILE_LENGTH = 512 * 1024;
+
+    public static final String MESSAGE_DEFERRED_TASKS_NOT_READ = "The older tasks of %1$s could not be read, "
+            + "the file is not saved so that they are not lost";
+
+    private static final Logger logger = LogsCenter.getLogger(IncrementalTaskLoader.class);
+
+    private final String filePath;
+    /** The tasks deferred by the last read of the data file until they are merged, null if there are none. */
+    private CompletableFuture<List<Task>> deferredTasks;
+
+    /**
+     * @param filePath the data file, the only file read in two steps.
+     */
+    public IncrementalTaskLoader(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Returns true if {@code file} is read in two steps, i.e. it is a large xml or JSON file.
+     */
+    public static boolean isLoadedIncrementally(File file) {
+        return file.length() >= MIN_INCREMENTAL_FILE_LENGTH && !BinaryFileStorage.isBinaryFile(file);
+    }
+
+    /**
+     * Returns the task manager in the data file, which may be in any format.
+     * If the file is read in two steps, only the upcoming and undone tasks are returned,
+     * and the other tasks are converted in the background.
+     * Tasks deferred by an earlier read are dropped.
+     * @throws DataConversionException if the file is in none of the formats, or any of the tasks
+     *          returned is not valid.
+     */
+    public ReadOnlyTaskManager read() throws DataConversionException, IOException {
+        File file = new File(filePath);
+        synchronized (this) {
+            deferredTasks = null;
+        }
+        if (!isLoadedIncrementally(file)) {
+            return TaskManagerFileConverter.readAnyFormat(file);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<StoredTask> firstTasks = new ArrayList<>();
+        List<StoredTask> otherTasks = new ArrayList<>();
+        List<Category> categories = new ArrayList<>();
+        StoredTask.Sink sortingSink = new StoredTask.Sink() {
+            @Override
+            public void accept(StoredTask task) {
+                (task.isUpcomingOrUndone(now) ? firstTasks : otherTasks).add(task);
+            }
+
+            @Override
+            public void flush() {
+            }
+        };
+        if (JsonFileStorage.isJsonFile(file)) {
+            JsonFileStorage.readStoredData(file, sortingSink, categories::add);
+        } else {
+            XmlStreamFileStorage.readStoredData(file, sortingSink, categories::add);
+        }
+
+        List<Task> tasks;
+        try {
+            tasks = ParallelTaskConverter.convert(firstTasks, StoredTask::toModelType);
+        } catch (IllegalValueException e) {
+            throw new DataConversionException(e);
+        }
+        deferTasks(otherTasks);
+        logger.fine("Read " + tasks.size() + " upcoming and undone tasks from " + file + ", "
+                + otherTasks.size() + " tasks deferred");
+        return new TaskManagerSnapshot(tasks, categories);
+    }
+
+    /**
+     * Starts converting {@code storedTasks} in the background.
+     */
+    private void deferTasks(List<StoredTask> storedTasks) {
+        if (storedTasks.isEmpty()) {
+            return;
+        }
+        CompletableFuture<List<Task>> thisRead = new CompletableFuture<>();
+        synchronized (this) {
+            deferredTasks = thisRead;
+        }
+        Thread loader = new Thread(() -> convertDeferredTasks(storedTasks, thisRead), "deferred-task-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void convertDeferredTasks(List<StoredTask> storedTasks, CompletableFuture<List<Task>> thisRead) {
+        List<Task> tasks;
+        try {
+            tasks = ParallelTaskConverter.convert(storedTasks, StoredTask::toModelType);
+        } catch (IllegalValueException | RuntimeException e) {
+            // saves wait for the deferred tasks, so the read must end either way
+            thisRead.completeExceptionally(e);
+            if (isCurrentRead(thisRead)) {
+                logger.warning("Could not read older tasks from " + filePath + ": " + e);
+                EventsCenter.getInstance().post(new DeferredTasksLoadFailedEvent(filePath, e));
+            }
+            return;
+        }
+        thisRead.complete(tasks);
+        if (isCurrentRead(thisRead)) {
+            logger.fine("Read " + tasks.size() + " deferred tasks from " + filePath);
+            EventsCenter.getInstance().post(new DeferredTasksLoadedEvent(filePath,
+                    new TaskManagerSnapshot(tasks, Collections.emptyList())));
+        }
+    }
+
+    private synchronized boolean isCurrentRead(CompletableFuture<List<Task>> read) {
+        return deferredTasks == read;
+    }
+
+    public synchronized boolean hasDeferredTasks() {
+        return deferredTasks != null;
+    }
+
+    public synchronized boolean isLoadingDeferredTasks() {
+        return deferredTasks != null && !deferredTasks.isCompletedExceptionally();
+    }
+
+    public synchronized void markDeferredTasksMerged() {
+        deferredTasks = null;
+    }
+
+    /**
+     * Returns {@code taskManager} with the deferred tasks that are not merged yet added to its tasks,
+     * waiting for them to be converted if needed. Deferred tasks equal to a task of {@code taskManager},
+     * e.g. one the user added again before the merge, are left out, as they are when merged into the model.
+     * @throws IOException if the deferred tasks could not be read.
+     */
+    public ReadOnlyTaskManager addDeferredTasks(ReadOnlyTaskManager taskManager) throws IOException {
+        CompletableFuture<List<Task>> pendingTasks;
+        synchronized (this) {
+            pendingTasks = deferredTasks;
+        }
+        if (pendingTasks == null) {
+            return taskManager;
+        }
+        TaskManager mergedData = new TaskManager(taskManager);
+        try {
+            mergedData.addTasks(pendingTasks.get());
+        } catch (ExecutionException e) {
+            throw new IOException(String.format(MESSAGE_DEFERRED_TASKS_NOT_READ, filePath), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(String.format(MESSAGE_DEFERRED_TASKS_NOT_READ, filePath), e);
+        }
+        return mergedData;
+    }
+
+}
@@ -0,0 +1,88 @@
+package savvytodo.storage;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import savvytodo.commons.core.LogsCenter;
+import savvytodo.commons.util.StringUtil;
+
+/**
+ * Periodically folds the journal of a {@link JournalTaskManagerStorage} into a fresh base snapshot
+ * on a background thread, which bounds both the startup replay time and the size of the journal.
+ */
+public class JournalCompactor {
+
+    public static final long DEFAULT_CHECK_INTERVAL_SECONDS = 30;
+    public static final int DEFAULT_JOURNAL_RECORD_THRESHOLD = 500;
+
+    private static final Logger logger = LogsCenter.getLogger(JournalCompactor.class);
+
+    private final JournalTaskManagerStorage storage;
+    private final int journalRecordThreshold;
+    private ScheduledExecutorService executor;
+
+    public JournalCompactor(JournalTaskManagerStorage storage) {
+        this(storage, DEFAULT_JOURNAL_RECORD_THRESHOLD);
+    }
+
+    /**
+     * @param journalRecordThreshold number of journal records from which the journal is compacted.
+     */
+    public JournalCompactor(JournalTaskManagerStorage storage, int journalRecordThreshold) {
+        assert storage != null;
+        assert journalRecordThreshold > 0;
+        this.storage = storage;
+        this.journalRecordThreshold = journalRecordThreshold;
+    }
+
+    /**
+     * Starts checking the journal every {@code checkIntervalSeconds} seconds on a daemon thread.
+     */
+    public synchronized void start(long checkIntervalSeconds) {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::compactIfNeeded, checkIntervalSeconds, checkIntervalSeconds,
+                TimeUnit.SECONDS);
+    }
+
+    public void start() {
+        start(DEFAULT_CHECK_INTERVAL_SECONDS);
+    }
+
+    /**
+     * Stops checking the journal. A compaction that is already running is allowed to finish.
+     */
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * Compacts the journal if it holds at least the threshold number of records.
+     * @return true if a compaction was attempted.
+     */
+    public boolean compactIfNeeded() {
+        if (storage.getJournalRecordCount() < journalRecordThreshold) {
+            return false;
+        }
+        try {
+            storage.compact();
+        } catch (IOException e) {
+            logger.warning("Failed to compact journal of " + storage.getTaskManagerFilePath() + " : "
+                    + StringUtil.getDetails(e));
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,350 @@
+package savvytodo.storage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import savvytodo.commons.core.LogsCenter;
+import savvytodo.commons.exceptions.DataConversionException;
+import savvytodo.commons.exceptions.IllegalValueException;
+import savvytodo.commons.util.FileUtil;
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.TaskManager;
+import savvytodo.model.category.Category;
+import savvytodo.model.task.ReadOnlyTask;
+
+/**
+ * A class to access TaskManager data stored as an xml base snapshot plus an append-only journal.
+ *
+ * The base snapshot is an ordinary TaskManager xml file at {@link #getTaskManagerFilePath()}.
+ * Every save appends one line per added or removed task to the journal file next to it,
+ * so the cost of a save depends on the size of the change rather than on the size of the data.
+ * Edits and marks are journalled as the removal of the old task followed by the addition of the new one.
+ */
+public class JournalTaskManagerStorage implements TaskManagerStorage {
+
+    public static final String JOURNAL_FILE_SUFFIX = ".journal";
+    public static final String COMPACTION_FILE_SUFFIX = ".compacting";
+
+    private static final Logger logger = LogsCenter.getLogger(JournalTaskManagerStorage.class);
+
+    private static final String ADD_RECORD = "+";
+    private static final String REMOVE_RECORD = "-";
+    private static final int OPERATION_LENGTH = 2;
+
+    private String filePath;
+
+    /** Records of the tasks as last persisted, keyed by {@link TaskRecordCodec#encodeKey}. Null until known. */
+    private LinkedHashMap<String, String> persistedRecords;
+    private List<Category> persistedCategories;
+    private int journalRecordCount;
+    /** Incremented whenever the base snapshot is rewritten by a save, so that a running compaction can back off. */
+    private long snapshotGeneration;
+
+    public JournalTaskManagerStorage(String filePath) {
+        this.filePath = filePath;
+    }
+
+    @Override
+    public String getTaskManagerFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Returns the journal file that belongs to the data file at {@code filePath}.
+     */
+    public static File getJournalFile(String filePath) {
+        return new File(filePath + JOURNAL_FILE_SUFFIX);
+    }
+
+    @Override
+    public Optional<ReadOnlyTaskManager> readTaskManager() throws DataConversionException, IOException {
+        return taskManagerBook(filePath);
+    }
+
+    /**
+     * Similar to {@link #readTaskManager()}
+     * Replays the journal of {@code filePath} on top of its base snapshot.
+     * @param filePath location of the data. Cannot be null
+     * @throws DataConversionException if the base snapshot or the journal is not in the correct format.
+     */
+    @Override
+    public synchronized Optional<ReadOnlyTaskManager> taskManagerBook(String filePath)
+            throws DataConversionException, IOException {
+        assert filePath != null;
+
+        File baseFile = new File(filePath);
+        File journalFile = getJournalFile(filePath);
+        if (!baseFile.exists() && !journalFile.exists()) {
+            logger.info("TaskManager file " + baseFile + " not found");
+            return Optional.empty();
+        }
+
+        LinkedHashMap<String, String> records = new LinkedHashMap<>();
+        List<Category> categories = new ArrayList<>();
+        if (baseFile.exists()) {
+            XmlStreamFileStorage.readDataFromSaveFile(baseFile, task -> {
+                String record = TaskRecordCodec.encode(task);
+                records.put(TaskRecordCodec.getKey(record), record);
+            }, categories::add);
+        }
+        int replayedRecordCount = journalFile.exists() ? replayJournal(journalFile, records) : 0;
+
+        TaskManager taskManager = toTaskManager(records, categories);
+        if (isOwnFile(filePath)) {
+            // a damaged journal is replaced by a fresh snapshot on the next save
+            persistedRecords = replayedRecordCount >= 0 ? records : null;
+            persistedCategories = categories;
+            journalRecordCount = Math.max(replayedRecordCount, 0);
+        }
+        return Optional.of(taskManager);
+    }
+
+    @Override
+    public void saveTaskManager(ReadOnlyTaskManager taskManager) throws IOException {
+        saveTaskManager(taskManager, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveTaskManager(ReadOnlyTaskManager)}
+     * Only appends the changes since the last save to the journal when {@code filePath} is the file of this storage,
+     * otherwise writes a full snapshot to {@code filePath}.
+     * @param filePath location of the data. Cannot be null
+     */
+    @Override
+    public synchronized void saveTaskManager(ReadOnlyTaskManager taskManager, String filePath) throws IOException {
+        assert taskManager != null;
+        assert filePath != null;
+
+        if (!isOwnFile(filePath)) {
+            saveSnapshot(taskManager, filePath);
+            return;
+        }
+
+        if (persistedRecords == null || !new File(filePath).exists()) {
+            saveSnapshot(taskManager, filePath);
+            persistedRecords = toRecords(taskManager);
+            persistedCategories = new ArrayList<>(taskManager.getCategoryList());
+            journalRecordCount = 0;
+            snapshotGeneration++;
+            return;
+        }
+
+        LinkedHashMap<String, String> currentRecords = toRecords(taskManager);
+        List<String> journalEntries = new ArrayList<>();
+        for (String key : persistedRecords.keySet()) {
+            if (!currentRecords.containsKey(key)) {
+                journalEntries.add(REMOVE_RECORD + " " + key);
+            }
+        }
+        for (Map.Entry<String, String> entry : currentRecords.entrySet()) {
+            if (!entry.getValue().equals(persistedRecords.get(entry.getKey()))) {
+                journalEntries.add(ADD_RECORD + " " + entry.getValue());
+            }
+        }
+
+        if (!journalEntries.isEmpty()) {
+            appendToJournal(getJournalFile(filePath), journalEntries);
+            journalRecordCount += journalEntries.size();
+        }
+        persistedRecords = currentRecords;
+    }
+
+    /**
+     * Returns the number of records in the journal that are not part of the base snapshot yet.
+     */
+    public synchronized int getJournalRecordCount() {
+        return journalRecordCount;
+    }
+
+    /**
+     * Folds the journal into a fresh base snapshot and truncates the journal.
+     * The snapshot is written from a consistent copy of the persisted state without holding the lock,
+     * so saves can carry on meanwhile; records appended during the compaction are kept in the new journal.
+     * A crash at any point leaves data that replays to the same state, as replaying is idempotent.
+     */
+    public void compact() throws IOException {
+        LinkedHashMap<String, String> records;
+        List<Category> categories;
+        long compactedJournalLength;
+        long generation;
+        File journalFile = getJournalFile(filePath);
+        synchronized (this) {
+            if (persistedRecords == null || journalRecordCount == 0) {
+                return;
+            }
+            records = new LinkedHashMap<>(persistedRecords);
+            categories = new ArrayList<>(persistedCategories);
+            compactedJournalLength = journalFile.length();
+            generation = snapshotGeneration;
+        }
+
+        File compactionFile = new File(filePath + COMPACTION_FILE_SUFFIX);
+        try {
+            FileUtil.createIfMissing(compactionFile);
+            XmlStreamFileStorage.saveDataToFile(compactionFile, toTaskManager(records, categories));
+        } catch (DataConversionException e) {
+            Files.deleteIfExists(compactionFile.toPath());
+            throw new IOException(e);
+        }
+
+        synchronized (this) {
+            if (generation != snapshotGeneration) {
+                logger.info("Data file " + filePath + " was rewritten during compaction, discarding compacted copy");
+                Files.deleteIfExists(compactionFile.toPath());
+                return;
+            }
+            byte[] journalTail = readFrom(journalFile, compactedJournalLength);
+            FileUtil.moveAtomically(compactionFile, new File(filePath));
+            AtomicFileWriter.markWritten(new File(filePath));
+            if (journalTail.length == 0) {
+                Files.deleteIfExists(journalFile.toPath());
+            } else {
+                File newJournalFile = new File(journalFile.getPath() + COMPACTION_FILE_SUFFIX);
+                Files.write(newJournalFile.toPath(), journalTail);
+                FileUtil.moveAtomically(newJournalFile, journalFile);
+            }
+            journalRecordCount = countLines(journalTail);
+            logger.info("Compacted journal of " + filePath + ", " + journalRecordCount + " records carried over");
+        }
+    }
+
+    private static byte[] readFrom(File file, long position) throws IOException {
+        if (!file.exists()) {
+            return new byte[0];
+        }
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            byte[] bytes = new byte[(int) Math.max(0, in.length() - position)];
+            in.seek(position);
+            in.readFully(bytes);
+            return bytes;
+        }
+    }
+
+    private static int countLines(byte[] bytes) {
+        int lines = 0;
+        for (byte b : bytes) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Writes a full snapshot of {@code taskManager} to {@code filePath} and discards the journal of that file.
+     */
+    private void saveSnapshot(ReadOnlyTaskManager taskManager, String filePath) throws IOException {
+        AtomicFileWriter.write(new File(filePath),
+            tempFile -> XmlStreamFileStorage.saveDataToFile(tempFile, taskManager));
+        Files.deleteIfExists(getJournalFile(filePath).toPath());
+    }
+
+    private void appendToJournal(File journalFile, List<String> journalEntries) throws IOException {
+        logger.fine("Appending " + journalEntries.size() + " records to " + journalFile);
+        try (BufferedWriter writer = Files.newBufferedWriter(journalFile.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (String entry : journalEntries) {
+                writer.write(entry);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Applies every record in {@code journalFile} to {@code records}.
+     * Replaying is idempotent: the state of a task is decided by the last record about it.
+     * A last record that does not end with a line separator, e.g. from a crash during an append, is incomplete
+     * and ignored, whether it adds or removes a task.
+     * @return the number of records replayed, or -1 if an incomplete last record was ignored.
+     * @throws DataConversionException if any other record is malformed.
+     */
+    private static int replayJournal(File journalFile, Map<String, String> records)
+            throws DataConversionException, IOException {
+        boolean isLastRecordComplete = endsWithLineSeparator(journalFile);
+        int replayedRecordCount = 0;
+        try (BufferedReader reader = Files.newBufferedReader(journalFile.toPath(), StandardCharsets.UTF_8)) {
+            String entry = reader.readLine();
+            while (entry != null) {
+                String nextEntry = reader.readLine();
+                if (nextEntry == null && !isLastRecordComplete) {
+                    logger.warning("Ignoring incomplete record at the end of " + journalFile);
+                    return -1;
+                }
+                try {
+                    applyJournalEntry(entry, records);
+                } catch (IllegalValueException e) {
+                    throw new DataConversionException(e);
+                }
+                replayedRecordCount++;
+                entry = nextEntry;
+            }
+        }
+        return replayedRecordCount;
+    }
+
+    private static boolean endsWithLineSeparator(File file) throws IOException {
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            if (in.length() == 0) {
+                return true;
+            }
+            in.seek(in.length() - 1);
+            return in.read() == '\n';
+        }
+    }
+
+    private static void applyJournalEntry(String entry, Map<String, String> records) throws IllegalValueException {
+        if (entry.length() < OPERATION_LENGTH) {
+            throw new IllegalValueException(String.format(TaskRecordCodec.MESSAGE_INVALID_RECORD, entry));
+        }
+        String operation = entry.substring(0, 1);
+        String content = entry.substring(OPERATION_LENGTH);
+        if (ADD_RECORD.equals(operation) && TaskRecordCodec.isWellFormed(content)) {
+            records.put(TaskRecordCodec.getKey(content), content);
+        } else if (REMOVE_RECORD.equals(operation)) {
+            records.remove(content);
+        } else {
+            throw new IllegalValueException(String.format(TaskRecordCodec.MESSAGE_INVALID_RECORD, entry));
+        }
+    }
+
+    static LinkedHashMap<String, String> toRecords(ReadOnlyTaskManager taskManager) {
+        LinkedHashMap<String, String> records = new LinkedHashMap<>();
+        for (ReadOnlyTask task : taskManager.getTaskList()) {
+            String record = TaskRecordCodec.encode(task);
+            records.put(TaskRecordCodec.getKey(record), record);
+        }
+        return records;
+    }
+
+    private static TaskManager toTaskManager(Map<String, String> records, List<Category> categories)
+            throws DataConversionException {
+        TaskManager taskManager = new TaskManager();
+        try {
+            taskManager.setCategories(categories);
+            for (String record : records.values()) {
+                taskManager.addTask(TaskRecordCodec.decode(record));
+            }
+        } catch (IllegalValueException e) {
+            throw new DataConversionException(e);
+        }
+        return taskManager;
+    }
+
+    private boolean isOwnFile(String filePath) {
+        return Objects.equals(new File(this.filePath).getAbsoluteFile(), new File(filePath).getAbsoluteFile());
+    }
+
+}
@@ -0,0 +1,321 @@
+package savvytodo.storage;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.Checksum;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import savvytodo.commons.exceptions.DataConversionException;
+import savvytodo.commons.exceptions.IllegalValueException;
+import savvytodo.commons.util.FileUtil;
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.TaskManagerSnapshot;
+import savvytodo.model.category.Category;
+import savvytodo.model.task.ReadOnlyTask;
+import savvytodo.model.task.Task;
+
+/**
+ * Stores taskManager data in a JSON file, one value at a time.
+ * Uses the same names as the xml format, with the tasks and categories in an object named after the xml root
+ * element, and the time each task was added. Converts between the file and {@link Task}s directly with Jackson's
+ * streaming parser and generator, so no tree or intermediate objects are built for the whole file.
+ */
+public class JsonFileStorage {
+
+    private static final String ROOT_FIELD = "taskmanager";
+    private static final String TASKS_FIELD = "tasks";
+    private static final String CATEGORIES_FIELD = "categories";
+    private static final String NAME_FIELD = "name";
+    private static final String PRIORITY_FIELD = "priority";
+    private static final String DESCRIPTION_FIELD = "description";
+    private static final String LOCATION_FIELD = "location";
+    private static final String DATE_TIME_FIELD = "dateTime";
+    private static final String START_VALUE_FIELD = "startValue";
+    private static final String END_VALUE_FIELD = "endValue";
+    private static final String RECURRENCE_FIELD = "recurrence";
+    private static final String OCCURENCES_FIELD = "occurences";
+    private static final String TYPE_FIELD = "type";
+    private static final String STATUS_FIELD = "status";
+    private static final String TIME_STAMP_FIELD = "timeStamp";
+    private static final String TASK_CATEGORIES_FIELD = "categorized";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Returns true if {@code file} holds task manager data in the JSON format.
+     */
+    public static boolean isJsonFile(File file) {
+        if (!FileUtil.isFileExists(file)) {
+            return false;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(DataFileCompression.openInput(file))) {
+            return parser.nextToken() == JsonToken.START_OBJECT && parser.nextToken() == JsonToken.FIELD_NAME
+                    && ROOT_FIELD.equals(parser.getCurrentName());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Saves the given taskManager data to the specified file, writing one task at a time.
+     */
+    public static void saveDataToFile(File file, ReadOnlyTaskManager taskManager) throws IOException {
+        saveDataToFile(file, taskManager, null);
+    }
+
+    /**
+     * Saves the given taskManager data to the specified file, updating {@code checksum} with the bytes written.
+     * @param checksum the checksum to update, or null to keep none.
+     */
+    public static void saveDataToFile(File file, ReadOnlyTaskManager taskManager, Checksum checksum)
+            throws IOException {
+        assert file != null;
+        assert taskManager != null;
+
+        try (OutputStream out = DataFileCompression.openOutput(file, checksum);
+                JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            generator.writeObjectFieldStart(ROOT_FIELD);
+            generator.writeArrayFieldStart(TASKS_FIELD);
+            for (ReadOnlyTask task : taskManager.getTaskList()) {
+                writeTask(generator, task);
+            }
+            generator.writeEndArray();
+            generator.writeArrayFieldStart(CATEGORIES_FIELD);
+            for (Category category : taskManager.getCategoryList()) {
+                generator.writeString(category.categoryName);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Returns task manager in the file.
+     * @throws FileNotFoundException if the file is missing.
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    public static ReadOnlyTaskManager loadDataFromSaveFile(File file) throws DataConversionException, IOException {
+        List<Task> tasks = new ArrayList<>();
+        List<Category> categories = new ArrayList<>();
+        readDataFromSaveFile(file, tasks::add, categories::add);
+        return new TaskManagerSnapshot(tasks, categories);
+    }
+
+    /**
+     * Reads the file one value at a time, passing each task and each category to the given handlers
+     * in the order they appear in the file.
+     * @throws FileNotFoundException if the file is missing.
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    public static void readDataFromSaveFile(File file, Consumer<Task> taskHandler,
+            Consumer<Category> categoryHandler) throws DataConversionException, IOException {
+        assert taskHandler != null;
+        readStoredData(file, StoredTask.converting(taskHandler), categoryHandler);
+    }
+
+    /**
+     * Reads the file one value at a time, passing each task to {@code taskSink} before it is converted
+     * and each category to {@code categoryHandler}, in the order they appear in the file.
+     * @throws FileNotFoundException if the file is missing.
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    static void readStoredData(File file, StoredTask.Sink taskSink, Consumer<Category> categoryHandler)
+            throws DataConversionException, IOException {
+        assert file != null;
+        assert taskSink != null && categoryHandler != null;
+
+        if (!FileUtil.isFileExists(file)) {
+            throw new FileNotFoundException("File not found : " + file.getAbsolutePath());
+        }
+
+        try (InputStream in = DataFileCompression.openInput(file);
+                JsonParser parser = JSON_FACTORY.createParser(in)) {
+            requireToken(parser, JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                parser.nextToken();
+                if (ROOT_FIELD.equals(parser.getCurrentName())) {
+                    readRoot(parser, taskSink, categoryHandler);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (JsonProcessingException | IllegalValueException e) {
+            throw new DataConversionException(e);
+        }
+    }
+
+    //================ Writing ==============================
+
+    private static void writeTask(JsonGenerator generator, ReadOnlyTask task) throws IOException {
+        generator.writeStartObject();
+        writeField(generator, NAME_FIELD, task.getName().name);
+        writeField(generator, PRIORITY_FIELD, task.getPriority().value);
+        writeField(generator, DESCRIPTION_FIELD, task.getDescription().value);
+        writeField(generator, LOCATION_FIELD, task.getLocation().value);
+
+        generator.writeObjectFieldStart(DATE_TIME_FIELD);
+        writeField(generator, START_VALUE_FIELD, task.getDateTime().startValue);
+        writeField(generator, END_VALUE_FIELD, task.getDateTime().endValue);
+        generator.writeEndObject();
+
+        generator.writeObjectFieldStart(RECURRENCE_FIELD);
+        generator.writeNumberField(OCCURENCES_FIELD, task.getRecurrence().occurences);
+        writeField(generator, TYPE_FIELD, task.getRecurrence().type.toString());
+        generator.writeEndObject();
+
+        generator.writeBooleanField(STATUS_FIELD, task.isCompleted().value);
+        writeField(generator, TIME_STAMP_FIELD, task.getTimeStamp().toString());
+        generator.writeArrayFieldStart(TASK_CATEGORIES_FIELD);
+        for (Category category : task.getCategories()) {
+            generator.writeString(category.categoryName);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a string field. Null values are left out, as they are in the xml format.
+     */
+    private static void writeField(JsonGenerator generator, String field, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value);
+        }
+    }
+
+    //================ Reading ==============================
+
+    /**
+     * Reads the object of the root field the parser is positioned at, passing its tasks to {@code taskSink}.
+     */
+    private static void readRoot(JsonParser parser, StoredTask.Sink taskSink, Consumer<Category> categoryHandler)
+            throws IOException, IllegalValueException {
+        requireToken(parser, JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (TASKS_FIELD.equals(field)) {
+                requireToken(parser, JsonToken.START_ARRAY);
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    requireToken(parser, JsonToken.START_OBJECT);
+                    taskSink.accept(readTask(parser));
+                }
+            } else if (CATEGORIES_FIELD.equals(field)) {
+                taskSink.flush();
+                for (String category : readStrings(parser)) {
+                    categoryHandler.accept(new Category(category));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        taskSink.flush();
+    }
+
+    /**
+     * Reads the task object the parser is positioned at, leaving the parser at its end.
+     * The values are only validated when the task is converted, see {@link StoredTask#toModelType()}.
+     */
+    private static StoredTask readTask(JsonParser parser) throws IOException {
+        StoredTask task = new StoredTask();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+            case NAME_FIELD:
+                task.name = parser.getValueAsString();
+                break;
+            case PRIORITY_FIELD:
+                task.priority = parser.getValueAsString();
+                break;
+            case DESCRIPTION_FIELD:
+                task.description = parser.getValueAsString();
+                break;
+            case LOCATION_FIELD:
+                task.location = parser.getValueAsString();
+                break;
+            case DATE_TIME_FIELD:
+                requireToken(parser, JsonToken.START_OBJECT);
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String dateTimeField = parser.getCurrentName();
+                    parser.nextToken();
+                    if (START_VALUE_FIELD.equals(dateTimeField)) {
+                        task.startValue = parser.getValueAsString();
+                    } else if (END_VALUE_FIELD.equals(dateTimeField)) {
+                        task.endValue = parser.getValueAsString();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                break;
+            case RECURRENCE_FIELD:
+                requireToken(parser, JsonToken.START_OBJECT);
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String recurrenceField = parser.getCurrentName();
+                    parser.nextToken();
+                    if (OCCURENCES_FIELD.equals(recurrenceField)) {
+                        task.occurences = parser.getValueAsInt();
+                    } else if (TYPE_FIELD.equals(recurrenceField)) {
+                        task.recurrenceType = parser.getValueAsString();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                break;
+            case STATUS_FIELD:
+                task.isCompleted = parser.getValueAsBoolean();
+                break;
+            case TIME_STAMP_FIELD:
+                task.timeStampValue = parser.getValueAsString();
+                break;
+            case TASK_CATEGORIES_FIELD:
+                task.categories.addAll(readStrings(parser));
+                break;
+            default:
+                parser.skipChildren();
+            }
+        }
+
+        return task;
+    }
+
+    /**
+     * Reads the array of strings the parser is positioned at, leaving the parser at its end.
+     */
+    private static List<String> readStrings(JsonParser parser) throws IOException {
+        requireToken(parser, JsonToken.START_ARRAY);
+        List<String> values = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            requireToken(parser, JsonToken.VALUE_STRING);
+            values.add(parser.getText());
+        }
+        return values;
+    }
+
+    /**
+     * Checks that the parser is at {@code expected}, reading the next token if it is not at any token yet.
+     */
+    private static void requireToken(JsonParser parser, JsonToken expected) throws IOException {
+        JsonToken token = parser.hasCurrentToken() ? parser.getCurrentToken() : parser.nextToken();
+        if (token != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but found " + token);
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package savvytodo.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.logging.Logger;
+import java.util.zip.Checksum;
+
+import savvytodo.commons.core.LogsCenter;
+import savvytodo.commons.exceptions.DataConversionException;
+import savvytodo.model.ReadOnlyTaskManager;
+
+/**
+ * A class to access TaskManager data stored as a JSON file on the hard disk.
+ * Files in the other formats can still be read, and are written back in the JSON format.
+ * @see JsonFileStorage
+ */
+public class JsonTaskManagerStorage implements DeferringTaskManagerStorage {
+
+    private static final Logger logger = LogsCenter.getLogger(JsonTaskManagerStorage.class);
+
+    private String filePath;
+    /** Reads the data file in two steps if it is large, null if it is always read in one. */
+    private final IncrementalTaskLoader incrementalLoader;
+
+    public JsonTaskManagerStorage(String filePath) {
+        this(filePath, false);
+    }
+
+    /**
+     * @param isLoadingIncrementally if true, a large data file is read in two steps, see {@link IncrementalTaskLoader}.
+     */
+    public JsonTaskManagerStorage(String filePath, boolean isLoadingIncrementally) {
+        this.filePath = filePath;
+        this.incrementalLoader = isLoadingIncrementally ? new IncrementalTaskLoader(filePath) : null;
+    }
+
+    public String getTaskManagerFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public Optional<ReadOnlyTaskManager> readTaskManager() throws DataConversionException, IOException {
+        return taskManagerBook(filePath);
+    }
+
+    /**
+     * Similar to {@link #readTaskManager()}
+     * @param filePath location of the data. Cannot be null
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    public Optional<ReadOnlyTaskManager> taskManagerBook(String filePath) throws DataConversionException,
+                                                                                 IOException {
+        assert filePath != null;
+
+        File taskManagerFile = new File(filePath);
+
+        if (!taskManagerFile.exists()) {
+            logger.info("TaskManager file "  + taskManagerFile + " not found");
+            return Optional.empty();
+        }
+
+        if (incrementalLoader != null && filePath.equals(this.filePath)) {
+            return Optional.of(incrementalLoader.read());
+        }
+        return Optional.of(TaskManagerFileConverter.readAnyFormat(taskManagerFile));
+    }
+
+    @Override
+    public Optional<ReadOnlyTaskManager> readWholeTaskManager() throws DataConversionException, IOException {
+        return new JsonTaskManagerStorage(filePath).readTaskManager();
+    }
+
+    @Override
+    public boolean hasDeferredTasks() {
+        return incrementalLoader != null && incrementalLoader.hasDeferredTasks();
+    }
+
+    @Override
+    public boolean isLoadingDeferredTasks() {
+        return incrementalLoader != null && incrementalLoader.isLoadingDeferredTasks();
+    }
+
+    @Override
+    public void markDeferredTasksMerged() {
+        if (incrementalLoader != null) {
+            incrementalLoader.markDeferredTasksMerged();
+        }
+    }
+
+    @Override
+    public void saveTaskManager(ReadOnlyTaskManager taskManager) throws IOException {
+        saveTaskManager(taskManager, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveTaskManager(ReadOnlyTaskManager)}
+     * @param filePath location of the data. Cannot be null
+     */
+    public void saveTaskManager(ReadOnlyTaskManager taskManager, String filePath) throws IOException {
+        assert taskManager != null;
+        assert filePath != null;
+
+        File file = new File(filePath);
+        // tasks of the data file that are still being read are not part of the data yet
+        ReadOnlyTaskManager data = filePath.equals(this.filePath) && incrementalLoader != null
+                ? incrementalLoader.addDeferredTasks(taskManager) : taskManager;
+        Checksum checksum = TaskIndexSidecar.newChecksum(data);
+        AtomicFileWriter.write(file, tempFile -> JsonFileStorage.saveDataToFile(tempFile, data, checksum));
+        TaskIndexSidecar.write(file, data, checksum);
+    }
+
+}
@@ -0,0 +1,198 @@
+package savvytodo.storage;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import savvytodo.commons.core.UnmodifiableObservableList;
+import savvytodo.commons.exceptions.DataConversionException;
+import savvytodo.commons.exceptions.IllegalValueException;
+import savvytodo.model.ReadOnlyTaskArchive;
+import savvytodo.model.category.Category;
+import savvytodo.model.task.ReadOnlyTask;
+import savvytodo.model.task.Task;
+import savvytodo.model.task.TaskType;
+
+/**
+ * A task manager backed by a memory-mapped binary file.
+ * Only the string table, the categories and the footer are read when the file is opened,
+ * each task is decoded the first time it is accessed and kept from then on.
+ * @see BinaryFileStorage
+ */
+public class MappedTaskManager implements ReadOnlyTaskArchive {
+
+    public static final String MESSAGE_NO_FOOTER = "Binary file %1$s has no record index, save it again to add one";
+    public static final String MESSAGE_CORRUPTED_RECORD = "Corrupted task record %1$d in %2$s";
+
+    private final File file;
+    private final MappedByteBuffer buffer;
+    private final BinaryFileStorage.DecodedStringTable stringTable;
+    private final ObservableList<Category> categories;
+    private final int taskCount;
+    private final int footerOffset;
+    private final Task[] decodedTasks;
+
+    private final ObservableList<ReadOnlyTask> tasks;
+    private final ObservableList<ReadOnlyTask> eventTasks;
+    private final ObservableList<ReadOnlyTask> floatingTasks;
+
+    /**
+     * Maps {@code file}, which must be a binary file of at least {@link BinaryFileStorage#FIRST_VERSION_WITH_FOOTER}.
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    public MappedTaskManager(File file) throws DataConversionException, IOException {
+        this.file = file;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            short version = BinaryFileStorage.readHeader(in, file);
+            if (version < BinaryFileStorage.FIRST_VERSION_WITH_FOOTER) {
+                throw new DataConversionException(
+                        new IllegalValueException(String.format(MESSAGE_NO_FOOTER, file)));
+            }
+            taskCount = in.readInt();
+            stringTable = BinaryFileStorage.readStringTable(in);
+            categories = new UnmodifiableObservableList<>(
+                    FXCollections.observableArrayList(BinaryFileStorage.readCategories(in, stringTable)));
+        } catch (IllegalValueException e) {
+            throw new DataConversionException(e);
+        }
+
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            FileChannel channel = randomAccessFile.getChannel();
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("File too large to be mapped: " + file);
+            }
+            // the mapping stays valid after the channel is closed, and is released once the buffer is collected
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            footerOffset = (int) buffer.getLong(buffer.capacity() - Long.BYTES);
+            if (footerOffset < 0 || (long) footerOffset + (long) taskCount * (Long.BYTES + 1) + Long.BYTES
+                    != buffer.capacity()) {
+                throw new DataConversionException(
+                        new IllegalValueException(String.format(MESSAGE_NO_FOOTER, file)));
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new DataConversionException(e);
+        }
+
+        decodedTasks = new Task[taskCount];
+        tasks = asObservableList(new TaskRecordList(null));
+        int typesOffset = footerOffset + taskCount * Long.BYTES;
+        int[] eventRecords = new int[taskCount];
+        int[] floatingRecords = new int[taskCount];
+        int eventCount = 0;
+        int floatingCount = 0;
+        for (int i = 0; i < taskCount; i++) {
+            if (buffer.get(typesOffset + i) == TaskType.EVENT.ordinal()) {
+                eventRecords[eventCount++] = i;
+            } else {
+                floatingRecords[floatingCount++] = i;
+            }
+        }
+        eventTasks = asObservableList(new TaskRecordList(Arrays.copyOf(eventRecords, eventCount)));
+        floatingTasks = asObservableList(
+                new TaskRecordList(Arrays.copyOf(floatingRecords, floatingCount)));
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    @Override
+    public ObservableList<ReadOnlyTask> getTaskList() {
+        return tasks;
+    }
+
+    @Override
+    public ObservableList<Category> getCategoryList() {
+        return categories;
+    }
+
+    @Override
+    public ObservableList<ReadOnlyTask> getEventTaskList() {
+        return eventTasks;
+    }
+
+    @Override
+    public ObservableList<ReadOnlyTask> getFloatingTaskList() {
+        return floatingTasks;
+    }
+
+    /**
+     * Returns the number of tasks that have been decoded so far.
+     */
+    public synchronized int getDecodedTaskCount() {
+        int count = 0;
+        for (Task task : decodedTasks) {
+            if (task != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return taskCount + " tasks, " + categories.size() + " categories (mapped from " + file + ")";
+    }
+
+    private synchronized Task getTask(int recordIndex) {
+        if (decodedTasks[recordIndex] == null) {
+            int recordOffset = (int) buffer.getLong(footerOffset + recordIndex * Long.BYTES);
+            ByteBuffer record = buffer.duplicate();
+            record.position(recordOffset + Integer.BYTES);
+            record.limit(recordOffset + Integer.BYTES + buffer.getInt(recordOffset));
+            try {
+                decodedTasks[recordIndex] = BinaryFileStorage.readTask(record, stringTable);
+            } catch (IllegalValueException | BufferUnderflowException | IndexOutOfBoundsException e) {
+                throw new IllegalStateException(String.format(MESSAGE_CORRUPTED_RECORD, recordIndex, file), e);
+            }
+        }
+        return decodedTasks[recordIndex];
+    }
+
+    private static ObservableList<ReadOnlyTask> asObservableList(List<ReadOnlyTask> list) {
+        return new UnmodifiableObservableList<>(FXCollections.observableList(list));
+    }
+
+    /**
+     * A list of some of the records in the file, which are decoded as they are accessed.
+     */
+    private class TaskRecordList extends AbstractList<ReadOnlyTask> {
+        private final int[] recordIndices;
+
+        /**
+         * @param recordIndices the records in this list, or null for all the records in the file.
+         */
+        TaskRecordList(int[] recordIndices) {
+            this.recordIndices = recordIndices;
+        }
+
+        @Override
+        public ReadOnlyTask get(int index) {
+            if (recordIndices == null) {
+                return getTask(index);
+            }
+            return getTask(recordIndices[index]);
+        }
+
+        @Override
+        public int size() {
+            return recordIndices == null ? taskCount : recordIndices.length;
+        }
+    }
+
+}
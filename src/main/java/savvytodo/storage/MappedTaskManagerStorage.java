@@ -0,0 +1,92 @@
+package savvytodo.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import savvytodo.commons.core.LogsCenter;
+import savvytodo.commons.exceptions.DataConversionException;
+import savvytodo.model.ReadOnlyTaskManager;
+
+/**
+ * Read-only access to TaskManager data stored as a binary file on the hard disk.
+ * The file is memory-mapped and its tasks are decoded on demand, so opening it takes about the same time
+ * however many tasks it holds. Files that cannot be mapped, such as xml or compressed files, are read as a whole
+ * instead.
+ *
+ * A file is never written to while it is mapped, as that would change the data under the mapping.
+ * The data can still be saved to other files, e.g. to make an editable copy.
+ */
+public class MappedTaskManagerStorage implements TaskManagerStorage {
+
+    public static final String MESSAGE_READ_ONLY = "%1$s is opened read-only, save it to another file to edit it";
+
+    private static final Logger logger = LogsCenter.getLogger(MappedTaskManagerStorage.class);
+
+    private String filePath;
+    private File mappedFile;
+
+    public MappedTaskManagerStorage(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public String getTaskManagerFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public Optional<ReadOnlyTaskManager> readTaskManager() throws DataConversionException, IOException {
+        return taskManagerBook(filePath);
+    }
+
+    /**
+     * Similar to {@link #readTaskManager()}
+     * @param filePath location of the data. Cannot be null
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    public Optional<ReadOnlyTaskManager> taskManagerBook(String filePath) throws DataConversionException,
+                                                                                 IOException {
+        assert filePath != null;
+
+        File taskManagerFile = new File(filePath);
+
+        if (!taskManagerFile.exists()) {
+            logger.info("TaskManager file "  + taskManagerFile + " not found");
+            return Optional.empty();
+        }
+
+        if (BinaryFileStorage.isBinaryFile(taskManagerFile) && !DataFileCompression.isCompressed(taskManagerFile)) {
+            try {
+                MappedTaskManager taskManager = new MappedTaskManager(taskManagerFile);
+                mappedFile = taskManagerFile.getAbsoluteFile();
+                return Optional.of(taskManager);
+            } catch (DataConversionException e) {
+                logger.info("Could not map " + taskManagerFile + ", reading it as a whole: " + e.getMessage());
+            }
+        }
+        return Optional.of(TaskManagerFileConverter.readAnyFormat(taskManagerFile));
+    }
+
+    @Override
+    public void saveTaskManager(ReadOnlyTaskManager taskManager) throws IOException {
+        saveTaskManager(taskManager, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveTaskManager(ReadOnlyTaskManager)}
+     * @param filePath location of the data. Cannot be null
+     * @throws IOException if {@code filePath} is a file mapped by this storage.
+     */
+    public void saveTaskManager(ReadOnlyTaskManager taskManager, String filePath) throws IOException {
+        assert taskManager != null;
+        assert filePath != null;
+
+        File file = new File(filePath);
+        if (file.getAbsoluteFile().equals(mappedFile)) {
+            throw new IOException(String.format(MESSAGE_READ_ONLY, filePath));
+        }
+        AtomicFileWriter.write(file, tempFile -> BinaryFileStorage.saveDataToFile(tempFile, taskManager));
+    }
+
+}
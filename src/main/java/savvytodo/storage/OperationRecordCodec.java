@@ -0,0 +1,205 @@
+package savvytodo.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import savvytodo.commons.exceptions.IllegalValueException;
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.TaskManagerSnapshot;
+import savvytodo.model.category.Category;
+import savvytodo.model.operations.Operation;
+import savvytodo.model.operations.RedoMarkOperation;
+import savvytodo.model.operations.UndoAddOperation;
+import savvytodo.model.operations.UndoClearOperation;
+import savvytodo.model.operations.UndoDeleteOperation;
+import savvytodo.model.operations.UndoEditOperation;
+import savvytodo.model.operations.UndoMarkOperation;
+import savvytodo.model.task.ReadOnlyTask;
+import savvytodo.model.task.Task;
+
+/**
+ * Encodes an undo or redo Operation as a single line of text and back.
+ * A record starts with a letter for the kind of operation, followed by its fields: numbers end with ';',
+ * texts are prefixed by their length and ':'. Tasks are kept as {@link TaskRecordCodec} records.
+ * Only what the operation needs to be applied is kept, e.g. a clear only keeps the tasks it restores.
+ */
+public class OperationRecordCodec {
+
+    public static final String MESSAGE_INVALID_RECORD = "Invalid operation record: %1$s";
+
+    private static final char UNDO_ADD = 'A';
+    private static final char UNDO_DELETE = 'D';
+    private static final char UNDO_EDIT = 'E';
+    private static final char UNDO_CLEAR = 'C';
+    private static final char UNDO_MARK = 'M';
+    private static final char REDO_MARK = 'N';
+    private static final char NUMBER_END = ';';
+    private static final char LENGTH_END = ':';
+
+    /**
+     * Returns the record of {@code operation}.
+     * @throws IllegalArgumentException if it is not one of the operations kept by the undo history.
+     */
+    public static String encode(Operation operation) {
+        StringBuilder sb = new StringBuilder();
+        if (operation instanceof UndoAddOperation) {
+            sb.append(UNDO_ADD);
+            appendTask(sb, ((UndoAddOperation) operation).getTask());
+        } else if (operation instanceof UndoDeleteOperation) {
+            sb.append(UNDO_DELETE);
+            appendTask(sb, ((UndoDeleteOperation) operation).getTask());
+        } else if (operation instanceof UndoEditOperation) {
+            UndoEditOperation edit = (UndoEditOperation) operation;
+            sb.append(UNDO_EDIT);
+            appendNumber(sb, edit.getIndex());
+            appendTask(sb, edit.getUndoTask());
+            appendTask(sb, edit.getRedoTask());
+        } else if (operation instanceof UndoClearOperation) {
+            UndoClearOperation clear = (UndoClearOperation) operation;
+            sb.append(UNDO_CLEAR);
+            appendData(sb, clear.getRestoredData());
+            appendData(sb, clear.getReplacedData());
+        } else if (operation instanceof UndoMarkOperation) {
+            sb.append(UNDO_MARK);
+            appendNumber(sb, ((UndoMarkOperation) operation).getNumToUnmark());
+        } else if (operation instanceof RedoMarkOperation) {
+            sb.append(REDO_MARK);
+            appendNumber(sb, ((RedoMarkOperation) operation).getNumToUnmark());
+        } else {
+            throw new IllegalArgumentException("Unknown operation " + operation.getClass().getName());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Converts an encoded record back into an Operation.
+     * @throws IllegalValueException if the record is malformed or any of its tasks is invalid.
+     */
+    public static Operation decode(String record) throws IllegalValueException {
+        if (record.isEmpty()) {
+            throw new IllegalValueException(String.format(MESSAGE_INVALID_RECORD, record));
+        }
+        RecordReader reader = new RecordReader(record);
+        Operation operation;
+        switch (record.charAt(0)) {
+        case UNDO_ADD:
+            operation = new UndoAddOperation(reader.readTask());
+            break;
+        case UNDO_DELETE:
+            operation = new UndoDeleteOperation(reader.readTask());
+            break;
+        case UNDO_EDIT:
+            operation = new UndoEditOperation(reader.readNumber(), reader.readTask(), reader.readTask());
+            break;
+        case UNDO_CLEAR:
+            operation = new UndoClearOperation(reader.readData(), reader.readData());
+            break;
+        case UNDO_MARK:
+            operation = new UndoMarkOperation(reader.readNumber());
+            break;
+        case REDO_MARK:
+            operation = new RedoMarkOperation(reader.readNumber());
+            break;
+        default:
+            throw new IllegalValueException(String.format(MESSAGE_INVALID_RECORD, record));
+        }
+        reader.checkAtEnd();
+        return operation;
+    }
+
+    private static void appendNumber(StringBuilder sb, int number) {
+        sb.append(number).append(NUMBER_END);
+    }
+
+    private static void appendText(StringBuilder sb, String text) {
+        sb.append(text.length()).append(LENGTH_END).append(text);
+    }
+
+    private static void appendTask(StringBuilder sb, ReadOnlyTask task) {
+        appendText(sb, TaskRecordCodec.encode(task));
+    }
+
+    private static void appendData(StringBuilder sb, ReadOnlyTaskManager data) {
+        appendNumber(sb, data.getTaskList().size());
+        for (ReadOnlyTask task : data.getTaskList()) {
+            appendTask(sb, task);
+        }
+        appendNumber(sb, data.getCategoryList().size());
+        for (Category category : data.getCategoryList()) {
+            appendText(sb, category.categoryName);
+        }
+    }
+
+    /**
+     * Reads the fields of a record one after the other.
+     */
+    private static class RecordReader {
+        private final String record;
+        private int position = 1;
+
+        RecordReader(String record) {
+            this.record = record;
+        }
+
+        int readNumber() throws IllegalValueException {
+            int end = record.indexOf(NUMBER_END, position);
+            if (end < 0) {
+                throw invalidRecord();
+            }
+            try {
+                int number = Integer.parseInt(record.substring(position, end));
+                position = end + 1;
+                return number;
+            } catch (NumberFormatException e) {
+                throw invalidRecord();
+            }
+        }
+
+        String readText() throws IllegalValueException {
+            int end = record.indexOf(LENGTH_END, position);
+            if (end < 0) {
+                throw invalidRecord();
+            }
+            int length;
+            try {
+                length = Integer.parseInt(record.substring(position, end));
+            } catch (NumberFormatException e) {
+                throw invalidRecord();
+            }
+            if (length < 0 || end + 1 + length > record.length()) {
+                throw invalidRecord();
+            }
+            position = end + 1 + length;
+            return record.substring(end + 1, position);
+        }
+
+        Task readTask() throws IllegalValueException {
+            return TaskRecordCodec.decode(readText());
+        }
+
+        ReadOnlyTaskManager readData() throws IllegalValueException {
+            int taskCount = readNumber();
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < taskCount; i++) {
+                tasks.add(readTask());
+            }
+            int categoryCount = readNumber();
+            List<Category> categories = new ArrayList<>();
+            for (int i = 0; i < categoryCount; i++) {
+                categories.add(new Category(readText()));
+            }
+            return new TaskManagerSnapshot(tasks, categories);
+        }
+
+        void checkAtEnd() throws IllegalValueException {
+            if (position != record.length()) {
+                throw invalidRecord();
+            }
+        }
+
+        private IllegalValueException invalidRecord() {
+            return new IllegalValueException(String.format(MESSAGE_INVALID_RECORD, record));
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+package savvytodo.storage;
+
+import java.time.DateTimeException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import savvytodo.commons.exceptions.IllegalValueException;
+import savvytodo.model.task.Task;
+
+/**
+ * Converts stored tasks into {@link Task}s, validating them on all cores of the fork-join common pool.
+ * The tasks keep their order, and if several of them are invalid the error of the first one is reported,
+ * however the work happened to be split.
+ */
+public class ParallelTaskConverter {
+
+    /** Lists shorter than this are converted on the calling thread, as splitting them costs more than it saves. */
+    public static final int MIN_PARALLEL_SIZE = 256;
+
+    /**
+     * Converts one stored task into a {@link Task}.
+     * @param <S> the type of the stored task
+     */
+    @FunctionalInterface
+    public interface Conversion<S> {
+        Task toModelType(S storedTask) throws IllegalValueException;
+    }
+
+    /**
+     * Returns the {@link Task}s for {@code storedTasks}, in the same order.
+     * @throws IllegalValueException the error of the first stored task that is not valid.
+     */
+    public static <S> List<Task> convert(List<S> storedTasks, Conversion<S> conversion)
+            throws IllegalValueException {
+        assert storedTasks != null && conversion != null;
+
+        int size = storedTasks.size();
+        Task[] tasks = new Task[size];
+        IllegalValueException[] errors = new IllegalValueException[size];
+        IntStream indices = IntStream.range(0, size);
+        if (size >= MIN_PARALLEL_SIZE) {
+            indices = indices.parallel();
+        }
+        indices.forEach(i -> convert(storedTasks.get(i), conversion, tasks, errors, i));
+
+        // the stream has finished, so all the array writes are visible here
+        for (IllegalValueException error : errors) {
+            if (error != null) {
+                throw error;
+            }
+        }
+        return Arrays.asList(tasks);
+    }
+
+    private static <S> void convert(S storedTask, Conversion<S> conversion, Task[] tasks,
+            IllegalValueException[] errors, int index) {
+        try {
+            tasks[index] = conversion.toModelType(storedTask);
+        } catch (IllegalValueException e) {
+            errors[index] = e;
+        } catch (DateTimeException e) {
+            errors[index] = new IllegalValueException(e.getMessage());
+        }
+    }
+
+}
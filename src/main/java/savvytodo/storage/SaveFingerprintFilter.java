@@ -0,0 +1,133 @@
+package savvytodo.storage;
+
+import java.io.File;
+
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.category.Category;
+import savvytodo.model.task.ReadOnlyTask;
+
+/**
+ * Remembers a fingerprint of the data last written to a task manager file, so that saving the same data
+ * to the same file again can be skipped without touching the disk.
+ * Counts the saves that were written and the ones that were skipped.
+ */
+public class SaveFingerprintFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    /** Folded in for a null string, so that null and empty strings have different fingerprints. */
+    private static final long NULL_MARKER = 0x9e3779b97f4a7c15L;
+
+    private File lastSavedFile;
+    private long lastSavedFingerprint;
+    private long lastSavedModified;
+    private long lastSavedLength;
+
+    private long writtenSaveCount;
+    private long skippedSaveCount;
+
+    /**
+     * Returns true if {@code fingerprint} is that of the data last written to {@code file},
+     * and the file has not been changed since. Counts the save as skipped if so.
+     */
+    public synchronized boolean isUnchanged(File file, long fingerprint) {
+        File savedFile = file.getAbsoluteFile();
+        if (!savedFile.equals(lastSavedFile) || fingerprint != lastSavedFingerprint
+                || savedFile.lastModified() != lastSavedModified || savedFile.length() != lastSavedLength) {
+            return false;
+        }
+        skippedSaveCount++;
+        return true;
+    }
+
+    /**
+     * Records that data with {@code fingerprint} has just been written to {@code file}.
+     */
+    public synchronized void recordWrite(File file, long fingerprint) {
+        lastSavedFile = file.getAbsoluteFile();
+        lastSavedFingerprint = fingerprint;
+        lastSavedModified = lastSavedFile.lastModified();
+        lastSavedLength = lastSavedFile.length();
+        writtenSaveCount++;
+    }
+
+    /**
+     * Returns true if {@code file} is the file data was last written to, and it has not been changed since.
+     * Waits for a write that is being recorded meanwhile.
+     */
+    public synchronized boolean isLastWritten(File file) {
+        File savedFile = file.getAbsoluteFile();
+        return savedFile.equals(lastSavedFile) && savedFile.lastModified() == lastSavedModified
+                && savedFile.length() == lastSavedLength;
+    }
+
+    /**
+     * Forgets the data last written, so that the next save is written whatever its data.
+     */
+    public synchronized void forget() {
+        lastSavedFile = null;
+    }
+
+    public synchronized long getWrittenSaveCount() {
+        return writtenSaveCount;
+    }
+
+    public synchronized long getSkippedSaveCount() {
+        return skippedSaveCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return writtenSaveCount + " saves written, " + skippedSaveCount + " skipped";
+    }
+
+    /**
+     * Returns a 64-bit fingerprint of everything in {@code taskManager} that is saved to a file.
+     * The fingerprint is folded task by task, so it changes if tasks are reordered.
+     */
+    public static long fingerprint(ReadOnlyTaskManager taskManager) {
+        long hash = FNV_OFFSET_BASIS;
+        for (ReadOnlyTask task : taskManager.getTaskList()) {
+            hash = fold(hash, task.getName().name);
+            hash = fold(hash, task.getPriority().value);
+            hash = fold(hash, task.getDescription().value);
+            hash = fold(hash, task.getLocation().value);
+            hash = fold(hash, task.getDateTime().startValue);
+            hash = fold(hash, task.getDateTime().endValue);
+            hash = fold(hash, task.getRecurrence().type.toString());
+            hash = fold(hash, task.getRecurrence().occurences);
+            hash = fold(hash, task.isCompleted().value ? 1 : 0);
+            hash = fold(hash, task.getTimeStamp().toString());
+            for (Category category : task.getCategories()) {
+                hash = fold(hash, category.categoryName);
+            }
+            // ends the task, so that categories cannot be mistaken for the next task's name
+            hash = fold(hash, -1);
+        }
+        for (Category category : taskManager.getCategoryList()) {
+            hash = fold(hash, category.categoryName);
+        }
+        return hash;
+    }
+
+    private static long fold(long hash, String value) {
+        if (value == null) {
+            return fold(hash, NULL_MARKER);
+        }
+        long result = hash;
+        for (int i = 0; i < value.length(); i++) {
+            result = (result ^ value.charAt(i)) * FNV_PRIME;
+        }
+        // the length ends the string, so that adjacent strings cannot run into each other
+        return fold(result, value.length());
+    }
+
+    private static long fold(long hash, long value) {
+        long result = hash;
+        for (int i = 0; i < Long.BYTES; i++) {
+            result = (result ^ ((value >>> (i * Byte.SIZE)) & 0xff)) * FNV_PRIME;
+        }
+        return result;
+    }
+
+}
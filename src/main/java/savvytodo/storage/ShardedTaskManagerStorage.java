@@ -0,0 +1,463 @@
+package savvytodo.storage;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+import savvytodo.commons.core.EventsCenter;
+import savvytodo.commons.core.LogsCenter;
+import savvytodo.commons.events.storage.DeferredTasksLoadFailedEvent;
+import savvytodo.commons.events.storage.DeferredTasksLoadedEvent;
+import savvytodo.commons.exceptions.DataConversionException;
+import savvytodo.commons.util.FileUtil;
+import savvytodo.commons.util.JsonUtil;
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.TaskManagerSnapshot;
+import savvytodo.model.category.Category;
+import savvytodo.model.task.ReadOnlyTask;
+
+/**
+ * A class to access TaskManager data split by month into shard files on the hard disk.
+ * Events and deadlines are kept in one binary shard per month of their end date, floating tasks and the
+ * categories in a shard of their own. The data file is a small json manifest listing the shards, which are
+ * kept in a directory next to it. Only the shards whose data changed are written on a save.
+ *
+ * The data file of the storage is read in two steps if older shards are deferred: the floating shard and the
+ * shards of the current and later months are read right away, the shards of earlier months on a background
+ * thread, after which a {@link DeferredTasksLoadedEvent} is raised with their tasks.
+ * Until {@link #markDeferredTasksMerged()} is called, saves keep the tasks of the deferred shards,
+ * as they are not part of the saved data yet. The deferred shard files are left as they were read meanwhile,
+ * and a deferred month that gets tasks of its own is written to another file.
+ * Files in the other formats can still be read, and are written back as shards.
+ */
+public class ShardedTaskManagerStorage implements DeferringTaskManagerStorage {
+
+    public static final String SHARD_DIRECTORY_SUFFIX = ".shards";
+    public static final String FLOATING_SHARD_KEY = "floating";
+
+    private static final Logger logger = LogsCenter.getLogger(ShardedTaskManagerStorage.class);
+
+    private static final String SHARD_FILE_SUFFIX = ".bin";
+    private static final String MERGED_SHARD_FILE_SUFFIX = "-merged" + SHARD_FILE_SUFFIX;
+    private static final DateTimeFormatter SHARD_KEY_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final int MANIFEST_VERSION = 1;
+
+    private String filePath;
+    private final boolean isDeferringOlderShards;
+
+    /** The shards of the data file that were deferred by the last read and are not merged yet, by key. */
+    private final Map<String, ShardEntry> deferredShards = new HashMap<>();
+    /** Counts the reads of the data file, so that the deferred shards of an earlier read are not raised. */
+    private int readCount;
+    /** True if the deferred shards of the last read could not be read. */
+    private boolean isDeferredLoadFailed;
+
+    public ShardedTaskManagerStorage(String filePath) {
+        this(filePath, false);
+    }
+
+    /**
+     * @param isDeferringOlderShards if true, shards of months before the current one are read in the background
+     *          when the data file is read.
+     */
+    public ShardedTaskManagerStorage(String filePath, boolean isDeferringOlderShards) {
+        this.filePath = filePath;
+        this.isDeferringOlderShards = isDeferringOlderShards;
+    }
+
+    public String getTaskManagerFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Returns the directory the shards listed in the manifest {@code manifestFile} are kept in.
+     */
+    public static File getShardDirectory(File manifestFile) {
+        return new File(manifestFile.getPath() + SHARD_DIRECTORY_SUFFIX);
+    }
+
+    /**
+     * Returns the key of the shard {@code task} is kept in, which is the month of its end date,
+     * or {@link #FLOATING_SHARD_KEY} if it has no dates.
+     */
+    public static String getShardKey(ReadOnlyTask task) {
+        LocalDateTime date = task.getDateTime().getEndDate();
+        if (date == null) {
+            date = task.getDateTime().getStartDate();
+        }
+        return date == null ? FLOATING_SHARD_KEY : date.format(SHARD_KEY_FORMAT);
+    }
+
+    /**
+     * Returns true if the shard with {@code shardKey} is read in the background,
+     * i.e. it is the shard of a month before {@code currentMonth}.
+     */
+    static boolean isDeferredShard(String shardKey, YearMonth currentMonth) {
+        return !FLOATING_SHARD_KEY.equals(shardKey) && shardKey.compareTo(currentMonth.format(SHARD_KEY_FORMAT)) < 0;
+    }
+
+    /**
+     * Returns true if the shards of the last read that were deferred have not been merged yet.
+     */
+    @Override
+    public synchronized boolean hasDeferredTasks() {
+        return !deferredShards.isEmpty();
+    }
+
+    @Override
+    public synchronized boolean isLoadingDeferredTasks() {
+        return !deferredShards.isEmpty() && !isDeferredLoadFailed;
+    }
+
+    /**
+     * Records that the tasks of the deferred shards are now part of the data that is saved,
+     * so saves no longer need to keep them.
+     */
+    @Override
+    public synchronized void markDeferredTasksMerged() {
+        deferredShards.clear();
+    }
+
+    @Override
+    public Optional<ReadOnlyTaskManager> readWholeTaskManager() throws DataConversionException, IOException {
+        return new ShardedTaskManagerStorage(filePath).readTaskManager();
+    }
+
+    @Override
+    public Optional<ReadOnlyTaskManager> readTaskManager() throws DataConversionException, IOException {
+        return taskManagerBook(filePath);
+    }
+
+    /**
+     * Similar to {@link #readTaskManager()}
+     * Shards are only deferred when reading the data file of this storage.
+     * @param filePath location of the data. Cannot be null
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    public Optional<ReadOnlyTaskManager> taskManagerBook(String filePath) throws DataConversionException,
+                                                                                 IOException {
+        assert filePath != null;
+
+        File manifestFile = new File(filePath);
+
+        if (!manifestFile.exists()) {
+            logger.info("TaskManager file "  + manifestFile + " not found");
+            return Optional.empty();
+        }
+
+        if (!isManifest(manifestFile)) {
+            return Optional.of(TaskManagerFileConverter.readAnyFormat(manifestFile));
+        }
+
+        Manifest manifest = readManifest(manifestFile);
+        boolean isDeferring = isDeferringOlderShards && isDataFile(manifestFile);
+        YearMonth currentMonth = YearMonth.now();
+        List<ReadOnlyTask> tasks = new ArrayList<>();
+        List<Category> categories = new ArrayList<>();
+        List<ShardEntry> deferredShards = new ArrayList<>();
+        for (ShardEntry shard : manifest.shards) {
+            if (isDeferring && isDeferredShard(shard.key, currentMonth)) {
+                deferredShards.add(shard);
+                continue;
+            }
+            ReadOnlyTaskManager shardData = readShard(manifestFile, shard);
+            tasks.addAll(shardData.getTaskList());
+            categories.addAll(shardData.getCategoryList());
+        }
+
+        if (isDeferring) {
+            deferShards(manifestFile, deferredShards);
+        }
+        logger.fine("Read " + tasks.size() + " tasks from " + (manifest.shards.size() - deferredShards.size())
+                + " shards of " + manifestFile + ", " + deferredShards.size() + " shards deferred");
+        return Optional.of(new TaskManagerSnapshot(tasks, categories));
+    }
+
+    /**
+     * Records {@code shards} as deferred and starts reading them in the background.
+     */
+    private void deferShards(File manifestFile, List<ShardEntry> shards) {
+        int thisRead;
+        synchronized (this) {
+            deferredShards.clear();
+            isDeferredLoadFailed = false;
+            for (ShardEntry shard : shards) {
+                deferredShards.put(shard.key, shard);
+            }
+            thisRead = ++readCount;
+        }
+        if (shards.isEmpty()) {
+            return;
+        }
+        Thread loader = new Thread(() -> loadDeferredShards(manifestFile, shards, thisRead), "task-shard-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void loadDeferredShards(File manifestFile, List<ShardEntry> shards, int thisRead) {
+        List<ReadOnlyTask> tasks = new ArrayList<>();
+        try {
+            for (ShardEntry shard : shards) {
+                tasks.addAll(readShard(manifestFile, shard).getTaskList());
+            }
+        } catch (DataConversionException | IOException e) {
+            // the shards are kept by saves while they are deferred, so nothing is lost
+            logger.warning("Could not read older tasks from " + manifestFile + ": " + e);
+            synchronized (this) {
+                if (thisRead != readCount) {
+                    return;
+                }
+                isDeferredLoadFailed = true;
+            }
+            EventsCenter.getInstance().post(new DeferredTasksLoadFailedEvent(filePath, e));
+            return;
+        }
+        synchronized (this) {
+            if (thisRead != readCount) {
+                return;
+            }
+        }
+        logger.fine("Read " + tasks.size() + " tasks from " + shards.size() + " deferred shards of " + manifestFile);
+        EventsCenter.getInstance().post(new DeferredTasksLoadedEvent(filePath,
+                new TaskManagerSnapshot(tasks, Collections.emptyList())));
+    }
+
+    @Override
+    public void saveTaskManager(ReadOnlyTaskManager taskManager) throws IOException {
+        saveTaskManager(taskManager, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveTaskManager(ReadOnlyTaskManager)}
+     * Shards are written before the manifest, and each file is replaced in one step once it has been written
+     * in full, so the data file always lists a complete set of shards.
+     * @param filePath location of the data. Cannot be null
+     */
+    public synchronized void saveTaskManager(ReadOnlyTaskManager taskManager, String filePath) throws IOException {
+        assert taskManager != null;
+        assert filePath != null;
+
+        File manifestFile = new File(filePath);
+        Map<String, List<ReadOnlyTask>> shardTasks = groupByShard(taskManager.getTaskList());
+        shardTasks.computeIfAbsent(FLOATING_SHARD_KEY, key -> new ArrayList<>());
+
+        Map<String, ShardEntry> oldShards = new HashMap<>();
+        if (manifestFile.exists() && isManifest(manifestFile)) {
+            try {
+                for (ShardEntry shard : readManifest(manifestFile).shards) {
+                    oldShards.put(shard.key, shard);
+                }
+            } catch (DataConversionException e) {
+                logger.warning("Rewriting all shards of " + manifestFile + ", as its manifest could not be read: " + e);
+            }
+        }
+
+        Manifest manifest = new Manifest();
+        int writtenCount = 0;
+        Map<String, ShardEntry> keptShards = getDeferredShardsToKeep(manifestFile, shardTasks);
+        manifest.shards.addAll(keptShards.values());
+        for (Map.Entry<String, List<ReadOnlyTask>> entry : shardTasks.entrySet()) {
+            String key = entry.getKey();
+            if (keptShards.containsKey(key)) {
+                continue;
+            }
+            ReadOnlyTaskManager shardData = new TaskManagerSnapshot(entry.getValue(),
+                    FLOATING_SHARD_KEY.equals(key) ? taskManager.getCategoryList() : Collections.emptyList());
+            long fingerprint = SaveFingerprintFilter.fingerprint(shardData);
+            ShardEntry oldShard = oldShards.get(key);
+            if (oldShard != null && oldShard.fingerprint == fingerprint
+                    && getShardFile(manifestFile, oldShard).exists()) {
+                manifest.shards.add(oldShard);
+                continue;
+            }
+            ShardEntry shard = new ShardEntry(key, getShardFileName(manifestFile, key),
+                    shardData.getTaskList().size(), fingerprint);
+            writeShard(getShardFile(manifestFile, shard), shardData);
+            manifest.shards.add(shard);
+            writtenCount++;
+        }
+        Collections.sort(manifest.shards, (shard, otherShard) -> shard.key.compareTo(otherShard.key));
+
+        writeManifest(manifestFile, manifest);
+        deleteUnusedShards(manifestFile, manifest);
+        logger.fine("Wrote " + writtenCount + " of " + manifest.shards.size() + " shards of " + manifestFile);
+    }
+
+    /**
+     * Returns the deferred shards of the data file that are saved unchanged to {@code manifestFile}.
+     * Tasks of the data being saved that belong in any other deferred shard are added to the tasks of that shard
+     * as it was read in {@code shardTasks}, so that the shard is written with both.
+     */
+    private Map<String, ShardEntry> getDeferredShardsToKeep(File manifestFile,
+            Map<String, List<ReadOnlyTask>> shardTasks) throws IOException {
+        Map<String, ShardEntry> keptShards = new HashMap<>();
+        File dataFile = new File(filePath);
+        boolean isDataFile = isDataFile(manifestFile);
+        try {
+            for (ShardEntry shard : deferredShards.values()) {
+                List<ReadOnlyTask> tasks = shardTasks.get(shard.key);
+                if (isDataFile && tasks == null) {
+                    keptShards.put(shard.key, shard);
+                    continue;
+                }
+                List<ReadOnlyTask> mergedTasks = new ArrayList<>(readShard(dataFile, shard).getTaskList());
+                if (tasks != null) {
+                    for (ReadOnlyTask task : tasks) {
+                        if (!mergedTasks.contains(task)) {
+                            mergedTasks.add(task);
+                        }
+                    }
+                }
+                shardTasks.put(shard.key, mergedTasks);
+            }
+        } catch (DataConversionException e) {
+            throw new IOException("Could not keep the older tasks of " + dataFile, e);
+        }
+        return keptShards;
+    }
+
+    /**
+     * Returns the name of the file the shard with {@code key} is written to, which is not the file of
+     * a deferred shard of the data file, as that is still read as it was.
+     */
+    private String getShardFileName(File manifestFile, String key) {
+        String fileName = key + SHARD_FILE_SUFFIX;
+        ShardEntry deferredShard = deferredShards.get(key);
+        if (isDataFile(manifestFile) && deferredShard != null && deferredShard.fileName.equals(fileName)) {
+            return key + MERGED_SHARD_FILE_SUFFIX;
+        }
+        return fileName;
+    }
+
+    private static Map<String, List<ReadOnlyTask>> groupByShard(List<? extends ReadOnlyTask> tasks) {
+        Map<String, List<ReadOnlyTask>> shardTasks = new TreeMap<>();
+        for (ReadOnlyTask task : tasks) {
+            shardTasks.computeIfAbsent(getShardKey(task), key -> new ArrayList<>()).add(task);
+        }
+        return shardTasks;
+    }
+
+    private boolean isDataFile(File file) {
+        return file.getAbsoluteFile().equals(new File(filePath).getAbsoluteFile());
+    }
+
+    private static File getShardFile(File manifestFile, ShardEntry shard) {
+        return new File(getShardDirectory(manifestFile), shard.fileName);
+    }
+
+    private static ReadOnlyTaskManager readShard(File manifestFile, ShardEntry shard)
+            throws DataConversionException, IOException {
+        File shardFile = getShardFile(manifestFile, shard);
+        if (!shardFile.exists()) {
+            throw new DataConversionException(new IOException("Shard " + shardFile + " not found"));
+        }
+        return TaskManagerFileConverter.readAnyFormat(shardFile);
+    }
+
+    private static void writeShard(File shardFile, ReadOnlyTaskManager shardData) throws IOException {
+        AtomicFileWriter.write(shardFile, tempFile -> BinaryFileStorage.saveDataToFile(tempFile, shardData));
+    }
+
+    /**
+     * Deletes the shard files of {@code manifestFile} that {@code manifest} no longer lists,
+     * except those of the deferred shards of the data file.
+     */
+    private void deleteUnusedShards(File manifestFile, Manifest manifest) {
+        Set<String> usedFileNames = new HashSet<>();
+        for (ShardEntry shard : manifest.shards) {
+            usedFileNames.add(shard.fileName);
+        }
+        if (isDataFile(manifestFile)) {
+            for (ShardEntry shard : deferredShards.values()) {
+                usedFileNames.add(shard.fileName);
+            }
+        }
+        File[] shardFiles = getShardDirectory(manifestFile).listFiles();
+        if (shardFiles == null) {
+            return;
+        }
+        for (File shardFile : shardFiles) {
+            String fileName = shardFile.getName();
+            if (fileName.endsWith(SHARD_FILE_SUFFIX) && !fileName.startsWith(FileUtil.TEMP_FILE_PREFIX)
+                    && !usedFileNames.contains(fileName) && !shardFile.delete()) {
+                logger.warning("Could not delete unused shard " + shardFile);
+            }
+        }
+    }
+
+    /**
+     * Returns true if {@code file} is a shard manifest rather than a data file in another format.
+     */
+    private static boolean isManifest(File file) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            int firstByte = in.read();
+            while (firstByte != -1 && Character.isWhitespace(firstByte)) {
+                firstByte = in.read();
+            }
+            if (firstByte != '{') {
+                return false;
+            }
+        }
+        return !JsonFileStorage.isJsonFile(file);
+    }
+
+    private static Manifest readManifest(File manifestFile) throws DataConversionException {
+        Optional<Manifest> manifest = JsonUtil.readJsonFile(manifestFile.getPath(), Manifest.class);
+        if (!manifest.isPresent()) {
+            throw new DataConversionException(new IOException("Manifest " + manifestFile + " not found"));
+        }
+        if (manifest.get().version != MANIFEST_VERSION) {
+            throw new DataConversionException(new IOException("Unsupported manifest version "
+                    + manifest.get().version + " in " + manifestFile));
+        }
+        return manifest.get();
+    }
+
+    private static void writeManifest(File manifestFile, Manifest manifest) throws IOException {
+        AtomicFileWriter.write(manifestFile, tempFile -> JsonUtil.saveJsonFile(manifest, tempFile.getPath()));
+    }
+
+    /**
+     * The content of the data file: the shards that hold the tasks, sorted by key.
+     */
+    private static class Manifest {
+        private int version = MANIFEST_VERSION;
+        private List<ShardEntry> shards = new ArrayList<>();
+    }
+
+    /**
+     * A shard file, with the number of tasks in it and the fingerprint of its data,
+     * which is compared to find out whether the shard needs to be written again.
+     * @see SaveFingerprintFilter#fingerprint(ReadOnlyTaskManager)
+     */
+    private static class ShardEntry {
+        private String key;
+        private String fileName;
+        private int taskCount;
+        private long fingerprint;
+
+        private ShardEntry() {}
+
+        ShardEntry(String key, String fileName, int taskCount, long fingerprint) {
+            this.key = key;
+            this.fileName = fileName;
+            this.taskCount = taskCount;
+            this.fingerprint = fingerprint;
+        }
+    }
+
+}
@@ -1,13 +1,17 @@
 package savvytodo.storage;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 
+import savvytodo.commons.events.model.DeferredTasksMergedEvent;
 import savvytodo.commons.events.model.TaskManagerChangedEvent;
 import savvytodo.commons.events.storage.DataSavingExceptionEvent;
 import savvytodo.commons.exceptions.DataConversionException;
 import savvytodo.model.ReadOnlyTaskManager;
 import savvytodo.model.UserPrefs;
+import savvytodo.model.operations.OperationHistory;
+import savvytodo.model.task.ReadOnlyTask;
 
 /**
  * API of the Storage component
@@ -36,6 +40,49 @@ public interface Storage extends TaskManagerStorage, UserPrefsStorage {
      */
     void handleTaskManagerChangedEvent(TaskManagerChangedEvent abce);
 
+    /**
+     * Saves the tasks that were read in the background, now that they are in the Task Manager, like any other.
+     *   Until then, saves keep them as they are on the hard disk.
+     */
+    void handleDeferredTasksMergedEvent(DeferredTasksMergedEvent event);
+
+    /**
+     * Returns true if tasks of the data file, which were left out when it was read, are still being read
+     * or are not in the model yet.
+     */
+    boolean isLoadingDeferredTasks();
+
+    /**
+     * Saves any changes to the Task Manager that are still waiting to be written to the hard disk,
+     *   and returns once they are written and forced to the disk.
+     */
+    void flushPendingSaves();
+
+    /**
+     * Returns true if another instance is writing the data file, whose changes are followed instead.
+     *   The data file is not saved meanwhile.
+     */
+    boolean isFollowingWriter();
+
+    /**
+     * Returns the history of undo and redo operations of the current data file, whose data is {@code taskManager}.
+     * Operations left from the last time the data file was used are kept if it has not changed since.
+     */
+    OperationHistory openUndoHistory(ReadOnlyTaskManager taskManager);
+
+    /**
+     * Moves {@code tasks} into the archive of the current data file.
+     * The tasks are not removed from the data file, which is left to the caller once this returns.
+     * @throws DataConversionException if the existing archive is not in the correct format.
+     */
+    void archiveTasks(List<? extends ReadOnlyTask> tasks) throws DataConversionException, IOException;
+
+    /**
+     * Returns the archived tasks of the current data file, decoded as they are used,
+     *   or an empty Optional if none have been archived.
+     */
+    Optional<ReadOnlyTaskManager> readArchivedTasks() throws DataConversionException, IOException;
+
     //@@author A0140036X
     /**
      * Sets task manager storage.
@@ -1,36 +1,128 @@
 package savvytodo.storage;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 import java.util.logging.Logger;
 
 import com.google.common.eventbus.Subscribe;
 
 import savvytodo.commons.core.ComponentManager;
+import savvytodo.commons.core.Config;
 import savvytodo.commons.core.LogsCenter;
+import savvytodo.commons.events.model.DeferredTasksMergedEvent;
 import savvytodo.commons.events.model.TaskManagerChangedEvent;
+import savvytodo.commons.events.storage.DataFileChangedEvent;
 import savvytodo.commons.events.storage.DataSavingExceptionEvent;
 import savvytodo.commons.exceptions.DataConversionException;
+import savvytodo.commons.util.StringUtil;
+import savvytodo.model.ReadOnlyTaskArchive;
 import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.TaskManagerSnapshot;
 import savvytodo.model.UserPrefs;
+import savvytodo.model.operations.InMemoryOperationHistory;
+import savvytodo.model.operations.OperationHistory;
+import savvytodo.model.task.ReadOnlyTask;
 
 /**
  * Manages storage of TaskManager data in local storage.
  */
 public class StorageManager extends ComponentManager implements Storage {
 
+    public static final String XML_STORAGE_FORMAT = "xml";
+    public static final String JOURNAL_STORAGE_FORMAT = "journal";
+    public static final String BINARY_STORAGE_FORMAT = "binary";
+    public static final String MAPPED_STORAGE_FORMAT = "mapped";
+    public static final String SHARDED_STORAGE_FORMAT = "sharded";
+    public static final String JSON_STORAGE_FORMAT = "json";
+    /** Uses the format of the data file, or the one its extension suggests if it does not exist yet. */
+    public static final String AUTO_STORAGE_FORMAT = "auto";
+
+    public static final String MESSAGE_FOLLOWING_WRITER = "%1$s is being written by another instance";
+
     private static final Logger logger = LogsCenter.getLogger(StorageManager.class);
     private TaskManagerStorage taskManagerStorage;
     private UserPrefsStorage userPrefsStorage;
+    private String taskManagerStorageFormat = XML_STORAGE_FORMAT;
+    private JournalCompactor journalCompactor;
+    private DebouncedTaskManagerSaver taskManagerSaver;
+    private final SaveFingerprintFilter saveFilter = new SaveFingerprintFilter();
+    private ColdTaskStore coldTaskStore;
+    private boolean isSharedAccess;
+    /** The lock on the data file while this is its writer, null otherwise. */
+    private DataFileLock dataFileLock;
+    private TaskChangeLog changeLog;
+    /** Follows the changes of another instance while it is the writer of the data file, null otherwise. */
+    private TaskChangeLogFollower changeLogFollower;
+    private boolean isWatchingDataFile;
+    private DataFileWatcher dataFileWatcher;
+    /** The number of undo and redo operations kept next to the data file, 0 to keep them in memory only. */
+    private int undoHistoryDepth;
 
     public StorageManager(TaskManagerStorage taskManagerStorage, UserPrefsStorage userPrefsStorage) {
         super();
-        this.taskManagerStorage = taskManagerStorage;
         this.userPrefsStorage = userPrefsStorage;
+        setTaskManagerStorage(taskManagerStorage);
     }
 
     public StorageManager(String taskManagerFilePath, String userPrefsFilePath) {
-        this(new XmlTaskManagerStorage(taskManagerFilePath), new JsonUserPrefsStorage(userPrefsFilePath));
+        this(taskManagerFilePath, userPrefsFilePath, XML_STORAGE_FORMAT);
+    }
+
+    public StorageManager(String taskManagerFilePath, String userPrefsFilePath, String taskManagerStorageFormat) {
+        this(taskManagerFilePath, userPrefsFilePath, taskManagerStorageFormat, 0);
+    }
+
+    public StorageManager(Config config) {
+        this(config.getTaskManagerFilePath(), config.getUserPrefsFilePath(), config.getTaskManagerStorageFormat(),
+                config.getTaskManagerSaveWindowMillis());
+        DataFileCompression.init(config);
+        AtomicFileWriter.init(config);
+        setSharedAccess(config.isTaskManagerSharedAccess());
+        setWatchingDataFile(config.isTaskManagerWatchFile());
+        setUndoHistoryDepth(config.getUndoHistoryDepth());
+    }
+
+    /**
+     * @param saveWindowMillis how long changes are collected before they are saved together on a background
+     *          thread. Changes are saved right away on the calling thread if this is not positive.
+     */
+    public StorageManager(String taskManagerFilePath, String userPrefsFilePath, String taskManagerStorageFormat,
+            long saveWindowMillis) {
+        this(createTaskManagerStorage(taskManagerFilePath, taskManagerStorageFormat),
+                new JsonUserPrefsStorage(userPrefsFilePath));
+        this.taskManagerStorageFormat = taskManagerStorageFormat;
+        if (saveWindowMillis > 0) {
+            taskManagerSaver = new DebouncedTaskManagerSaver(this::saveTaskManager, this::raiseSavingException,
+                    saveWindowMillis);
+        }
+    }
+
+    /**
+     * Creates the {@link TaskManagerStorage} for the given storage format.
+     * Unknown formats fall back to {@link #XML_STORAGE_FORMAT}.
+     */
+    public static TaskManagerStorage createTaskManagerStorage(String filePath, String storageFormat) {
+        if (AUTO_STORAGE_FORMAT.equalsIgnoreCase(storageFormat)) {
+            return createTaskManagerStorage(filePath, TaskManagerFileConverter.detectFormat(new File(filePath)));
+        }
+        if (JOURNAL_STORAGE_FORMAT.equalsIgnoreCase(storageFormat)) {
+            return new JournalTaskManagerStorage(filePath);
+        }
+        if (BINARY_STORAGE_FORMAT.equalsIgnoreCase(storageFormat)) {
+            return new BinaryTaskManagerStorage(filePath);
+        }
+        if (MAPPED_STORAGE_FORMAT.equalsIgnoreCase(storageFormat)) {
+            return new MappedTaskManagerStorage(filePath);
+        }
+        if (JSON_STORAGE_FORMAT.equalsIgnoreCase(storageFormat)) {
+            return new JsonTaskManagerStorage(filePath, true);
+        }
+        if (SHARDED_STORAGE_FORMAT.equalsIgnoreCase(storageFormat)) {
+            return new ShardedTaskManagerStorage(filePath, true);
+        }
+        return new XmlTaskManagerStorage(filePath, true);
     }
 
     // ================ UserPrefs methods ==============================
@@ -68,23 +160,102 @@ public class StorageManager extends ComponentManager implements Storage {
         saveTaskManager(taskManager, taskManagerStorage.getTaskManagerFilePath());
     }
 
+    /**
+     * Saves {@code taskManager} to {@code filePath}, unless the same data was last written to that file
+     * and the file has not been changed since.
+     * @see SaveFingerprintFilter
+     */
     @Override
     public void saveTaskManager(ReadOnlyTaskManager taskManager, String filePath) throws IOException {
-        logger.fine("Attempting to write to data file: " + filePath);
-        taskManagerStorage.saveTaskManager(taskManager, filePath);
+        File file = new File(filePath);
+        boolean isOwnFile = file.getAbsoluteFile().equals(new File(getTaskManagerFilePath()).getAbsoluteFile());
+        if (isOwnFile && isFollowingWriter()) {
+            throw new IOException(String.format(MESSAGE_FOLLOWING_WRITER, filePath));
+        }
+        long fingerprint = SaveFingerprintFilter.fingerprint(taskManager);
+        synchronized (saveFilter) {
+            if (saveFilter.isUnchanged(file, fingerprint)) {
+                logger.fine("Data unchanged, skipped writing to data file: " + filePath + " (" + saveFilter + ")");
+                return;
+            }
+            logger.fine("Attempting to write to data file: " + filePath);
+            taskManagerStorage.saveTaskManager(taskManager, filePath);
+            saveFilter.recordWrite(file, fingerprint);
+            if (isOwnFile && changeLog != null) {
+                changeLog.recordSave(taskManager);
+            }
+        }
+    }
+
+    /** Returns the number of saves that were written to disk. */
+    public long getWrittenSaveCount() {
+        return saveFilter.getWrittenSaveCount();
+    }
+
+    /** Returns the number of saves that were skipped because the data had not changed. */
+    public long getSkippedSaveCount() {
+        return saveFilter.getSkippedSaveCount();
     }
 
     @Override
     @Subscribe
     public void handleTaskManagerChangedEvent(TaskManagerChangedEvent event) {
+        if (isFollowingWriter()) {
+            logger.fine(LogsCenter.getEventHandlingLogMessage(event, "Data file is written by another instance"));
+            return;
+        }
         logger.info(LogsCenter.getEventHandlingLogMessage(event, "Local data changed, saving to file"));
+        if (taskManagerSaver != null) {
+            taskManagerSaver.submit(new TaskManagerSnapshot(event.data));
+            return;
+        }
         try {
             saveTaskManager(event.data);
         } catch (IOException e) {
-            raise(new DataSavingExceptionEvent(e));
+            raiseSavingException(e);
+        }
+    }
+
+    @Override
+    @Subscribe
+    public void handleDeferredTasksMergedEvent(DeferredTasksMergedEvent event) {
+        logger.info(LogsCenter.getEventHandlingLogMessage(event, "Older tasks are in the model"));
+        if (taskManagerStorage instanceof DeferringTaskManagerStorage) {
+            // data submitted before the merge does not have the older tasks, so they are kept when it is saved
+            flushPendingSaves();
+            ((DeferringTaskManagerStorage) taskManagerStorage).markDeferredTasksMerged();
         }
     }
 
+    @Override
+    public boolean isLoadingDeferredTasks() {
+        return taskManagerStorage instanceof DeferringTaskManagerStorage
+                && ((DeferringTaskManagerStorage) taskManagerStorage).isLoadingDeferredTasks();
+    }
+
+    private void raiseSavingException(IOException e) {
+        raise(new DataSavingExceptionEvent(e));
+    }
+
+    @Override
+    public void flushPendingSaves() {
+        if (taskManagerSaver != null) {
+            taskManagerSaver.flush();
+        }
+        AtomicFileWriter.syncPendingFiles();
+    }
+
+    @Override
+    public void archiveTasks(List<? extends ReadOnlyTask> tasks) throws DataConversionException, IOException {
+        coldTaskStore.archive(tasks);
+    }
+
+    @Override
+    public Optional<ReadOnlyTaskManager> readArchivedTasks() throws DataConversionException, IOException {
+        logger.fine("Attempting to read archived tasks from file: " + coldTaskStore.getArchiveFile());
+        return coldTaskStore.read();
+    }
+
     //@@author A0140036X
     public TaskManagerStorage getTaskManagerStorage() {
         return taskManagerStorage;
@@ -93,13 +264,169 @@ public class StorageManager extends ComponentManager implements Storage {
     //@@author A0140036X
     @Override
     public void setTaskManagerStorageFilePath(String filePath) {
-        this.taskManagerStorage = new XmlTaskManagerStorage(filePath);
+        setTaskManagerStorage(createTaskManagerStorage(filePath, taskManagerStorageFormat));
     }
 
     //@@author A0140036X
     @Override
     public void setTaskManagerStorage(TaskManagerStorage taskManagerStorage) {
+        flushPendingSaves();
         this.taskManagerStorage = taskManagerStorage;
+        // the new storage may write the same data differently
+        saveFilter.forget();
+        coldTaskStore = new ColdTaskStore(taskManagerStorage.getTaskManagerFilePath());
+        updateJournalCompaction();
+        updateSharedAccess();
+        updateDataFileWatching();
+    }
+    //@@author
+
+    /**
+     * Sets whether other instances may open the data file at the same time.
+     * If they may, the first instance to open it becomes its writer, and the others follow its changes read-only.
+     */
+    public void setSharedAccess(boolean isSharedAccess) {
+        this.isSharedAccess = isSharedAccess;
+        updateSharedAccess();
+    }
+
+    /**
+     * Sets how many undo and redo operations are kept in a file next to the data file, see {@link UndoHistoryFile}.
+     * If this is not positive, the operations are only kept in memory.
+     */
+    public void setUndoHistoryDepth(int undoHistoryDepth) {
+        this.undoHistoryDepth = undoHistoryDepth;
+    }
+
+    @Override
+    public OperationHistory openUndoHistory(ReadOnlyTaskManager taskManager) {
+        if (undoHistoryDepth <= 0) {
+            return new InMemoryOperationHistory();
+        }
+        // an archive cannot be changed, and the writer of a followed data file keeps its history
+        if (taskManager instanceof ReadOnlyTaskArchive || isFollowingWriter()) {
+            return new InMemoryOperationHistory(undoHistoryDepth);
+        }
+        File historyFile = UndoHistoryFile.getUndoHistoryFile(taskManagerStorage.getTaskManagerFilePath());
+        try {
+            return UndoHistoryFile.open(historyFile, undoHistoryDepth, taskManager);
+        } catch (IOException e) {
+            logger.warning("Could not open undo history " + historyFile + ", keeping it in memory: "
+                    + StringUtil.getDetails(e));
+            return new InMemoryOperationHistory(undoHistoryDepth);
+        }
+    }
+
+    @Override
+    public boolean isFollowingWriter() {
+        return changeLogFollower != null;
+    }
+
+    /**
+     * Takes the lock on the current data file, or follows the instance that holds it,
+     * while the data file is shared with other instances.
+     */
+    private void updateSharedAccess() {
+        if (dataFileLock != null) {
+            dataFileLock.release();
+            dataFileLock = null;
+        }
+        if (changeLogFollower != null) {
+            changeLogFollower.stop();
+            changeLogFollower = null;
+        }
+        changeLog = null;
+        if (!isSharedAccess) {
+            return;
+        }
+
+        String filePath = taskManagerStorage.getTaskManagerFilePath();
+        try {
+            Optional<DataFileLock> lock = DataFileLock.tryAcquire(filePath);
+            if (lock.isPresent()) {
+                dataFileLock = lock.get();
+                changeLog = new TaskChangeLog(filePath);
+                logger.info("Writing data file " + filePath);
+            } else {
+                changeLogFollower = new TaskChangeLogFollower(taskManagerStorage, this::raise);
+                changeLogFollower.start();
+                logger.info("Data file " + filePath + " is written by another instance, following its changes");
+            }
+        } catch (IOException e) {
+            logger.warning("Could not lock data file " + filePath + ", it is not shared: " + StringUtil.getDetails(e));
+        }
+    }
+
+    /**
+     * Sets whether changes made to the data file by anything other than this storage are read,
+     * see {@link DataFileChangedEvent}.
+     */
+    public void setWatchingDataFile(boolean isWatchingDataFile) {
+        this.isWatchingDataFile = isWatchingDataFile;
+        updateDataFileWatching();
+    }
+
+    /**
+     * Watches the current data file for changes while that is wanted.
+     */
+    private void updateDataFileWatching() {
+        if (dataFileWatcher != null) {
+            dataFileWatcher.stop();
+            dataFileWatcher = null;
+        }
+        if (!isWatchingDataFile) {
+            return;
+        }
+        dataFileWatcher = new DataFileWatcher(getTaskManagerFilePath(), this::readChangedDataFile);
+        try {
+            dataFileWatcher.start();
+        } catch (IOException e) {
+            logger.warning("Could not watch data file " + getTaskManagerFilePath() + ": " + StringUtil.getDetails(e));
+            dataFileWatcher = null;
+        }
+    }
+
+    /**
+     * Reads the data file again after it has changed, and raises {@link DataFileChangedEvent} with its data
+     * unless the change was a save of this storage.
+     */
+    private void readChangedDataFile() {
+        String filePath = getTaskManagerFilePath();
+        // the instance that writes the file logs its changes, which are followed instead
+        if (isFollowingWriter() || saveFilter.isLastWritten(new File(filePath))) {
+            return;
+        }
+        logger.info("Data file " + filePath + " was changed outside the application, reading it again");
+        try {
+            Optional<ReadOnlyTaskManager> data = readChangedTaskManager();
+            if (data.isPresent()) {
+                raise(new DataFileChangedEvent(filePath, data.get()));
+            }
+        } catch (DataConversionException | IOException e) {
+            logger.warning("Could not read the changed data file " + filePath + ": " + StringUtil.getDetails(e));
+        }
+    }
+
+    private Optional<ReadOnlyTaskManager> readChangedTaskManager() throws DataConversionException, IOException {
+        if (taskManagerStorage instanceof DeferringTaskManagerStorage) {
+            // the deferred tasks would otherwise be missing from the data, as if they had been removed
+            return ((DeferringTaskManagerStorage) taskManagerStorage).readWholeTaskManager();
+        }
+        return taskManagerStorage.readTaskManager();
+    }
+
+    /**
+     * Runs background compaction of the journal while the task manager storage is journal based.
+     */
+    private void updateJournalCompaction() {
+        if (journalCompactor != null) {
+            journalCompactor.stop();
+            journalCompactor = null;
+        }
+        if (taskManagerStorage instanceof JournalTaskManagerStorage) {
+            journalCompactor = new JournalCompactor((JournalTaskManagerStorage) taskManagerStorage);
+            journalCompactor.start();
+        }
     }
 
 }
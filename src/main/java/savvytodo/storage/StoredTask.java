@@ -0,0 +1,123 @@
+package savvytodo.storage;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import savvytodo.commons.exceptions.IllegalValueException;
+import savvytodo.commons.util.DateTimeUtil;
+import savvytodo.model.category.Category;
+import savvytodo.model.category.UniqueCategoryList;
+import savvytodo.model.task.DateTime;
+import savvytodo.model.task.Description;
+import savvytodo.model.task.Location;
+import savvytodo.model.task.Name;
+import savvytodo.model.task.Priority;
+import savvytodo.model.task.Recurrence;
+import savvytodo.model.task.Status;
+import savvytodo.model.task.Task;
+import savvytodo.model.task.TimeStamp;
+
+/**
+ * The values of a task as they are in a text data file, which are read one task at a time
+ * and only validated when the task is converted, see {@link #toModelType()}.
+ */
+class StoredTask {
+    /** The number of tasks read before they are validated together. */
+    static final int CONVERSION_BATCH_SIZE = 8192;
+
+    String name;
+    String priority;
+    String description;
+    String location;
+    String startValue;
+    String endValue;
+    String recurrenceType = Recurrence.DEFAULT_VALUES[0];
+    int occurences = Integer.parseInt(Recurrence.DEFAULT_VALUES[1]);
+    boolean isCompleted;
+    final List<String> categories = new ArrayList<>();
+    /** The time the task was added, if the file has it. */
+    String timeStampValue;
+    // taken while reading, so that tasks added at the same time keep their order in the file
+    private final TimeStamp readTimeStamp = new TimeStamp();
+
+    /**
+     * Receives the tasks of a data file one at a time as they are read, before they are converted.
+     */
+    interface Sink {
+        void accept(StoredTask task) throws IllegalValueException;
+
+        /**
+         * Called before the categories of the file are read, and once the whole file has been read.
+         */
+        void flush() throws IllegalValueException;
+    }
+
+    /**
+     * Returns a sink that converts the tasks in batches of {@link #CONVERSION_BATCH_SIZE}
+     * and passes them to {@code taskHandler} in file order.
+     */
+    static Sink converting(Consumer<Task> taskHandler) {
+        List<StoredTask> pendingTasks = new ArrayList<>();
+        return new Sink() {
+            @Override
+            public void accept(StoredTask task) throws IllegalValueException {
+                pendingTasks.add(task);
+                if (pendingTasks.size() >= CONVERSION_BATCH_SIZE) {
+                    flush();
+                }
+            }
+
+            @Override
+            public void flush() throws IllegalValueException {
+                convertPending(pendingTasks, taskHandler);
+            }
+        };
+    }
+
+    /**
+     * Validates the tasks read so far in parallel and passes them to {@code taskHandler} in file order.
+     */
+    static void convertPending(List<StoredTask> pendingTasks, Consumer<Task> taskHandler)
+            throws IllegalValueException {
+        if (pendingTasks.isEmpty()) {
+            return;
+        }
+        ParallelTaskConverter.convert(pendingTasks, StoredTask::toModelType).forEach(taskHandler);
+        pendingTasks.clear();
+    }
+
+    /**
+     * Returns true if the task is one the user most likely looks for first:
+     * a deadline that is not done, or an event that is not done and has not ended before {@code now}.
+     * Tasks whose end cannot be parsed are included, so that they fail to convert as early as possible.
+     */
+    boolean isUpcomingOrUndone(LocalDateTime now) {
+        if (isCompleted || endValue == null || endValue.trim().isEmpty()) {
+            return false;
+        }
+        if (startValue == null || startValue.trim().isEmpty()) {
+            return true;
+        }
+        try {
+            return !LocalDateTime.parse(endValue.trim(), DateTimeUtil.DATE_FORMATTER).isBefore(now);
+        } catch (DateTimeParseException e) {
+            return true;
+        }
+    }
+
+    Task toModelType() throws IllegalValueException {
+        List<Category> taskCategories = new ArrayList<>();
+        for (String category : categories) {
+            taskCategories.add(new Category(category));
+        }
+        TimeStamp timeStamp = timeStampValue == null ? readTimeStamp
+                : new TimeStamp(LocalDateTime.parse(timeStampValue.trim()));
+        return new Task(new Name(name), new Priority(priority), new Description(description),
+                new Location(location), new UniqueCategoryList(taskCategories),
+                new DateTime(startValue, endValue), new Recurrence(recurrenceType, occurences),
+                new Status(isCompleted), timeStamp);
+    }
+}
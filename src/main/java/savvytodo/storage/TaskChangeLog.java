@@ -0,0 +1,109 @@
+package savvytodo.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import savvytodo.commons.core.LogsCenter;
+import savvytodo.commons.util.FileUtil;
+import savvytodo.model.ReadOnlyTaskManager;
+
+/**
+ * The log of the changes the writer of a data file makes to it, which other instances tail to follow them.
+ *
+ * The log starts with a session record, followed by one line per task added or removed by each save,
+ * in the record format of {@link TaskRecordCodec}. Edits are logged as the removal of the old task followed by
+ * the addition of the new one. A new session, which followers answer by reading the whole data file again,
+ * is started by the first save of a writer and whenever the log has grown too long.
+ */
+public class TaskChangeLog {
+
+    public static final String CHANGE_LOG_FILE_SUFFIX = ".changes";
+    /** Logs longer than this are started afresh by the next save. */
+    public static final long MAX_LOG_LENGTH = 4 * 1024 * 1024;
+
+    static final String SESSION_RECORD = "@";
+    static final String ADD_RECORD = "+";
+    static final String REMOVE_RECORD = "-";
+    static final int OPERATION_LENGTH = 2;
+
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private static final Logger logger = LogsCenter.getLogger(TaskChangeLog.class);
+
+    private final File logFile;
+    /** Records of the tasks as last logged, keyed by {@link TaskRecordCodec#encodeKey}. Null before the first save. */
+    private LinkedHashMap<String, String> loggedRecords;
+
+    public TaskChangeLog(String filePath) {
+        this.logFile = getChangeLogFile(filePath);
+    }
+
+    /**
+     * Returns the change log that belongs to the data file at {@code filePath}.
+     */
+    public static File getChangeLogFile(String filePath) {
+        return new File(filePath + CHANGE_LOG_FILE_SUFFIX);
+    }
+
+    /**
+     * Logs the changes from the data last logged to {@code taskManager}, which has just been written to the data file.
+     */
+    public synchronized void recordSave(ReadOnlyTaskManager taskManager) throws IOException {
+        LinkedHashMap<String, String> currentRecords = JournalTaskManagerStorage.toRecords(taskManager);
+        if (loggedRecords == null || logFile.length() > MAX_LOG_LENGTH) {
+            startSession();
+            loggedRecords = currentRecords;
+            return;
+        }
+
+        List<String> entries = new ArrayList<>();
+        for (Map.Entry<String, String> entry : loggedRecords.entrySet()) {
+            String currentRecord = currentRecords.get(entry.getKey());
+            if (!entry.getValue().equals(currentRecord)) {
+                entries.add(REMOVE_RECORD + " " + entry.getValue());
+            }
+        }
+        for (Map.Entry<String, String> entry : currentRecords.entrySet()) {
+            if (!entry.getValue().equals(loggedRecords.get(entry.getKey()))) {
+                entries.add(ADD_RECORD + " " + entry.getValue());
+            }
+        }
+        if (!entries.isEmpty()) {
+            append(entries);
+        }
+        loggedRecords = currentRecords;
+    }
+
+    /**
+     * Replaces the log with one that only holds a new session record.
+     */
+    private void startSession() throws IOException {
+        File newLogFile = new File(logFile.getPath() + TEMP_FILE_SUFFIX);
+        FileUtil.createParentDirsOfFile(newLogFile);
+        FileUtil.writeToFile(newLogFile, SESSION_RECORD + " " + UUID.randomUUID() + System.lineSeparator());
+        FileUtil.moveAtomically(newLogFile, logFile);
+        logger.fine("Started a new session in " + logFile);
+    }
+
+    /**
+     * Appends {@code entries} with a single write, so that followers rarely see a save half logged.
+     */
+    private void append(List<String> entries) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (String entry : entries) {
+            sb.append(entry).append(System.lineSeparator());
+        }
+        Files.write(logFile.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+}
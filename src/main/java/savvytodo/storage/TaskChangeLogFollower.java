@@ -0,0 +1,205 @@
+package savvytodo.storage;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import savvytodo.commons.core.LogsCenter;
+import savvytodo.commons.events.storage.TaskChangesFollowedEvent;
+import savvytodo.commons.exceptions.DataConversionException;
+import savvytodo.commons.exceptions.IllegalValueException;
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.TaskManager;
+import savvytodo.model.task.Task;
+
+/**
+ * Follows the changes another instance makes to a data file it holds the {@link DataFileLock} of,
+ * by tailing its {@link TaskChangeLog} on a background thread.
+ * Only the records appended since the last poll are read. The whole data file is only read again
+ * when the writer starts a new session of the log.
+ */
+public class TaskChangeLogFollower {
+
+    public static final long POLL_INTERVAL_MILLIS = 500;
+
+    private static final Logger logger = LogsCenter.getLogger(TaskChangeLogFollower.class);
+
+    private final TaskManagerStorage taskManagerStorage;
+    private final File logFile;
+    private final Consumer<TaskChangesFollowedEvent> changeHandler;
+    private ScheduledExecutorService executor;
+
+    /** The session of the log that has been followed so far, null if none. */
+    private String sessionId;
+    /** Where the records that have not been read yet start in the log. */
+    private long position;
+
+    /**
+     * Creates a follower of the data file of {@code taskManagerStorage}, which is about to be read as it is now,
+     * so that only the changes logged from now on are passed to {@code changeHandler}.
+     */
+    public TaskChangeLogFollower(TaskManagerStorage taskManagerStorage,
+            Consumer<TaskChangesFollowedEvent> changeHandler) {
+        this.taskManagerStorage = taskManagerStorage;
+        this.logFile = TaskChangeLog.getChangeLogFile(taskManagerStorage.getTaskManagerFilePath());
+        this.changeHandler = changeHandler;
+        try {
+            sessionId = readSessionId();
+            position = logFile.length();
+        } catch (IOException e) {
+            logger.warning("Could not read " + logFile + ", the data file will be read again: " + e);
+        }
+    }
+
+    /**
+     * Starts polling the log in the background.
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-change-log-follower");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::poll, POLL_INTERVAL_MILLIS, POLL_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops polling the log. Changes logged from now on are not passed on.
+     */
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Passes on the changes that have been logged since the last poll, if any.
+     */
+    public synchronized void poll() {
+        try {
+            String currentSessionId = readSessionId();
+            if (currentSessionId == null) {
+                return;
+            }
+            if (!currentSessionId.equals(sessionId) || logFile.length() < position) {
+                reload(currentSessionId);
+                return;
+            }
+            readNewRecords();
+        } catch (IOException | DataConversionException e) {
+            logger.warning("Could not follow the changes to " + taskManagerStorage.getTaskManagerFilePath()
+                    + ": " + e);
+        }
+    }
+
+    /**
+     * Returns the id of the session of the log, or null if there is no log yet.
+     */
+    private String readSessionId() throws IOException {
+        if (!logFile.exists()) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(logFile.toPath(), StandardCharsets.UTF_8)) {
+            String firstLine = reader.readLine();
+            if (firstLine == null || !firstLine.startsWith(TaskChangeLog.SESSION_RECORD + " ")) {
+                return null;
+            }
+            return firstLine.substring(TaskChangeLog.OPERATION_LENGTH).trim();
+        }
+    }
+
+    /**
+     * Reads the whole data file again, and follows the log of session {@code newSessionId} from its start.
+     * Records logged while the data file is read may already be part of it, passing them on again does no harm.
+     */
+    private void reload(String newSessionId) throws DataConversionException, IOException {
+        logger.info("The data file was rewritten by its writer, reading " + taskManagerStorage.getTaskManagerFilePath()
+                + " again");
+        sessionId = newSessionId;
+        position = skipSessionRecord();
+        ReadOnlyTaskManager data = taskManagerStorage.readTaskManager().orElseGet(TaskManager::new);
+        changeHandler.accept(new TaskChangesFollowedEvent(taskManagerStorage.getTaskManagerFilePath(), data,
+                Collections.emptyList(), Collections.emptyList()));
+    }
+
+    private long skipSessionRecord() throws IOException {
+        try (RandomAccessFile in = new RandomAccessFile(logFile, "r")) {
+            in.readLine();
+            return in.getFilePointer();
+        }
+    }
+
+    /**
+     * Reads the complete records appended since the last poll and passes on what they change in the end.
+     * An incomplete last record, which is still being written, is read by a later poll.
+     */
+    private void readNewRecords() throws IOException {
+        byte[] bytes;
+        try (RandomAccessFile in = new RandomAccessFile(logFile, "r")) {
+            bytes = new byte[(int) Math.max(0, in.length() - position)];
+            in.seek(position);
+            in.readFully(bytes);
+        }
+        int end = bytes.length;
+        while (end > 0 && bytes[end - 1] != '\n') {
+            end--;
+        }
+        if (end == 0) {
+            return;
+        }
+
+        // the last record about a task decides whether it is in the data file
+        Map<String, Task> addedTasks = new LinkedHashMap<>();
+        Map<String, Task> removedTasks = new LinkedHashMap<>();
+        for (String entry : new String(bytes, 0, end, StandardCharsets.UTF_8).split("\r?\n")) {
+            try {
+                applyEntry(entry, addedTasks, removedTasks);
+            } catch (IllegalValueException e) {
+                logger.warning("Invalid record in " + logFile + ", the data file will be read again: " + e);
+                sessionId = null;
+                return;
+            }
+        }
+        position += end;
+        changeHandler.accept(new TaskChangesFollowedEvent(taskManagerStorage.getTaskManagerFilePath(), null,
+                new ArrayList<>(removedTasks.values()), new ArrayList<>(addedTasks.values())));
+    }
+
+    private static void applyEntry(String entry, Map<String, Task> addedTasks, Map<String, Task> removedTasks)
+            throws IllegalValueException {
+        if (entry.length() < TaskChangeLog.OPERATION_LENGTH) {
+            throw new IllegalValueException(String.format(TaskRecordCodec.MESSAGE_INVALID_RECORD, entry));
+        }
+        String operation = entry.substring(0, 1);
+        String record = entry.substring(TaskChangeLog.OPERATION_LENGTH);
+        Task task = TaskRecordCodec.decode(record);
+        String key = TaskRecordCodec.getKey(record);
+        if (TaskChangeLog.ADD_RECORD.equals(operation)) {
+            removedTasks.remove(key);
+            addedTasks.put(key, task);
+        } else if (TaskChangeLog.REMOVE_RECORD.equals(operation)) {
+            addedTasks.remove(key);
+            removedTasks.put(key, task);
+        } else {
+            throw new IllegalValueException(String.format(TaskRecordCodec.MESSAGE_INVALID_RECORD, entry));
+        }
+    }
+
+}
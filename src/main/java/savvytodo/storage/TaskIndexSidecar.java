@@ -0,0 +1,184 @@
+package savvytodo.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+import savvytodo.commons.core.LogsCenter;
+import savvytodo.model.PresortedTaskManagerSnapshot;
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.task.ReadOnlyTask;
+
+/**
+ * An index file kept next to a data file, which holds the order of the tasks in the data file sorted by the time
+ * they were added, and the checksum of the data file it was made for.
+ * Tasks read from a data file whose index matches are put in that order and taken over by the task manager as they
+ * are, see {@link PresortedTaskManagerSnapshot}, instead of being checked for duplicates and sorted one by one.
+ * Small data files, which are quick to load either way, are not indexed.
+ */
+public class TaskIndexSidecar {
+
+    public static final String INDEX_FILE_SUFFIX = ".idx";
+    /** Data files with fewer tasks are not indexed. */
+    public static final int MIN_INDEXED_TASK_COUNT = 1000;
+
+    private static final Logger logger = LogsCenter.getLogger(TaskIndexSidecar.class);
+
+    private static final int MAGIC_NUMBER = 0x53544958; // "STIX"
+    private static final short FORMAT_VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public static File getIndexFile(File dataFile) {
+        return new File(dataFile.getPath() + INDEX_FILE_SUFFIX);
+    }
+
+    /**
+     * Returns the checksum to update with the bytes of {@code taskManager} as they are written to its data file,
+     * or null if the data is too small to be indexed.
+     */
+    public static Checksum newChecksum(ReadOnlyTaskManager taskManager) {
+        return taskManager.getTaskList().size() < MIN_INDEXED_TASK_COUNT ? null : new CRC32();
+    }
+
+    /**
+     * Writes the index of {@code taskManager}, which has just been written to {@code dataFile}.
+     * Any index of an earlier version of the file is removed if the data is too small to be indexed.
+     * @param dataChecksum the checksum from {@link #newChecksum(ReadOnlyTaskManager)}, updated with the bytes
+     *            written to {@code dataFile}, so that the file does not have to be read again.
+     */
+    public static void write(File dataFile, ReadOnlyTaskManager taskManager, Checksum dataChecksum)
+            throws IOException {
+        File indexFile = getIndexFile(dataFile);
+        List<? extends ReadOnlyTask> tasks = taskManager.getTaskList();
+        if (dataChecksum == null) {
+            assert tasks.size() < MIN_INDEXED_TASK_COUNT;
+            if (indexFile.exists() && !indexFile.delete()) {
+                logger.warning("Could not delete the outdated index " + indexFile);
+            }
+            return;
+        }
+
+        int[] addedOrder = IntStream.range(0, tasks.size()).boxed()
+                .sorted(Comparator.comparing(index -> getDateTimeAdded(tasks, index)))
+                .mapToInt(Integer::intValue).toArray();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(indexFile), BUFFER_SIZE))) {
+            out.writeInt(MAGIC_NUMBER);
+            out.writeShort(FORMAT_VERSION);
+            out.writeLong(dataFile.length());
+            out.writeLong(dataChecksum.getValue());
+            out.writeInt(addedOrder.length);
+            for (int index : addedOrder) {
+                out.writeInt(index);
+            }
+        }
+    }
+
+    private static LocalDateTime getDateTimeAdded(List<? extends ReadOnlyTask> tasks, int index) {
+        return tasks.get(index).getTimeStamp().getDateTimeAdded();
+    }
+
+    /**
+     * Returns {@code data}, which has just been read from {@code dataFile}, with its tasks in the order of the index
+     * of the file if the index matches the file, so that it can be taken over as it is.
+     * Returns {@code data} itself if there is no matching index.
+     */
+    public static ReadOnlyTaskManager apply(File dataFile, ReadOnlyTaskManager data) {
+        File indexFile = getIndexFile(dataFile);
+        List<? extends ReadOnlyTask> tasks = data.getTaskList();
+        if (tasks.size() < MIN_INDEXED_TASK_COUNT || !indexFile.exists()) {
+            return data;
+        }
+
+        try {
+            int[] addedOrder = readAddedOrder(indexFile, dataFile, tasks.size());
+            if (addedOrder == null) {
+                logger.info("Index " + indexFile + " does not match its data file, it is not used");
+                return data;
+            }
+            List<ReadOnlyTask> sortedTasks = new ArrayList<>(tasks.size());
+            for (int index : addedOrder) {
+                sortedTasks.add(tasks.get(index));
+            }
+            if (!isSortedByDateTimeAdded(sortedTasks)) {
+                // formats that do not keep the time tasks were added give them new times in file order
+                logger.fine("Tasks of " + dataFile + " are not in the order of its index, which is not used");
+                return data;
+            }
+            return new PresortedTaskManagerSnapshot(sortedTasks, data.getCategoryList());
+        } catch (IOException e) {
+            logger.warning("Could not use index " + indexFile + ": " + e);
+            return data;
+        }
+    }
+
+    /**
+     * Returns the order of the tasks in {@code indexFile}, or null if it was not made for the current content
+     * of {@code dataFile}, which has {@code taskCount} tasks.
+     */
+    private static int[] readAddedOrder(File indexFile, File dataFile, int taskCount) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(indexFile), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC_NUMBER || in.readShort() != FORMAT_VERSION
+                    || in.readLong() != dataFile.length() || in.readLong() != checksum(dataFile)
+                    || in.readInt() != taskCount) {
+                return null;
+            }
+            int[] addedOrder = new int[taskCount];
+            boolean[] isListed = new boolean[taskCount];
+            for (int i = 0; i < taskCount; i++) {
+                addedOrder[i] = in.readInt();
+                if (addedOrder[i] < 0 || addedOrder[i] >= taskCount || isListed[addedOrder[i]]) {
+                    return null;
+                }
+                isListed[addedOrder[i]] = true;
+            }
+            return addedOrder;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private static boolean isSortedByDateTimeAdded(List<ReadOnlyTask> tasks) {
+        for (int i = 1; i < tasks.size(); i++) {
+            if (getDateTimeAdded(tasks, i - 1).isAfter(getDateTimeAdded(tasks, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the CRC-32 checksum of the content of {@code file}.
+     */
+    static long checksum(File file) throws IOException {
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+
+}
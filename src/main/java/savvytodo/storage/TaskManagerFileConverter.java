@@ -0,0 +1,95 @@
+package savvytodo.storage;
+
+import java.io.File;
+import java.io.IOException;
+
+import savvytodo.commons.exceptions.DataConversionException;
+import savvytodo.commons.util.FileUtil;
+import savvytodo.model.ReadOnlyTaskManager;
+
+/**
+ * Converts TaskManager data files between the xml, the binary and the JSON format.
+ * The format of an existing file is recognised from its content, so any format can be read anywhere.
+ */
+public class TaskManagerFileConverter {
+
+    public static final String MESSAGE_USAGE = "Usage: TaskManagerFileConverter SOURCE_FILE TARGET_FILE "
+            + StorageManager.XML_STORAGE_FORMAT + "|" + StorageManager.BINARY_STORAGE_FORMAT + "|"
+            + StorageManager.JSON_STORAGE_FORMAT;
+
+    private static final String BINARY_FILE_EXTENSION = ".bin";
+    private static final String JSON_FILE_EXTENSION = ".json";
+
+    /**
+     * Returns the format of the data in {@code file}, recognised from its content if it exists,
+     * otherwise from its extension, ignoring {@link DataFileCompression#COMPRESSED_FILE_SUFFIX}.
+     * Files that are neither binary nor JSON are taken to be xml.
+     */
+    public static String detectFormat(File file) {
+        if (file.exists()) {
+            if (BinaryFileStorage.isBinaryFile(file)) {
+                return StorageManager.BINARY_STORAGE_FORMAT;
+            }
+            return JsonFileStorage.isJsonFile(file) ? StorageManager.JSON_STORAGE_FORMAT
+                    : StorageManager.XML_STORAGE_FORMAT;
+        }
+        String fileName = file.getName();
+        if (fileName.endsWith(DataFileCompression.COMPRESSED_FILE_SUFFIX)) {
+            fileName = fileName.substring(0, fileName.length() - DataFileCompression.COMPRESSED_FILE_SUFFIX.length());
+        }
+        if (fileName.endsWith(BINARY_FILE_EXTENSION)) {
+            return StorageManager.BINARY_STORAGE_FORMAT;
+        }
+        return fileName.endsWith(JSON_FILE_EXTENSION) ? StorageManager.JSON_STORAGE_FORMAT
+                : StorageManager.XML_STORAGE_FORMAT;
+    }
+
+    /**
+     * Returns the task manager in {@code file}, which may be in any format.
+     * The tasks are sorted already if the file has a matching index, see {@link TaskIndexSidecar}.
+     * @throws DataConversionException if the file is in none of the formats.
+     */
+    public static ReadOnlyTaskManager readAnyFormat(File file) throws DataConversionException, IOException {
+        ReadOnlyTaskManager data;
+        if (BinaryFileStorage.isBinaryFile(file)) {
+            data = BinaryFileStorage.loadDataFromSaveFile(file);
+        } else if (JsonFileStorage.isJsonFile(file)) {
+            data = JsonFileStorage.loadDataFromSaveFile(file);
+        } else {
+            data = XmlStreamFileStorage.loadDataFromSaveFile(file);
+        }
+        return TaskIndexSidecar.apply(file, data);
+    }
+
+    /**
+     * Writes {@code taskManager} to {@code file} in the given format.
+     * Unknown formats are written as xml.
+     */
+    public static void write(File file, ReadOnlyTaskManager taskManager, String format) throws IOException {
+        FileUtil.createIfMissing(file);
+        if (StorageManager.BINARY_STORAGE_FORMAT.equalsIgnoreCase(format)) {
+            BinaryFileStorage.saveDataToFile(file, taskManager);
+        } else if (StorageManager.JSON_STORAGE_FORMAT.equalsIgnoreCase(format)) {
+            JsonFileStorage.saveDataToFile(file, taskManager);
+        } else {
+            XmlStreamFileStorage.saveDataToFile(file, taskManager);
+        }
+    }
+
+    /**
+     * Converts the data in {@code source} into {@code targetFormat} and writes it to {@code target}.
+     */
+    public static void convert(File source, File target, String targetFormat)
+            throws DataConversionException, IOException {
+        write(target, readAnyFormat(source), targetFormat);
+    }
+
+    public static void main(String[] args) throws DataConversionException, IOException {
+        if (args.length != 3) {
+            System.err.println(MESSAGE_USAGE);
+            return;
+        }
+        convert(new File(args[0]), new File(args[1]), args[2]);
+    }
+
+}
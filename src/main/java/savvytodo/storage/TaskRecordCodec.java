@@ -0,0 +1,171 @@
+package savvytodo.storage;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import savvytodo.commons.exceptions.IllegalValueException;
+import savvytodo.model.category.Category;
+import savvytodo.model.category.UniqueCategoryList;
+import savvytodo.model.task.DateTime;
+import savvytodo.model.task.Description;
+import savvytodo.model.task.Location;
+import savvytodo.model.task.Name;
+import savvytodo.model.task.Priority;
+import savvytodo.model.task.ReadOnlyTask;
+import savvytodo.model.task.Recurrence;
+import savvytodo.model.task.Status;
+import savvytodo.model.task.Task;
+import savvytodo.model.task.TimeStamp;
+
+/**
+ * Encodes a Task as a single line of text and back.
+ * Fields are tab separated, and tabs, newlines and backslashes inside a field are escaped.
+ * The last field of a record is the time stamp, everything before it forms the key of the record.
+ */
+public class TaskRecordCodec {
+
+    public static final String MESSAGE_INVALID_RECORD = "Invalid task record: %1$s";
+
+    private static final char FIELD_SEPARATOR = '\t';
+    private static final char ESCAPE = '\\';
+    private static final String CATEGORY_SEPARATOR = ",";
+    private static final String COMPLETED = "1";
+    private static final String ONGOING = "0";
+    private static final int NUM_OF_FIELDS = 11;
+
+    /**
+     * Returns the full record of {@code task}, including its time stamp.
+     */
+    public static String encode(ReadOnlyTask task) {
+        StringBuilder sb = new StringBuilder(encodeKey(task));
+        sb.append(FIELD_SEPARATOR).append(task.getTimeStamp().getDateTimeAdded());
+        return sb.toString();
+    }
+
+    /**
+     * Returns the part of the record of {@code task} that identifies it, i.e. everything but the time stamp.
+     * Categories are sorted so that equal tasks always give the same key.
+     */
+    public static String encodeKey(ReadOnlyTask task) {
+        StringBuilder sb = new StringBuilder();
+        appendField(sb, task.getName().name);
+        appendField(sb, task.getPriority().value);
+        appendField(sb, task.getDescription().value);
+        appendField(sb, task.getLocation().value);
+        appendField(sb, task.getDateTime().startValue);
+        appendField(sb, task.getDateTime().endValue);
+        appendField(sb, task.getRecurrence().type.toString());
+        appendField(sb, Integer.toString(task.getRecurrence().occurences));
+        appendField(sb, task.isCompleted().value ? COMPLETED : ONGOING);
+        TreeSet<String> categoryNames = new TreeSet<>();
+        for (Category category : task.getCategories()) {
+            categoryNames.add(category.categoryName);
+        }
+        escape(sb, String.join(CATEGORY_SEPARATOR, categoryNames));
+        return sb.toString();
+    }
+
+    /**
+     * Returns the key of an encoded record.
+     * @see #encodeKey(ReadOnlyTask)
+     */
+    public static String getKey(String record) {
+        return record.substring(0, record.lastIndexOf(FIELD_SEPARATOR));
+    }
+
+    /**
+     * Returns true if {@code record} has the shape of a complete record.
+     * The field values are only validated when the record is decoded.
+     */
+    public static boolean isWellFormed(String record) {
+        int separators = 0;
+        for (int i = 0; i < record.length(); i++) {
+            if (record.charAt(i) == FIELD_SEPARATOR) {
+                separators++;
+            }
+        }
+        return separators == NUM_OF_FIELDS - 1;
+    }
+
+    /**
+     * Converts an encoded record back into a Task.
+     * @throws IllegalValueException if the record is malformed or any of its field values is invalid.
+     */
+    public static Task decode(String record) throws IllegalValueException {
+        List<String> fields = split(record);
+        if (fields.size() != NUM_OF_FIELDS) {
+            throw new IllegalValueException(String.format(MESSAGE_INVALID_RECORD, record));
+        }
+        try {
+            UniqueCategoryList categories = new UniqueCategoryList();
+            if (!fields.get(9).isEmpty()) {
+                for (String categoryName : fields.get(9).split(CATEGORY_SEPARATOR)) {
+                    categories.add(new Category(categoryName));
+                }
+            }
+            return new Task(new Name(fields.get(0)), new Priority(fields.get(1)), new Description(fields.get(2)),
+                    new Location(fields.get(3)), categories, new DateTime(fields.get(4), fields.get(5)),
+                    new Recurrence(fields.get(6), Integer.parseInt(fields.get(7))),
+                    new Status(COMPLETED.equals(fields.get(8))),
+                    new TimeStamp(LocalDateTime.parse(fields.get(10))));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalValueException(String.format(MESSAGE_INVALID_RECORD, record));
+        }
+    }
+
+    private static void appendField(StringBuilder sb, String value) {
+        escape(sb, value);
+        sb.append(FIELD_SEPARATOR);
+    }
+
+    private static void escape(StringBuilder sb, String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case ESCAPE:
+                sb.append(ESCAPE).append(ESCAPE);
+                break;
+            case FIELD_SEPARATOR:
+                sb.append(ESCAPE).append('t');
+                break;
+            case '\n':
+                sb.append(ESCAPE).append('n');
+                break;
+            case '\r':
+                sb.append(ESCAPE).append('r');
+                break;
+            default:
+                sb.append(c);
+            }
+        }
+    }
+
+    private static List<String> split(String record) {
+        List<String> fields = new ArrayList<>(NUM_OF_FIELDS);
+        StringBuilder field = new StringBuilder();
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (c == FIELD_SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == ESCAPE && i + 1 < record.length()) {
+                char escaped = record.charAt(++i);
+                field.append(escaped == 't' ? FIELD_SEPARATOR
+                        : escaped == 'n' ? '\n'
+                        : escaped == 'r' ? '\r'
+                        : escaped);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+}
@@ -0,0 +1,378 @@
+package savvytodo.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EmptyStackException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import savvytodo.commons.core.LogsCenter;
+import savvytodo.commons.exceptions.IllegalValueException;
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.operations.InMemoryOperationHistory;
+import savvytodo.model.operations.Operation;
+import savvytodo.model.operations.OperationHistory;
+import savvytodo.model.task.ReadOnlyTask;
+
+/**
+ * Keeps the undo and redo operations of a data file in a file next to it, so that they can still be undone
+ * after a restart, without keeping them in memory.
+ *
+ * The file is a log with one line per change to the history: {@code U} and {@code R} followed by a record in the
+ * format of {@link OperationRecordCodec} push an undo or redo operation, {@code u} and {@code r} pop one, and
+ * {@code -u} and {@code -r} clear them. Only where each operation is in the file is kept in memory, the operation
+ * itself is read back when it is popped. Each stack keeps at most {@code depth} operations, the oldest are dropped
+ * like in a ring, and the file is rewritten with only the operations still kept once its log has grown.
+ *
+ * Closing the history adds a {@code =} line with the fingerprint of the data the operations were applied to.
+ * The history is only read back if it ends with the fingerprint of the data it is opened for, so that it is never
+ * applied to data that has changed in between, such as by another program or when the application did not exit.
+ */
+public class UndoHistoryFile implements OperationHistory {
+
+    public static final String UNDO_HISTORY_FILE_SUFFIX = ".undo";
+
+    static final String PUSH_UNDO = "U";
+    static final String PUSH_REDO = "R";
+    static final String POP_UNDO = "u";
+    static final String POP_REDO = "r";
+    static final String CLEAR_UNDO = "-u";
+    static final String CLEAR_REDO = "-r";
+    static final String FINGERPRINT = "=";
+
+    /** The log is rewritten once it has this many lines per operation kept. */
+    private static final int MAX_LINES_PER_OPERATION = 4;
+    private static final byte NEW_LINE = '\n';
+
+    private static final Logger logger = LogsCenter.getLogger(UndoHistoryFile.class);
+
+    private final File file;
+    private final int depth;
+    /** Where the record of each operation starts in the file and its length in bytes, the latest first. */
+    private final Deque<long[]> undoEntries = new ArrayDeque<>();
+    private final Deque<long[]> redoEntries = new ArrayDeque<>();
+    private long fileLength;
+    private int lineCount;
+    /** Keeps the operations once the file could not be written or read, null before. */
+    private OperationHistory fallback;
+
+    private UndoHistoryFile(File file, int depth) {
+        this.file = file;
+        this.depth = depth;
+    }
+
+    /**
+     * Returns the undo history that belongs to the data file at {@code filePath}.
+     */
+    public static File getUndoHistoryFile(String filePath) {
+        return new File(filePath + UNDO_HISTORY_FILE_SUFFIX);
+    }
+
+    /**
+     * Opens the history in {@code file}, which is started afresh unless it was closed with {@code taskManager}.
+     * @param depth the number of undo and redo operations each kept, at least 1.
+     */
+    public static UndoHistoryFile open(File file, int depth, ReadOnlyTaskManager taskManager) throws IOException {
+        assert depth > 0;
+        UndoHistoryFile history = new UndoHistoryFile(file, depth);
+        byte[] content = file.exists() ? Files.readAllBytes(file.toPath()) : new byte[0];
+        List<String> records = new ArrayList<>();
+        if (getFingerprint(taskManager).equals(history.replay(content))) {
+            records = history.readRecords(content);
+            logger.fine("Read " + history.undoEntries.size() + " undo and " + history.redoEntries.size()
+                    + " redo operations from " + file);
+        } else if (content.length > 0) {
+            history.undoEntries.clear();
+            history.redoEntries.clear();
+            logger.info("Data file changed since " + file + " was written, starting an empty undo history");
+        }
+        // the history is only valid again once it is closed
+        history.rewrite(records, history.undoEntries.size());
+        return history;
+    }
+
+    /**
+     * Replays the log in {@code content} into the entries.
+     * Returns the fingerprint the log ends with, or null if it does not end with one.
+     */
+    private String replay(byte[] content) {
+        String lastFingerprint = null;
+        int lineStart = 0;
+        while (lineStart < content.length) {
+            int lineEnd = indexOf(content, NEW_LINE, lineStart, content.length);
+            if (lineEnd < 0) {
+                // the last line was not completely written
+                lastFingerprint = null;
+                break;
+            }
+            String operation = readOperation(content, lineStart, lineEnd);
+            long[] entry = {lineStart + operation.length() + 1, lineEnd - lineStart - operation.length() - 1};
+            lastFingerprint = null;
+            switch (operation) {
+            case PUSH_UNDO:
+                addEntry(undoEntries, entry);
+                break;
+            case PUSH_REDO:
+                addEntry(redoEntries, entry);
+                break;
+            case POP_UNDO:
+                undoEntries.poll();
+                break;
+            case POP_REDO:
+                redoEntries.poll();
+                break;
+            case CLEAR_UNDO:
+                undoEntries.clear();
+                break;
+            case CLEAR_REDO:
+                redoEntries.clear();
+                break;
+            case FINGERPRINT:
+                lastFingerprint = new String(content, (int) entry[0], (int) entry[1], StandardCharsets.UTF_8);
+                break;
+            default:
+                logger.warning("Unknown line in " + file);
+                return null;
+            }
+            lineStart = lineEnd + 1;
+        }
+        return lastFingerprint;
+    }
+
+    private static String readOperation(byte[] content, int lineStart, int lineEnd) {
+        int operationEnd = indexOf(content, (byte) ' ', lineStart, lineEnd);
+        if (operationEnd < 0) {
+            operationEnd = lineEnd;
+        }
+        return new String(content, lineStart, operationEnd - lineStart, StandardCharsets.UTF_8);
+    }
+
+    private static int indexOf(byte[] content, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (content[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the records of the undo entries, then of the redo entries, the oldest first.
+     */
+    private List<String> readRecords(byte[] content) {
+        List<String> records = new ArrayList<>();
+        for (Deque<long[]> entries : getStacks()) {
+            for (Iterator<long[]> it = entries.descendingIterator(); it.hasNext();) {
+                long[] entry = it.next();
+                records.add(new String(content, (int) entry[0], (int) entry[1], StandardCharsets.UTF_8));
+            }
+        }
+        return records;
+    }
+
+    private List<Deque<long[]>> getStacks() {
+        List<Deque<long[]>> stacks = new ArrayList<>();
+        stacks.add(undoEntries);
+        stacks.add(redoEntries);
+        return stacks;
+    }
+
+    /**
+     * Replaces the file with one that only pushes {@code records}, the first {@code undoCount} of them as undo
+     * operations and the others as redo operations.
+     */
+    private void rewrite(List<String> records, int undoCount) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < records.size(); i++) {
+            sb.append(i < undoCount ? PUSH_UNDO : PUSH_REDO).append(' ').append(records.get(i)).append('\n');
+        }
+        byte[] content = sb.toString().getBytes(StandardCharsets.UTF_8);
+        AtomicFileWriter.write(file, tempFile -> Files.write(tempFile.toPath(), content));
+        undoEntries.clear();
+        redoEntries.clear();
+        fileLength = 0;
+        lineCount = 0;
+        replay(content);
+        fileLength = content.length;
+        lineCount = records.size();
+    }
+
+    /**
+     * Appends a line of {@code operation} followed by {@code record}, if it is not null.
+     * Returns the entry of the record.
+     */
+    private long[] append(String operation, String record) throws IOException {
+        String line = record == null ? operation : operation + " " + record;
+        byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+        Files.write(file.toPath(), bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        long[] entry = {fileLength + operation.length() + 1, bytes.length - operation.length() - 2};
+        fileLength += bytes.length;
+        lineCount++;
+        return entry;
+    }
+
+    private void addEntry(Deque<long[]> entries, long[] entry) {
+        entries.push(entry);
+        if (entries.size() > depth) {
+            entries.removeLast();
+        }
+    }
+
+    private String readRecord(long[] entry) throws IOException {
+        byte[] record = new byte[(int) entry[1]];
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            in.seek(entry[0]);
+            in.readFully(record);
+        }
+        return new String(record, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Rewrites the file once its log has grown to several times the operations it keeps.
+     */
+    private void compactIfNeeded() throws IOException {
+        if (lineCount < MAX_LINES_PER_OPERATION * depth) {
+            return;
+        }
+        List<String> records = new ArrayList<>();
+        for (Deque<long[]> entries : getStacks()) {
+            for (Iterator<long[]> it = entries.descendingIterator(); it.hasNext();) {
+                records.add(readRecord(it.next()));
+            }
+        }
+        rewrite(records, undoEntries.size());
+    }
+
+    /**
+     * Keeps the operations in memory from now on, after the file could not be written or read.
+     */
+    private void useFallback(Exception e) {
+        logger.warning("Could not use the undo history in " + file + ", keeping it in memory: " + e);
+        undoEntries.clear();
+        redoEntries.clear();
+        fallback = new InMemoryOperationHistory(depth);
+    }
+
+    private void push(Deque<long[]> entries, String operation, Operation toPush) {
+        try {
+            addEntry(entries, append(operation, OperationRecordCodec.encode(toPush)));
+            compactIfNeeded();
+        } catch (IOException e) {
+            useFallback(e);
+        }
+    }
+
+    private Operation pop(Deque<long[]> entries, String operation) throws EmptyStackException {
+        if (entries.isEmpty()) {
+            throw new EmptyStackException();
+        }
+        try {
+            Operation popped = OperationRecordCodec.decode(readRecord(entries.peek()));
+            append(operation, null);
+            entries.pop();
+            return popped;
+        } catch (IOException | IllegalValueException e) {
+            useFallback(e);
+            throw new EmptyStackException();
+        }
+    }
+
+    private void clear(Deque<long[]> entries, String operation) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            append(operation, null);
+            entries.clear();
+            compactIfNeeded();
+        } catch (IOException e) {
+            useFallback(e);
+        }
+    }
+
+    @Override
+    public synchronized void pushUndo(Operation undoOperation) {
+        if (fallback != null) {
+            fallback.pushUndo(undoOperation);
+            return;
+        }
+        push(undoEntries, PUSH_UNDO, undoOperation);
+    }
+
+    @Override
+    public synchronized Operation popUndo() throws EmptyStackException {
+        return fallback != null ? fallback.popUndo() : pop(undoEntries, POP_UNDO);
+    }
+
+    @Override
+    public synchronized void clearUndo() {
+        if (fallback != null) {
+            fallback.clearUndo();
+            return;
+        }
+        clear(undoEntries, CLEAR_UNDO);
+    }
+
+    @Override
+    public synchronized void pushRedo(Operation redoOperation) {
+        if (fallback != null) {
+            fallback.pushRedo(redoOperation);
+            return;
+        }
+        push(redoEntries, PUSH_REDO, redoOperation);
+    }
+
+    @Override
+    public synchronized Operation popRedo() throws EmptyStackException {
+        return fallback != null ? fallback.popRedo() : pop(redoEntries, POP_REDO);
+    }
+
+    @Override
+    public synchronized void clearRedo() {
+        if (fallback != null) {
+            fallback.clearRedo();
+            return;
+        }
+        clear(redoEntries, CLEAR_REDO);
+    }
+
+    /**
+     * Marks the history as valid for {@code taskManager}, which has been saved to the data file,
+     * unless the file could not be used during this session.
+     */
+    @Override
+    public synchronized void close(ReadOnlyTaskManager taskManager) {
+        if (fallback != null) {
+            return;
+        }
+        try {
+            append(FINGERPRINT, getFingerprint(taskManager));
+            AtomicFileWriter.markWritten(file);
+        } catch (IOException e) {
+            logger.warning("Could not close the undo history in " + file + ": " + e);
+        }
+    }
+
+    /**
+     * Returns a fingerprint of the tasks of {@code taskManager} and their order, which undo operations rely on.
+     * The time tasks were added is left out, as not every data file keeps it.
+     */
+    static String getFingerprint(ReadOnlyTaskManager taskManager) {
+        CRC32 checksum = new CRC32();
+        for (ReadOnlyTask task : taskManager.getTaskList()) {
+            checksum.update(TaskRecordCodec.encodeKey(task).getBytes(StandardCharsets.UTF_8));
+            checksum.update(NEW_LINE);
+        }
+        return taskManager.getTaskList().size() + ":" + Long.toHexString(checksum.getValue());
+    }
+
+}
@@ -2,6 +2,7 @@ package savvytodo.storage;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 
 import javax.xml.bind.JAXBException;
 
@@ -15,8 +16,7 @@ public class XmlFileStorage {
     /**
      * Saves the given taskManager data to the specified file.
      */
-    public static void saveDataToFile(File file, XmlSerializableTaskManager taskManager)
-            throws FileNotFoundException {
+    public static void saveDataToFile(File file, XmlSerializableTaskManager taskManager) throws IOException {
         try {
             XmlUtil.saveDataToFile(file, taskManager);
         } catch (JAXBException e) {
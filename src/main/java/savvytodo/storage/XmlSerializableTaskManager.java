@@ -1,5 +1,6 @@
 package savvytodo.storage;
 
+import java.time.DateTimeException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -45,20 +46,31 @@ public class XmlSerializableTaskManager implements ReadOnlyTaskManager {
         categories.addAll(src.getCategoryList().stream().map(XmlAdaptedCategory::new).collect(Collectors.toList()));
     }
 
+    /**
+     * Returns the tasks, converted in parallel when there are many of them.
+     * @see ParallelTaskConverter
+     */
     @Override
     public ObservableList<ReadOnlyTask> getTaskList() {
-        final ObservableList<Task> tasks = this.tasks.stream().map(p -> {
-            try {
-                return p.toModelType();
-            } catch (IllegalValueException e) {
-                e.printStackTrace();
-                //TODO: better error handling
-                return null;
-            }
-        }).collect(Collectors.toCollection(FXCollections::observableArrayList));
+        final ObservableList<Task> tasks = FXCollections.observableArrayList();
+        try {
+            tasks.addAll(ParallelTaskConverter.convert(this.tasks, XmlSerializableTaskManager::toModelType));
+        } catch (IllegalValueException e) {
+            assert false : "invalid tasks are converted to null";
+        }
         return new UnmodifiableObservableList<>(tasks);
     }
 
+    private static Task toModelType(XmlAdaptedTask task) {
+        try {
+            return task.toModelType();
+        } catch (IllegalValueException | DateTimeException e) {
+            e.printStackTrace();
+            //TODO: better error handling
+            return null;
+        }
+    }
+
     @Override
     public ObservableList<Category> getCategoryList() {
         final ObservableList<Category> categories = this.categories.stream().map(t -> {
@@ -0,0 +1,346 @@
+package savvytodo.storage;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.Checksum;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import savvytodo.commons.exceptions.DataConversionException;
+import savvytodo.commons.exceptions.IllegalValueException;
+import savvytodo.commons.util.FileUtil;
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.TaskManagerSnapshot;
+import savvytodo.model.category.Category;
+import savvytodo.model.task.ReadOnlyTask;
+import savvytodo.model.task.Task;
+
+/**
+ * Stores taskManager data in an XML file, one element at a time.
+ * Uses the same layout as {@link XmlSerializableTaskManager}, but converts between the file and {@link Task}s
+ * directly, so the whole file never has to be held in memory as an intermediate object graph.
+ */
+public class XmlStreamFileStorage {
+
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>";
+    private static final String INDENT = "    ";
+
+    private static final String ROOT_ELEMENT = "taskmanager";
+    private static final String TASK_ELEMENT = "tasks";
+    private static final String CATEGORY_ELEMENT = "categories";
+    private static final String NAME_ELEMENT = "name";
+    private static final String PRIORITY_ELEMENT = "priority";
+    private static final String DESCRIPTION_ELEMENT = "description";
+    private static final String LOCATION_ELEMENT = "location";
+    private static final String DATE_TIME_ELEMENT = "dateTime";
+    private static final String START_VALUE_ELEMENT = "startValue";
+    private static final String END_VALUE_ELEMENT = "endValue";
+    private static final String RECURRENCE_ELEMENT = "recurrence";
+    private static final String OCCURENCES_ELEMENT = "occurences";
+    private static final String TYPE_ELEMENT = "type";
+    private static final String STATUS_ELEMENT = "status";
+    private static final String TIME_STAMP_ELEMENT = "timeStamp";
+    private static final String TASK_CATEGORY_ELEMENT = "categorized";
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * Saves the given taskManager data to the specified file, writing one task at a time.
+     */
+    public static void saveDataToFile(File file, ReadOnlyTaskManager taskManager) throws IOException {
+        saveDataToFile(file, taskManager, null, null);
+    }
+
+    /**
+     * Saves the given taskManager data to the specified file, writing the cached xml of the tasks
+     * that have not changed since the last save and serialising only the others.
+     * {@code fragmentCache} is updated once the file has been written.
+     * @param fragmentCache the xml of the last save to the file, or null to serialise every task.
+     * @param checksum the checksum to update with the bytes written to the file, or null to keep none.
+     */
+    public static void saveDataToFile(File file, ReadOnlyTaskManager taskManager,
+            XmlTaskFragmentCache fragmentCache, Checksum checksum) throws IOException {
+        assert file != null;
+        assert taskManager != null;
+
+        Map<ReadOnlyTask, String> savedFragments = null;
+        if (fragmentCache != null) {
+            savedFragments = new IdentityHashMap<>(taskManager.getTaskList().size() * 2);
+        }
+        int reusedCount = 0;
+
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(DataFileCompression.openOutput(file, checksum),
+                StandardCharsets.UTF_8))) {
+            // elements are serialised into a buffer one at a time, so that each task's xml can be cached
+            StringWriter fragment = new StringWriter();
+            XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(fragment);
+            try {
+                out.write(XML_DECLARATION);
+                out.write("\n<" + ROOT_ELEMENT + ">");
+                for (ReadOnlyTask task : taskManager.getTaskList()) {
+                    String taskXml = fragmentCache == null ? null : fragmentCache.getFragment(task);
+                    if (taskXml == null) {
+                        writeTask(writer, task);
+                        taskXml = takeFragment(writer, fragment);
+                    } else {
+                        reusedCount++;
+                    }
+                    out.write(taskXml);
+                    if (savedFragments != null) {
+                        savedFragments.put(task, taskXml);
+                    }
+                }
+                for (Category category : taskManager.getCategoryList()) {
+                    writeElement(writer, 1, CATEGORY_ELEMENT, category.categoryName);
+                }
+                out.write(takeFragment(writer, fragment));
+                out.write("\n</" + ROOT_ELEMENT + ">\n");
+            } finally {
+                writer.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+
+        if (fragmentCache != null) {
+            fragmentCache.update(savedFragments, reusedCount);
+        }
+    }
+
+    /**
+     * Returns task manager in the file.
+     * @throws FileNotFoundException if the file is missing.
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    public static ReadOnlyTaskManager loadDataFromSaveFile(File file) throws DataConversionException, IOException {
+        List<Task> tasks = new ArrayList<>();
+        List<Category> categories = new ArrayList<>();
+        readDataFromSaveFile(file, tasks::add, categories::add);
+        return new TaskManagerSnapshot(tasks, categories);
+    }
+
+    /**
+     * Reads the file one element at a time, passing each task and each category to the given handlers
+     * in the order they appear in the file.
+     * @throws FileNotFoundException if the file is missing.
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    public static void readDataFromSaveFile(File file, Consumer<Task> taskHandler,
+            Consumer<Category> categoryHandler) throws DataConversionException, IOException {
+        assert taskHandler != null;
+        readStoredData(file, StoredTask.converting(taskHandler), categoryHandler);
+    }
+
+    /**
+     * Reads the file one element at a time, passing each task to {@code taskSink} before it is converted
+     * and each category to {@code categoryHandler}, in the order they appear in the file.
+     * @throws FileNotFoundException if the file is missing.
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    static void readStoredData(File file, StoredTask.Sink taskSink, Consumer<Category> categoryHandler)
+            throws DataConversionException, IOException {
+        assert file != null;
+        assert taskSink != null && categoryHandler != null;
+
+        if (!FileUtil.isFileExists(file)) {
+            throw new FileNotFoundException("File not found : " + file.getAbsolutePath());
+        }
+
+        try (InputStream in = DataFileCompression.openInput(file)) {
+            XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(in);
+            try {
+                reader.nextTag();
+                reader.require(XMLStreamConstants.START_ELEMENT, null, ROOT_ELEMENT);
+                while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                    case TASK_ELEMENT:
+                        taskSink.accept(readTask(reader));
+                        break;
+                    case CATEGORY_ELEMENT:
+                        taskSink.flush();
+                        categoryHandler.accept(new Category(reader.getElementText()));
+                        break;
+                    default:
+                        skipElement(reader);
+                    }
+                }
+                taskSink.flush();
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException | IllegalValueException | NumberFormatException e) {
+            throw new DataConversionException(e);
+        }
+    }
+
+    //================ Writing ==============================
+
+    private static void writeTask(XMLStreamWriter writer, ReadOnlyTask task) throws XMLStreamException {
+        writeIndent(writer, 1);
+        writer.writeStartElement(TASK_ELEMENT);
+        writeElement(writer, 2, NAME_ELEMENT, task.getName().name);
+        writeElement(writer, 2, PRIORITY_ELEMENT, task.getPriority().value);
+        writeElement(writer, 2, DESCRIPTION_ELEMENT, task.getDescription().value);
+        writeElement(writer, 2, LOCATION_ELEMENT, task.getLocation().value);
+
+        writeIndent(writer, 2);
+        writer.writeStartElement(DATE_TIME_ELEMENT);
+        writeElement(writer, 3, START_VALUE_ELEMENT, task.getDateTime().startValue);
+        writeElement(writer, 3, END_VALUE_ELEMENT, task.getDateTime().endValue);
+        writeIndent(writer, 2);
+        writer.writeEndElement();
+
+        writeIndent(writer, 2);
+        writer.writeStartElement(RECURRENCE_ELEMENT);
+        writeElement(writer, 3, OCCURENCES_ELEMENT, Integer.toString(task.getRecurrence().occurences));
+        writeElement(writer, 3, TYPE_ELEMENT, task.getRecurrence().type.toString());
+        writeIndent(writer, 2);
+        writer.writeEndElement();
+
+        writeElement(writer, 2, STATUS_ELEMENT, Boolean.toString(task.isCompleted().value));
+        writeElement(writer, 2, TIME_STAMP_ELEMENT, task.getTimeStamp().toString());
+        for (Category category : task.getCategories()) {
+            writeElement(writer, 2, TASK_CATEGORY_ELEMENT, category.categoryName);
+        }
+        writeIndent(writer, 1);
+        writer.writeEndElement();
+    }
+
+    /**
+     * Writes a simple text element on its own line. Null values are left out, as they are by JAXB.
+     */
+    private static void writeElement(XMLStreamWriter writer, int depth, String element, String value)
+            throws XMLStreamException {
+        if (value == null) {
+            return;
+        }
+        writeIndent(writer, depth);
+        writer.writeStartElement(element);
+        writer.writeCharacters(value);
+        writer.writeEndElement();
+    }
+
+    /**
+     * Returns what {@code writer} has written to {@code fragment} so far, and empties {@code fragment}.
+     */
+    private static String takeFragment(XMLStreamWriter writer, StringWriter fragment) throws XMLStreamException {
+        writer.flush();
+        String xml = fragment.toString();
+        fragment.getBuffer().setLength(0);
+        return xml;
+    }
+
+    private static void writeIndent(XMLStreamWriter writer, int depth) throws XMLStreamException {
+        StringBuilder sb = new StringBuilder("\n");
+        for (int i = 0; i < depth; i++) {
+            sb.append(INDENT);
+        }
+        writer.writeCharacters(sb.toString());
+    }
+
+    //================ Reading ==============================
+
+    /**
+     * Reads the task element the reader is positioned at, leaving the reader at its end tag.
+     * The values are only validated when the task is converted, see {@link StoredTask#toModelType()}.
+     */
+    private static StoredTask readTask(XMLStreamReader reader) throws XMLStreamException {
+        StoredTask task = new StoredTask();
+
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+            case NAME_ELEMENT:
+                task.name = reader.getElementText();
+                break;
+            case PRIORITY_ELEMENT:
+                task.priority = reader.getElementText();
+                break;
+            case DESCRIPTION_ELEMENT:
+                task.description = reader.getElementText();
+                break;
+            case LOCATION_ELEMENT:
+                task.location = reader.getElementText();
+                break;
+            case DATE_TIME_ELEMENT:
+                while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    if (START_VALUE_ELEMENT.equals(reader.getLocalName())) {
+                        task.startValue = reader.getElementText();
+                    } else if (END_VALUE_ELEMENT.equals(reader.getLocalName())) {
+                        task.endValue = reader.getElementText();
+                    } else {
+                        skipElement(reader);
+                    }
+                }
+                break;
+            case RECURRENCE_ELEMENT:
+                while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    if (OCCURENCES_ELEMENT.equals(reader.getLocalName())) {
+                        task.occurences = Integer.parseInt(reader.getElementText().trim());
+                    } else if (TYPE_ELEMENT.equals(reader.getLocalName())) {
+                        task.recurrenceType = reader.getElementText();
+                    } else {
+                        skipElement(reader);
+                    }
+                }
+                break;
+            case STATUS_ELEMENT:
+                String status = reader.getElementText().trim();
+                task.isCompleted = "true".equals(status) || "1".equals(status);
+                break;
+            case TIME_STAMP_ELEMENT:
+                // files written before the time was kept have an empty element
+                String timeStamp = reader.getElementText().trim();
+                task.timeStampValue = timeStamp.isEmpty() ? null : timeStamp;
+                break;
+            case TASK_CATEGORY_ELEMENT:
+                task.categories.add(reader.getElementText());
+                break;
+            default:
+                skipElement(reader);
+            }
+        }
+
+        return task;
+    }
+
+    /**
+     * Skips the element the reader is positioned at, including all its children.
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package savvytodo.storage;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import savvytodo.model.task.ReadOnlyTask;
+
+/**
+ * The xml written for each task by the last successful save of a file.
+ * Tasks are replaced rather than modified once they are in a task manager, so a task that is the same object
+ * as one that was written last time has not changed, and its xml can be written again as it is.
+ * Tasks that were added or edited since are new objects and are the only ones that have to be serialised.
+ */
+public class XmlTaskFragmentCache {
+
+    private Map<ReadOnlyTask, String> fragments = new IdentityHashMap<>();
+    private int lastReusedCount;
+    private int lastSerialisedCount;
+    private int lastDroppedCount;
+
+    /**
+     * Returns the xml last written for {@code task}, or null if the task has been added or edited since.
+     */
+    synchronized String getFragment(ReadOnlyTask task) {
+        return fragments.get(task);
+    }
+
+    /**
+     * Replaces the cached xml with that of a save that has just succeeded.
+     * Tasks that were not part of the save, e.g. because they have been deleted or edited, are dropped.
+     * @param reusedCount the number of tasks in {@code savedFragments} whose xml was taken from this cache.
+     */
+    synchronized void update(Map<ReadOnlyTask, String> savedFragments, int reusedCount) {
+        lastDroppedCount = fragments.size() - reusedCount;
+        lastReusedCount = reusedCount;
+        lastSerialisedCount = savedFragments.size() - reusedCount;
+        fragments = savedFragments;
+    }
+
+    /** Returns the number of tasks whose cached xml was written again by the last save. */
+    public synchronized int getLastReusedCount() {
+        return lastReusedCount;
+    }
+
+    /** Returns the number of tasks the last save had to serialise, i.e. those added or edited before it. */
+    public synchronized int getLastSerialisedCount() {
+        return lastSerialisedCount;
+    }
+
+    /** Returns the number of tasks that were in the save before the last one but not in the last one. */
+    public synchronized int getLastDroppedCount() {
+        return lastDroppedCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return lastReusedCount + " tasks reused, " + lastSerialisedCount + " serialised, "
+                + lastDroppedCount + " dropped";
+    }
+
+}
@@ -1,33 +1,50 @@
 package savvytodo.storage;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Optional;
 import java.util.logging.Logger;
+import java.util.zip.Checksum;
 
 import savvytodo.commons.core.LogsCenter;
 import savvytodo.commons.exceptions.DataConversionException;
-import savvytodo.commons.util.FileUtil;
 import savvytodo.model.ReadOnlyTaskManager;
 
 /**
  * A class to access TaskManager data stored as an xml file on the hard disk.
+ * Binary files are recognised and read as well, see {@link TaskManagerFileConverter}.
+ * Saves to the data file only serialise the tasks that changed since the previous save,
+ * see {@link XmlTaskFragmentCache}.
  */
-public class XmlTaskManagerStorage implements TaskManagerStorage {
+public class XmlTaskManagerStorage implements DeferringTaskManagerStorage {
 
     private static final Logger logger = LogsCenter.getLogger(XmlTaskManagerStorage.class);
 
     private String filePath;
+    /** Reads the data file in two steps if it is large, null if it is always read in one. */
+    private final IncrementalTaskLoader incrementalLoader;
+    private final XmlTaskFragmentCache fragmentCache = new XmlTaskFragmentCache();
 
     public XmlTaskManagerStorage(String filePath) {
+        this(filePath, false);
+    }
+
+    /**
+     * @param isLoadingIncrementally if true, a large data file is read in two steps, see {@link IncrementalTaskLoader}.
+     */
+    public XmlTaskManagerStorage(String filePath, boolean isLoadingIncrementally) {
         this.filePath = filePath;
+        this.incrementalLoader = isLoadingIncrementally ? new IncrementalTaskLoader(filePath) : null;
     }
 
     public String getTaskManagerFilePath() {
         return filePath;
     }
 
+    public XmlTaskFragmentCache getFragmentCache() {
+        return fragmentCache;
+    }
+
     @Override
     public Optional<ReadOnlyTaskManager> readTaskManager() throws DataConversionException, IOException {
         return taskManagerBook(filePath);
@@ -39,7 +56,7 @@ public class XmlTaskManagerStorage implements TaskManagerStorage {
      * @throws DataConversionException if the file is not in the correct format.
      */
     public Optional<ReadOnlyTaskManager> taskManagerBook(String filePath) throws DataConversionException,
-                                                                                 FileNotFoundException {
+                                                                                 IOException {
         assert filePath != null;
 
         File taskManagerFile = new File(filePath);
@@ -49,11 +66,36 @@ public class XmlTaskManagerStorage implements TaskManagerStorage {
             return Optional.empty();
         }
 
-        ReadOnlyTaskManager taskManagerOptional = XmlFileStorage.loadDataFromSaveFile(new File(filePath));
+        if (incrementalLoader != null && filePath.equals(this.filePath)) {
+            return Optional.of(incrementalLoader.read());
+        }
+        ReadOnlyTaskManager taskManagerOptional = TaskManagerFileConverter.readAnyFormat(taskManagerFile);
 
         return Optional.of(taskManagerOptional);
     }
 
+    @Override
+    public Optional<ReadOnlyTaskManager> readWholeTaskManager() throws DataConversionException, IOException {
+        return new XmlTaskManagerStorage(filePath).readTaskManager();
+    }
+
+    @Override
+    public boolean hasDeferredTasks() {
+        return incrementalLoader != null && incrementalLoader.hasDeferredTasks();
+    }
+
+    @Override
+    public boolean isLoadingDeferredTasks() {
+        return incrementalLoader != null && incrementalLoader.isLoadingDeferredTasks();
+    }
+
+    @Override
+    public void markDeferredTasksMerged() {
+        if (incrementalLoader != null) {
+            incrementalLoader.markDeferredTasksMerged();
+        }
+    }
+
     @Override
     public void saveTaskManager(ReadOnlyTaskManager taskManager) throws IOException {
         saveTaskManager(taskManager, filePath);
@@ -68,8 +110,20 @@ public class XmlTaskManagerStorage implements TaskManagerStorage {
         assert filePath != null;
 
         File file = new File(filePath);
-        FileUtil.createIfMissing(file);
-        XmlFileStorage.saveDataToFile(file, new XmlSerializableTaskManager(taskManager));
+        boolean isDataFile = filePath.equals(this.filePath);
+        // tasks of the data file that are still being read are not part of the data yet
+        ReadOnlyTaskManager data = isDataFile && incrementalLoader != null
+                ? incrementalLoader.addDeferredTasks(taskManager) : taskManager;
+        Checksum checksum = TaskIndexSidecar.newChecksum(data);
+        if (isDataFile) {
+            AtomicFileWriter.write(file, tempFile -> XmlStreamFileStorage.saveDataToFile(tempFile, data,
+                    fragmentCache, checksum));
+            logger.fine("Saved " + file + ": " + fragmentCache);
+        } else {
+            AtomicFileWriter.write(file, tempFile -> XmlStreamFileStorage.saveDataToFile(tempFile, data, null,
+                    checksum));
+        }
+        TaskIndexSidecar.write(file, data, checksum);
     }
 
 }
@@ -156,6 +156,7 @@ public class MainWindow extends UiPart<Region> {
         } else {
             statusBar.setSaveLocation(config.getTaskManagerFilePath());
         }
+        statusBar.setLoading(logic.isLoadingTasks());
 
         if (commandBox == null) {
             commandBox = new CommandBox(getCommandBoxPlaceholder(), logic);
@@ -7,11 +7,14 @@ import org.controlsfx.control.StatusBar;
 
 import com.google.common.eventbus.Subscribe;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.Region;
 import savvytodo.commons.core.LogsCenter;
+import savvytodo.commons.events.model.DeferredTasksMergedEvent;
 import savvytodo.commons.events.model.TaskManagerChangedEvent;
+import savvytodo.commons.events.storage.DeferredTasksLoadFailedEvent;
 import savvytodo.commons.util.FxViewUtil;
 
 /**
@@ -27,6 +30,9 @@ public class StatusBarFooter extends UiPart<Region> {
 
     private static final String FXML = "StatusBarFooter.fxml";
 
+    private static final String STATUS_LOADING = "Loading older tasks...";
+    private static final String STATUS_LOAD_FAILED = "Could not load older tasks";
+
     public StatusBarFooter(AnchorPane placeHolder, String saveLocation) {
         super(FXML);
         addToPlaceholder(placeHolder);
@@ -48,6 +54,34 @@ public class StatusBarFooter extends UiPart<Region> {
         this.syncStatus.setText(status);
     }
 
+    /**
+     * Shows whether older tasks of the data file are still loaded in the background.
+     */
+    public void setLoading(boolean isLoading) {
+        if (isLoading) {
+            setSyncStatus(STATUS_LOADING);
+            syncStatus.setProgress(-1);
+        } else {
+            syncStatus.setProgress(0);
+        }
+    }
+
+    @Subscribe
+    public void handleDeferredTasksMergedEvent(DeferredTasksMergedEvent event) {
+        logger.info(LogsCenter.getEventHandlingLogMessage(event, "Older tasks loaded"));
+        setLoading(false);
+    }
+
+    @Subscribe
+    public void handleDeferredTasksLoadFailedEvent(DeferredTasksLoadFailedEvent event) {
+        logger.info(LogsCenter.getEventHandlingLogMessage(event));
+        // raised on the thread that loads the tasks
+        Platform.runLater(() -> {
+            setLoading(false);
+            setSyncStatus(STATUS_LOAD_FAILED);
+        });
+    }
+
     @Subscribe
     public void handleTaskManagerChangedEvent(TaskManagerChangedEvent abce) {
         String lastUpdated = (new Date()).toString();
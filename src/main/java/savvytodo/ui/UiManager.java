@@ -29,6 +29,14 @@ public class UiManager extends ComponentManager implements Ui {
     private static final Logger logger = LogsCenter.getLogger(UiManager.class);
     private static final String ICON_APPLICATION = "/images/task_manager_32.png";
     public static final String ALERT_DIALOG_PANE_FIELD_ID = "alertDialogPane";
+    /** The classes the FXML files of the UI are made of, which are loaded on the FX thread otherwise. */
+    private static final String[] VIEW_CLASS_NAMES = {"javafx.fxml.FXMLLoader", "javafx.scene.control.Label",
+        "javafx.scene.control.ListView", "javafx.scene.control.Menu", "javafx.scene.control.MenuBar",
+        "javafx.scene.control.MenuItem", "javafx.scene.control.SplitPane",
+        "javafx.scene.control.TextArea", "javafx.scene.control.TextField", "javafx.scene.layout.AnchorPane",
+        "javafx.scene.layout.FlowPane", "javafx.scene.layout.GridPane", "javafx.scene.layout.HBox",
+        "javafx.scene.layout.StackPane", "javafx.scene.layout.VBox", "javafx.scene.shape.Circle",
+        "javafx.scene.web.WebView", "org.controlsfx.control.StatusBar"};
 
     private Logic logic;
 
@@ -43,6 +51,21 @@ public class UiManager extends ComponentManager implements Ui {
         this.prefs = prefs;
     }
 
+    /**
+     * Loads the classes of the UI without initialising them, which is safe to do before the UI starts
+     * and on any thread, so that building the UI on the FX thread does not have to wait for the class loader.
+     */
+    public static void preloadViewClasses() {
+        ClassLoader classLoader = UiManager.class.getClassLoader();
+        for (String className : VIEW_CLASS_NAMES) {
+            try {
+                Class.forName(className, false, classLoader);
+            } catch (ClassNotFoundException e) {
+                logger.fine("Could not preload " + className);
+            }
+        }
+    }
+
     @Override
     public void start(Stage primaryStage) {
         logger.info("Starting UI...");
@@ -138,7 +161,13 @@ public class UiManager extends ComponentManager implements Ui {
     @Subscribe
     private void handleDataSavingExceptionEvent(DataSavingExceptionEvent event) {
         logger.info(LogsCenter.getEventHandlingLogMessage(event));
-        showFileOperationAlertAndWait("Could not save data", "Could not save data to file", event.exception);
+        // Saves may fail on the background writer thread, but dialogs can only be shown on the FX thread
+        if (Platform.isFxApplicationThread()) {
+            showFileOperationAlertAndWait("Could not save data", "Could not save data to file", event.exception);
+        } else {
+            Platform.runLater(() -> showFileOperationAlertAndWait("Could not save data",
+                    "Could not save data to file", event.exception));
+        }
     }
 
     @Subscribe
@@ -55,6 +55,17 @@ public class TestApp extends MainApp {
         config.setAppTitle(APP_TITLE);
     }
 
+    @Override
+    protected Config initConfig(String configFilePath) {
+        Config config = super.initConfig(configFilePath);
+        // every test starts another app on the same data file without stopping the previous one
+        config.setTaskManagerSharedAccess(false);
+        config.setTaskManagerWatchFile(false);
+        // each test starts with its own history rather than the one left by the previous test
+        config.setUndoHistoryDepth(0);
+        return config;
+    }
+
     @Override
     protected UserPrefs initPrefs(Config config) {
         UserPrefs userPrefs = super.initPrefs(config);
@@ -18,7 +18,16 @@ public class ConfigTest {
                 "Current log level : INFO\n" +
                 "Preference file Location : preferences.json\n" +
                 "Local data file location : data/taskmanager.xml\n" +
-                "TaskManager name : MyTaskManager";
+                "TaskManager name : MyTaskManager\n" +
+                "TaskManager storage format : xml\n" +
+                "TaskManager save window (ms) : 300\n" +
+                "TaskManager compression level : 0\n" +
+                "TaskManager archive after (days) : 0\n" +
+                "TaskManager shared access : true\n" +
+                "TaskManager watch file : true\n" +
+                "TaskManager sync policy : interval\n" +
+                "TaskManager sync interval (ms) : 1000\n" +
+                "Undo history depth : 100";
 
         assertEquals(defaultConfigAsString, new Config().toString());
     }
@@ -0,0 +1,73 @@
+package savvytodo.commons.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class StartupOrchestratorTest {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private final List<String> finishedPhases = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    public void run_dependentPhases_runAfterTheirDependencies() {
+        StartupOrchestrator orchestrator = new StartupOrchestrator()
+                .addPhase("config", () -> finishedPhases.add("config"))
+                .addPhase("storage", () -> finishedPhases.add("storage"), "config")
+                .addPhase("model", () -> finishedPhases.add("model"), "config", "storage");
+        orchestrator.run();
+
+        assertEquals(Arrays.asList("config", "storage", "model"), finishedPhases);
+        assertEquals(Arrays.asList("config", "storage", "model"),
+                new ArrayList<>(orchestrator.getPhaseMillis().keySet()));
+    }
+
+    @Test
+    public void run_independentPhases_runAtTheSameTime() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Runnable waitForOther = () -> {
+            bothStarted.countDown();
+            try {
+                finishedPhases.add(String.valueOf(bothStarted.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        new StartupOrchestrator().addPhase("model", waitForOther).addPhase("view classes", waitForOther).run();
+
+        assertEquals(Arrays.asList("true", "true"), finishedPhases);
+    }
+
+    @Test
+    public void run_phaseFails_failureRethrownAndDependentsSkipped() {
+        StartupOrchestrator orchestrator = new StartupOrchestrator()
+                .addPhase("storage", () -> {
+                    throw new IllegalStateException("Data file locked");
+                })
+                .addPhase("model", () -> finishedPhases.add("model"), "storage");
+        try {
+            thrown.expect(IllegalStateException.class);
+            orchestrator.run();
+        } finally {
+            assertTrue(finishedPhases.isEmpty());
+            assertFalse(orchestrator.getPhaseMillis().containsKey("model"));
+            assertTrue(orchestrator.getTimingReport().contains("model: did not run"));
+        }
+    }
+
+}
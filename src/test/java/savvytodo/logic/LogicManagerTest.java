@@ -3,10 +3,12 @@ package savvytodo.logic;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static savvytodo.commons.core.Messages.MESSAGE_ARCHIVED_TASKS_LISTED_OVERVIEW;
 import static savvytodo.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
 import static savvytodo.commons.core.Messages.MESSAGE_INVALID_TASK_DISPLAYED_INDEX;
 import static savvytodo.commons.core.Messages.MESSAGE_UNKNOWN_COMMAND;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -25,6 +27,7 @@ import savvytodo.commons.core.EventsCenter;
 import savvytodo.commons.events.model.TaskManagerChangedEvent;
 import savvytodo.commons.events.ui.JumpToListRequestEvent;
 import savvytodo.commons.events.ui.ShowHelpRequestEvent;
+import savvytodo.commons.util.DateTimeUtil;
 import savvytodo.commons.util.EnumUtil;
 import savvytodo.logic.commands.AddCommand;
 import savvytodo.logic.commands.ClearCommand;
@@ -50,10 +53,12 @@ import savvytodo.model.task.Name;
 import savvytodo.model.task.Priority;
 import savvytodo.model.task.ReadOnlyTask;
 import savvytodo.model.task.Recurrence;
+import savvytodo.model.task.Status;
 import savvytodo.model.task.Task;
 import savvytodo.model.task.TimeStamp;
 import savvytodo.model.task.Type;
 import savvytodo.storage.StorageManager;
+import savvytodo.storage.XmlTaskManagerStorage;
 
 public class LogicManagerTest {
 
@@ -399,6 +404,72 @@ public class LogicManagerTest {
                 expectedList);
     }
 
+    @Test
+    public void archiveCompletedTasks_oldCompletedTask_movedToArchiveAndFound() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Task completed = helper.generateTaskWithName("completed KEY");
+        completed.setStatus(new Status(true));
+        Task ongoing = helper.generateTaskWithName("ongoing KEY");
+        helper.addToModel(model, helper.generateTaskList(completed, ongoing));
+
+        assertEquals(0, logic.archiveCompletedTasks(TimeStamp.DEFAULT_DATE_TIME.minusDays(1)));
+        assertEquals(1, logic.archiveCompletedTasks(LocalDateTime.now()));
+        assertEquals(Collections.singletonList(ongoing), model.getTaskManager().getTaskList());
+
+        String feedback = logic.execute("find KEY").feedbackToUser;
+        assertTrue(feedback.startsWith(Command.getMessageForTaskListShownSummary(1)));
+        assertTrue(feedback.contains(String.format(MESSAGE_ARCHIVED_TASKS_LISTED_OVERVIEW, 1)));
+        assertTrue(feedback.contains(completed.getAsText()));
+        assertFalse(logic.execute("find ongoing").feedbackToUser.contains(completed.getAsText()));
+        assertTrue(logic.execute("list s/completed").feedbackToUser.contains(completed.getAsText()));
+    }
+
+    @Test
+    public void archiveCompletedTasks_olderTasksLoading_archivedOnceAdded() throws Exception {
+        String tempTaskManagerFile = saveFolder.getRoot().getPath() + "TempTaskManager.xml";
+        String tempPreferencesFile = saveFolder.getRoot().getPath() + "TempPreferences.json";
+        boolean[] isLoading = {true};
+        logic = new LogicManager(model, new StorageManager(tempTaskManagerFile, tempPreferencesFile) {
+            @Override
+            public boolean isLoadingDeferredTasks() {
+                return isLoading[0];
+            }
+        });
+        TestDataHelper helper = new TestDataHelper();
+        Task completed = helper.generateTaskWithName("completed");
+        completed.setStatus(new Status(true));
+        Task olderCompleted = helper.generateTaskWithName("older completed");
+        olderCompleted.setStatus(new Status(true));
+        Task ongoing = helper.generateTaskWithName("ongoing");
+        helper.addToModel(model, helper.generateTaskList(completed, ongoing));
+
+        // most completed tasks are among the older tasks, which are not in the model yet
+        assertEquals(0, logic.archiveCompletedTasks(LocalDateTime.now()));
+        assertEquals(2, model.getTaskManager().getTaskList().size());
+        model.addDeferredTasks(helper.generateTaskManager(helper.generateTaskList(olderCompleted)));
+        isLoading[0] = false;
+        assertEquals(2, logic.archiveCompletedTasks(LocalDateTime.now()));
+        assertEquals(Collections.singletonList(ongoing), model.getTaskManager().getTaskList());
+    }
+
+    @Test
+    public void archiveCompletedTasks_floatingTaskReadFromXml_archivedByTimeAdded() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Task completed = helper.generateTaskWithName("completed");
+        completed.setStatus(new Status(true));
+        LocalDateTime added = LocalDateTime.of(2017, 1, 1, 10, 0);
+        completed.setTimeStamp(new TimeStamp(added));
+        String xmlFile = saveFolder.getRoot().getPath() + "TempXmlTaskManager.xml";
+        new XmlTaskManagerStorage(xmlFile).saveTaskManager(helper.generateTaskManager(
+                helper.generateTaskList(completed)));
+
+        ReadOnlyTaskManager readBack = new XmlTaskManagerStorage(xmlFile).readTaskManager().get();
+        assertEquals(added, readBack.getTaskList().get(0).getTimeStamp().getDateTimeAdded());
+        model.resetData(readBack);
+        assertEquals(0, logic.archiveCompletedTasks(added));
+        assertEquals(1, logic.archiveCompletedTasks(added.plusDays(1)));
+    }
+
     @Test
     public void execute_find_isNotCaseSensitive() throws Exception {
         TestDataHelper helper = new TestDataHelper();
@@ -409,7 +480,8 @@ public class LogicManagerTest {
 
         List<Task> fourTasks = helper.generateTaskList(p3, p1, p4, p2);
         TaskManager expectedAB = helper.generateTaskManager(fourTasks);
-        List<Task> expectedList = fourTasks;
+        // the most relevant first: more occurrences of the keyword, then shorter names
+        List<Task> expectedList = helper.generateTaskList(p3, p4, p1, p2);
         helper.addToModel(model, fourTasks);
 
         assertCommandSuccess("find KEY", Command.getMessageForTaskListShownSummary(expectedList.size()), expectedAB,
@@ -426,13 +498,109 @@ public class LogicManagerTest {
 
         List<Task> fourTasks = helper.generateTaskList(pTarget1, p1, pTarget2, pTarget3);
         TaskManager expectedAB = helper.generateTaskManager(fourTasks);
-        List<Task> expectedList = helper.generateTaskList(pTarget1, pTarget2, pTarget3);
+        // the most relevant first: the rarer keyword, then more occurrences of the keyword
+        List<Task> expectedList = helper.generateTaskList(pTarget2, pTarget3, pTarget1);
         helper.addToModel(model, fourTasks);
 
         assertCommandSuccess("find key rAnDoM", Command.getMessageForTaskListShownSummary(expectedList.size()),
                 expectedAB, expectedList);
     }
 
+    @Test
+    public void execute_find_matchesPrefixesAndOtherFieldsByRelevance() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Task pTarget1 = helper.generateTaskWithName("bla KEYKEYKEY bla");
+        Task pTarget2 = helper.generateTaskWithName("bla bla");
+        pTarget2.setDescription(new Description("key"));
+        Task pTarget3 = helper.generateTaskWithName("Keynote");
+        Task p1 = helper.generateTaskWithName("KE Y");
+
+        List<Task> fourTasks = helper.generateTaskList(pTarget2, p1, pTarget1, pTarget3);
+        TaskManager expectedAB = helper.generateTaskManager(fourTasks);
+        // a match in the name counts more than one in the description, and more so in a shorter name
+        List<Task> expectedList = helper.generateTaskList(pTarget3, pTarget1, pTarget2);
+        helper.addToModel(model, fourTasks);
+
+        assertCommandSuccess("find key*", Command.getMessageForTaskListShownSummary(expectedList.size()),
+                expectedAB, expectedList);
+    }
+
+    @Test
+    public void getTaskConflictingDateTimeWarningMessage_conflictingShownEvents_numberedAsShown() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Task morning = helper.generateEventWithName("event KEY bla", "01/04/2017 1000", "01/04/2017 1200");
+        Task afternoon = helper.generateEventWithName("event bla", "01/04/2017 1300", "01/04/2017 1400");
+        Task noon = helper.generateEventWithName("KEY", "01/04/2017 1100", "01/04/2017 1300");
+        Task evening = helper.generateEventWithName("KEY KEY", "01/04/2017 1800", "01/04/2017 1900");
+        helper.addToModel(model, helper.generateTaskList(morning, afternoon, noon, evening));
+        DateTime conflicting = new DateTime("01/04/2017 1130", "01/04/2017 1330");
+
+        assertEquals("\nTask 1: " + morning.getAsText() + "\nTask 2: " + afternoon.getAsText()
+                + "\nTask 3: " + noon.getAsText(), model.getTaskConflictingDateTimeWarningMessage(conflicting));
+
+        // hidden events are left out and the others are numbered by relevance
+        logic.execute("find KEY");
+        assertEquals("\nTask 2: " + noon.getAsText() + "\nTask 3: " + morning.getAsText(),
+                model.getTaskConflictingDateTimeWarningMessage(conflicting));
+    }
+
+    @Test
+    public void getTaskConflictingDateTimeWarningMessage_shownEventsChanged_numberedAsShown() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Task first = helper.generateEventWithName("first", "01/04/2017 1000", "01/04/2017 1200");
+        Task second = helper.generateEventWithName("second", "01/04/2017 1300", "01/04/2017 1400");
+        Task third = helper.generateEventWithName("third", "01/04/2017 1100", "01/04/2017 1300");
+        helper.addToModel(model, helper.generateTaskList(first, second, third));
+        DateTime conflicting = new DateTime("01/04/2017 1130", "01/04/2017 1330");
+        assertEquals(getExpectedConflictWarning(conflicting),
+                model.getTaskConflictingDateTimeWarningMessage(conflicting));
+
+        model.deleteTask(first);
+        assertEquals(getExpectedConflictWarning(conflicting),
+                model.getTaskConflictingDateTimeWarningMessage(conflicting));
+
+        model.addTask(helper.generateEventWithName("fourth", "01/04/2017 1200", "01/04/2017 1230"));
+        Task renamedThird = new Task(third);
+        renamedThird.setName(new Name("renamed third"));
+        model.updateTask(model.getFilteredEventTaskList().indexOf(third), renamedThird);
+        assertEquals(getExpectedConflictWarning(conflicting),
+                model.getTaskConflictingDateTimeWarningMessage(conflicting));
+    }
+
+    /**
+     * Returns the warning listing the shown events conflicting with {@code dateTime},
+     * found by comparing it with every shown event.
+     */
+    private String getExpectedConflictWarning(DateTime dateTime) throws Exception {
+        StringBuilder warning = new StringBuilder();
+        List<ReadOnlyTask> shownEvents = model.getFilteredEventTaskList();
+        for (int i = 0; i < shownEvents.size(); i++) {
+            if (DateTimeUtil.isDateTimeConflict(shownEvents.get(i).getDateTime(), dateTime)) {
+                warning.append("\nTask " + (i + 1) + ": " + shownEvents.get(i).getAsText());
+            }
+        }
+        return warning.toString();
+    }
+
+    @Test
+    public void execute_find_editedTasksShownIfStillMatching() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Task pTarget1 = helper.generateTaskWithName("bla bla KEY bla");
+        Task pTarget2 = helper.generateTaskWithName("key key");
+        Task p1 = helper.generateTaskWithName("sduauo");
+        helper.addToModel(model, helper.generateTaskList(pTarget1, pTarget2, p1));
+        logic.execute("find KEY");
+
+        Task editedTarget1 = new Task(pTarget1);
+        editedTarget1.setPriority(new Priority("high"));
+        model.updateTask(model.getFilteredFloatingTaskList().indexOf(pTarget1), editedTarget1);
+        Task renamedTarget2 = new Task(pTarget2);
+        renamedTarget2.setName(new Name("bla bla"));
+        model.updateTask(model.getFilteredFloatingTaskList().indexOf(pTarget2), renamedTarget2);
+
+        assertEquals(Collections.singletonList(editedTarget1), model.getFilteredFloatingTaskList());
+    }
+
     /**
      * A utility class to generate test data.
      */
@@ -576,6 +744,16 @@ public class LogicManagerTest {
             return Arrays.asList(tasks);
         }
 
+        /**
+         * Generates an event with given name, start and end. Other fields will have some dummy values.
+         */
+        Task generateEventWithName(String name, String start, String end) throws Exception {
+            return new Task(new Name(name), new Priority("low"), new Description("1 description"),
+                    new Location("House of 1"), new UniqueCategoryList(new Category("category")),
+                    new DateTime(start, end), new Recurrence(Recurrence.DEFAULT_VALUES),
+                    new TimeStamp(TimeStamp.DEFAULT_DATE_TIME));
+        }
+
         /**
          * Generates a Task object with given name. Other fields will have some dummy values.
          */
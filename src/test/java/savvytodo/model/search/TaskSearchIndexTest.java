@@ -0,0 +1,82 @@
+package savvytodo.model.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import savvytodo.model.TaskManager;
+import savvytodo.model.task.Location;
+import savvytodo.model.task.Name;
+import savvytodo.model.task.ReadOnlyTask;
+import savvytodo.model.task.Task;
+import savvytodo.testutil.TypicalTestTasks;
+
+public class TaskSearchIndexTest {
+
+    private final TypicalTestTasks td = new TypicalTestTasks();
+
+    private static SearchQuery getQuery(String... keywords) {
+        return new SearchQuery(Arrays.asList(keywords));
+    }
+
+    private static Set<ReadOnlyTask> getMatchingTasks(TaskManager taskManager, SearchQuery query) {
+        Set<ReadOnlyTask> tasks = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (ReadOnlyTask task : taskManager.getTaskList()) {
+            if (query.matches(task)) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    private static void assertSameAsComparingEveryTask(TaskManager taskManager, TaskSearchIndex index,
+            String... keywords) {
+        SearchQuery query = getQuery(keywords);
+        assertEquals(getMatchingTasks(taskManager, query), index.search(query).keySet());
+    }
+
+    @Test
+    public void search_listChanged_sameAsComparingEveryTask() throws Exception {
+        TaskManager taskManager = td.getTypicalTaskManager();
+        TaskSearchIndex index = new TaskSearchIndex(taskManager.getTaskList());
+        assertFalse(index.search(getQuery("STREET", "nus")).isEmpty());
+        assertSameAsComparingEveryTask(taskManager, index, "STREET", "nus");
+        assertSameAsComparingEveryTask(taskManager, index, "cs2103", "friends", "pro*");
+
+        Task renamedMeeting = new Task(td.meeting);
+        renamedMeeting.setName(new Name("Renamed"));
+        renamedMeeting.setLocation(new Location("Somewhere"));
+        taskManager.updateTask(taskManager.getTaskList().indexOf(new Task(td.meeting)), renamedMeeting);
+        assertSameAsComparingEveryTask(taskManager, index, "cs2103", "street", "pro*");
+        assertSameAsComparingEveryTask(taskManager, index, "renamed", "some*");
+
+        taskManager.removeTask(renamedMeeting);
+        taskManager.sortByAscendingPriority();
+        assertTrue(index.search(getQuery("renamed", "some*")).isEmpty());
+        assertSameAsComparingEveryTask(taskManager, index, "BIRTHDAY", "c*", "cs2103");
+    }
+
+    @Test
+    public void search_keywordInDifferentFields_nameMostRelevant() throws Exception {
+        TaskManager taskManager = td.getTypicalTaskManager();
+        Task interview = new Task(td.interview);
+        Task job = new Task(td.job);
+        taskManager.addTask(interview);
+        taskManager.addTask(job);
+        TaskSearchIndex index = new TaskSearchIndex(taskManager.getTaskList());
+
+        // "Google Interview" has the keyword in its name and description, "Potential Job Calling" in its description
+        Map<ReadOnlyTask, Double> relevances = index.search(getQuery("interview"));
+        assertEquals(2, relevances.size());
+        assertTrue(relevances.get(interview) > relevances.get(job));
+    }
+
+}
@@ -0,0 +1,112 @@
+package savvytodo.model.task;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import savvytodo.commons.util.DateTimeUtil;
+import savvytodo.model.category.UniqueCategoryList;
+
+public class EventIntervalIndexTest {
+
+    private static final LocalDateTime FIRST_DAY = LocalDateTime.of(2017, 4, 1, 0, 0);
+
+    private final ObservableList<Task> tasks = FXCollections.observableArrayList();
+
+    private static Task getEvent(String name, int startHour, int endHour) throws Exception {
+        DateTime dateTime = new DateTime(FIRST_DAY.plusHours(startHour), FIRST_DAY.plusHours(endHour));
+        return getTask(name, new DateTime(dateTime.startValue, dateTime.endValue));
+    }
+
+    private static Task getTask(String name, DateTime dateTime) throws Exception {
+        return new Task(new Name(name), new Priority("low"), new Description("description"),
+                new Location("location"), new UniqueCategoryList(), dateTime,
+                new Recurrence(Recurrence.DEFAULT_VALUES));
+    }
+
+    private static DateTime getPeriod(int startHour, int endHour) throws Exception {
+        return getEvent("period", startHour, endHour).getDateTime();
+    }
+
+    @Test
+    public void getConflictingEvents_overlappingEvents_orderedByStart() throws Exception {
+        Task late = getEvent("late", 10, 12);
+        Task early = getEvent("early", 2, 9);
+        Task adjacent = getEvent("adjacent", 0, 2);
+        tasks.addAll(late, early, adjacent, getTask("deadline", new DateTime("", "01/04/2017 0500")));
+        EventIntervalIndex index = new EventIntervalIndex(tasks, task -> true);
+
+        assertEquals(3, index.size());
+        assertEquals(Arrays.asList(early, late), index.getConflictingEvents(getPeriod(2, 11)));
+        assertEquals(Arrays.asList(adjacent, early, late), index.getEventsWithinRange(getPeriod(2, 10)));
+        assertEquals(Collections.emptyList(), index.getConflictingEvents(getPeriod(12, 14)));
+        assertEquals(Collections.emptyList(), index.getConflictingEvents(new DateTime("", "01/04/2017 0500")));
+    }
+
+    @Test
+    public void getConflictingEvents_listChanged_sameAsComparingEveryEvent() throws Exception {
+        Random random = new Random(0);
+        EventIntervalIndex index = new EventIntervalIndex(tasks, task -> task.isCompleted().value == Status.ONGOING);
+        for (int i = 0; i < 500; i++) {
+            int start = random.nextInt(1000);
+            Task event = getEvent("event " + i, start, start + 1 + random.nextInt(20));
+            int action = random.nextInt(4);
+            if (action == 0 && !tasks.isEmpty()) {
+                tasks.remove(random.nextInt(tasks.size()));
+            } else if (action == 1 && !tasks.isEmpty()) {
+                int markedIndex = random.nextInt(tasks.size());
+                Task marked = new Task(tasks.get(markedIndex));
+                marked.setStatus(new Status(!marked.isCompleted().value));
+                tasks.set(markedIndex, marked);
+            } else {
+                tasks.add(event);
+            }
+            if (i % 100 == 0) {
+                Collections.shuffle(tasks, random);
+            }
+
+            int queryStart = random.nextInt(1000);
+            DateTime query = getPeriod(queryStart, queryStart + 1 + random.nextInt(30));
+            assertEquals(getNames(getConflictingEvents(query)), getNames(index.getConflictingEvents(query)));
+        }
+    }
+
+    /**
+     * Returns the ongoing events conflicting with {@code query} by comparing it with every task.
+     */
+    private List<ReadOnlyTask> getConflictingEvents(DateTime query) throws Exception {
+        List<ReadOnlyTask> conflictingEvents = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task.isCompleted().value == Status.ONGOING
+                    && DateTimeUtil.isDateTimeConflict(task.getDateTime(), query)) {
+                conflictingEvents.add(task);
+            }
+        }
+        return conflictingEvents;
+    }
+
+    /**
+     * Returns the names of {@code events} ordered by start, events with the same start being ordered by name.
+     */
+    private static List<String> getNames(List<ReadOnlyTask> events) {
+        List<ReadOnlyTask> orderedEvents = new ArrayList<>(events);
+        orderedEvents.sort(Comparator.comparing((ReadOnlyTask task) -> task.getDateTime().getStartDate())
+                .thenComparing(task -> task.getName().name));
+        List<String> names = new ArrayList<>();
+        for (ReadOnlyTask event : orderedEvents) {
+            names.add(event.getName().name);
+        }
+        return names;
+    }
+
+}
@@ -0,0 +1,143 @@
+package savvytodo.model.task;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import javafx.collections.ListChangeListener;
+import savvytodo.model.task.UniqueTaskList.DuplicateTaskException;
+import savvytodo.model.task.UniqueTaskList.TaskNotFoundException;
+import savvytodo.testutil.TestTask;
+import savvytodo.testutil.TypicalTestTasks;
+
+public class UniqueTaskListTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private final TypicalTestTasks td = new TypicalTestTasks();
+    private final UniqueTaskList uniqueTaskList = new UniqueTaskList();
+    private final List<String> changes = new ArrayList<>();
+
+    private Task getTaskAddedAt(TestTask task, int day) {
+        Task taskAddedAt = new Task(task);
+        taskAddedAt.setTimeStamp(new TimeStamp(LocalDateTime.of(2017, 3, day, 12, 0)));
+        return taskAddedAt;
+    }
+
+    private void recordChanges() {
+        uniqueTaskList.getInternalList().addListener((ListChangeListener.Change<? extends Task> change) -> {
+            while (change.next()) {
+                changes.add((change.wasPermutated() ? "permutated" : "added " + change.getAddedSize())
+                        + " at " + change.getFrom());
+            }
+        });
+    }
+
+    @Test
+    public void contains_equalTaskAddedAtAnotherTime_true() throws Exception {
+        uniqueTaskList.add(new Task(td.meeting));
+        Task sameMeeting = new Task(td.meeting);
+        sameMeeting.setTimeStamp(new TimeStamp());
+
+        assertTrue(uniqueTaskList.contains(sameMeeting));
+        assertTrue(uniqueTaskList.contains(td.meeting));
+        assertFalse(uniqueTaskList.contains(td.birthday));
+    }
+
+    @Test
+    public void add_duplicateTask_throwsDuplicateTaskException() throws Exception {
+        uniqueTaskList.add(new Task(td.meeting));
+        thrown.expect(DuplicateTaskException.class);
+        uniqueTaskList.add(new Task(td.meeting));
+    }
+
+    @Test
+    public void updateTask_editedToExistingTask_throwsDuplicateTaskException() throws Exception {
+        uniqueTaskList.add(new Task(td.meeting));
+        uniqueTaskList.add(new Task(td.birthday));
+        int meetingIndex = uniqueTaskList.asObservableList().indexOf(new Task(td.meeting));
+        uniqueTaskList.updateTask(meetingIndex, td.meeting);
+
+        thrown.expect(DuplicateTaskException.class);
+        uniqueTaskList.updateTask(meetingIndex, td.birthday);
+    }
+
+    @Test
+    public void updateTask_changedTask_oldStateNoLongerContained() throws Exception {
+        uniqueTaskList.add(new Task(td.meeting));
+        Task editedMeeting = new Task(td.meeting);
+        editedMeeting.setStatus(new Status(true));
+        uniqueTaskList.updateTask(0, editedMeeting);
+
+        assertTrue(uniqueTaskList.contains(editedMeeting));
+        assertFalse(uniqueTaskList.contains(td.meeting));
+    }
+
+    @Test
+    public void addAll_duplicatesInListAndArgument_addedOnce() throws Exception {
+        uniqueTaskList.add(new Task(td.meeting));
+        int addedCount = uniqueTaskList.addAll(Arrays.asList(new Task(td.meeting), new Task(td.birthday),
+                new Task(td.birthday)));
+
+        assertEquals(1, addedCount);
+        assertEquals(2, uniqueTaskList.asObservableList().size());
+    }
+
+    @Test
+    public void remove_throughInternalList_noLongerContained() throws Exception {
+        uniqueTaskList.add(new Task(td.meeting));
+        uniqueTaskList.getInternalList().clear();
+
+        assertFalse(uniqueTaskList.contains(td.meeting));
+        thrown.expect(TaskNotFoundException.class);
+        uniqueTaskList.remove(td.meeting);
+    }
+
+    @Test
+    public void add_olderTask_insertedInOrderWithOneChange() throws Exception {
+        Task meeting = getTaskAddedAt(td.meeting, 3);
+        Task birthday = getTaskAddedAt(td.birthday, 1);
+        uniqueTaskList.add(meeting);
+        recordChanges();
+        uniqueTaskList.add(birthday);
+
+        assertEquals(Arrays.asList(birthday, meeting), uniqueTaskList.asObservableList());
+        assertEquals(Arrays.asList("added 1 at 0"), changes);
+    }
+
+    @Test
+    public void addAll_tasksAddedLater_appendedWithOneChange() throws Exception {
+        Task meeting = getTaskAddedAt(td.meeting, 1);
+        Task birthday = getTaskAddedAt(td.birthday, 3);
+        Task test = getTaskAddedAt(td.test, 2);
+        uniqueTaskList.add(meeting);
+        recordChanges();
+        uniqueTaskList.addAll(Arrays.asList(birthday, test));
+
+        assertEquals(Arrays.asList(meeting, test, birthday), uniqueTaskList.asObservableList());
+        assertEquals(Arrays.asList("added 2 at 1"), changes);
+    }
+
+    @Test
+    public void add_afterSortedOtherwise_sortedByTimeAddedAgain() throws Exception {
+        Task meeting = getTaskAddedAt(td.meeting, 1);
+        Task birthday = getTaskAddedAt(td.birthday, 3);
+        Task test = getTaskAddedAt(td.test, 2);
+        uniqueTaskList.addAll(Arrays.asList(meeting, birthday));
+        uniqueTaskList.getInternalList().sort((task1, task2) -> task2.getName().compareTo(task1.getName()));
+        uniqueTaskList.add(test);
+
+        assertEquals(Arrays.asList(meeting, test, birthday), uniqueTaskList.asObservableList());
+    }
+
+}
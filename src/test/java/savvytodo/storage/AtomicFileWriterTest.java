@@ -0,0 +1,96 @@
+package savvytodo.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import savvytodo.commons.core.Config;
+import savvytodo.commons.util.FileUtil;
+
+public class AtomicFileWriterTest {
+
+    private static final long SYNC_INTERVAL_MILLIS = 60000;
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @After
+    public void restoreSyncPolicy() {
+        AtomicFileWriter.syncPendingFiles();
+        AtomicFileWriter.setSyncPolicy(AtomicFileWriter.SYNC_ALWAYS, SYNC_INTERVAL_MILLIS);
+    }
+
+    private File getTempFile(String fileName) {
+        return new File(testFolder.getRoot(), "data" + File.separator + fileName);
+    }
+
+    @Test
+    public void write_existingFile_contentReplaced() throws Exception {
+        File file = getTempFile("TempTaskManager.xml");
+        AtomicFileWriter.write(file, tempFile -> FileUtil.writeToFile(tempFile, "old"));
+        AtomicFileWriter.write(file, tempFile -> FileUtil.writeToFile(tempFile, "new"));
+
+        assertEquals("new", FileUtil.readFromFile(file));
+        assertFalse(FileUtil.getTempFile(file).exists());
+    }
+
+    @Test
+    public void write_writerFails_fileUnchanged() throws Exception {
+        File file = getTempFile("TempTaskManager.xml");
+        AtomicFileWriter.write(file, tempFile -> FileUtil.writeToFile(tempFile, "old"));
+
+        try {
+            thrown.expect(IOException.class);
+            AtomicFileWriter.write(file, tempFile -> {
+                FileUtil.writeToFile(tempFile, "partly written");
+                throw new IOException("Disk full");
+            });
+        } finally {
+            assertEquals("old", FileUtil.readFromFile(file));
+            assertFalse(FileUtil.getTempFile(file).exists());
+        }
+    }
+
+    @Test
+    public void syncPendingFiles_intervalPolicy_writtenFilesSynced() throws Exception {
+        AtomicFileWriter.setSyncPolicy(AtomicFileWriter.SYNC_INTERVAL, SYNC_INTERVAL_MILLIS);
+        File file = getTempFile("TempTaskManager.xml");
+        AtomicFileWriter.write(file, tempFile -> FileUtil.writeToFile(tempFile, "saved"));
+        AtomicFileWriter.write(file, tempFile -> FileUtil.writeToFile(tempFile, "saved again"));
+        assertEquals(1, AtomicFileWriter.getUnsyncedFileCount());
+
+        AtomicFileWriter.syncPendingFiles();
+        assertEquals(0, AtomicFileWriter.getUnsyncedFileCount());
+        assertEquals("saved again", FileUtil.readFromFile(file));
+    }
+
+    @Test
+    public void setSyncPolicy_unknownPolicy_syncsAlways() {
+        AtomicFileWriter.setSyncPolicy("sometimes", SYNC_INTERVAL_MILLIS);
+        assertEquals(AtomicFileWriter.SYNC_ALWAYS, AtomicFileWriter.getSyncPolicy());
+    }
+
+    @Test
+    public void init_intervalNotPositive_defaultIntervalUsed() throws Exception {
+        Config config = new Config();
+        config.setTaskManagerSyncPolicy(AtomicFileWriter.SYNC_INTERVAL);
+        config.setTaskManagerSyncIntervalMillis(0);
+        AtomicFileWriter.init(config);
+        assertEquals(AtomicFileWriter.SYNC_INTERVAL, AtomicFileWriter.getSyncPolicy());
+
+        AtomicFileWriter.write(getTempFile("TempTaskManager.xml"), tempFile -> FileUtil.writeToFile(tempFile, "saved"));
+        assertEquals(1, AtomicFileWriter.getUnsyncedFileCount());
+    }
+
+}
@@ -0,0 +1,100 @@
+package savvytodo.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import savvytodo.commons.exceptions.DataConversionException;
+import savvytodo.commons.util.FileUtil;
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.TaskManager;
+import savvytodo.model.task.Task;
+import savvytodo.testutil.TypicalTestTasks;
+
+public class BinaryTaskManagerStorageTest {
+    private static final String TEST_DATA_FOLDER = FileUtil.getPath("./src/test/data/XmlTaskManagerStorageTest/");
+    private static final File VALID_XML_FILE = new File(FileUtil.getPath("src/test/data/XmlUtilTest/")
+            + "validTaskManager.xml");
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private String getTempFilePath(String fileName) {
+        return testFolder.getRoot().getPath() + File.separator + fileName;
+    }
+
+    @Test
+    public void read_missingFile_emptyResult() throws Exception {
+        assertFalse(new BinaryTaskManagerStorage(getTempFilePath("NonExistentFile.bin")).readTaskManager()
+                .isPresent());
+    }
+
+    @Test
+    public void read_invalidFormat_exceptionThrown() throws Exception {
+        thrown.expect(DataConversionException.class);
+        String filePath = TEST_DATA_FOLDER + "NotXmlFormatTaskManager.xml";
+        new BinaryTaskManagerStorage(filePath).readTaskManager();
+    }
+
+    @Test
+    public void readAndSaveTaskManager_allInOrder_success() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.bin");
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskManager original = td.getTypicalTaskManager();
+        BinaryTaskManagerStorage binaryTaskManagerStorage = new BinaryTaskManagerStorage(filePath);
+
+        //Save in new file and read back
+        binaryTaskManagerStorage.saveTaskManager(original);
+        assertTrue(BinaryFileStorage.isBinaryFile(new File(filePath)));
+        ReadOnlyTaskManager readBack = binaryTaskManagerStorage.readTaskManager().get();
+        assertEquals(original, new TaskManager(readBack));
+        assertEquals(original.getTaskList().get(0).getTimeStamp(), readBack.getTaskList().get(0).getTimeStamp());
+
+        //Modify data, overwrite exiting file, and read back
+        original.addTask(new Task(td.discussion));
+        original.removeTask(new Task(td.presentation));
+        binaryTaskManagerStorage.saveTaskManager(original);
+        readBack = binaryTaskManagerStorage.readTaskManager().get();
+        assertEquals(original, new TaskManager(readBack));
+    }
+
+    @Test
+    public void read_xmlFile_convertedOnSave() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.xml");
+        TaskManager original = new TypicalTestTasks().getTypicalTaskManager();
+        new XmlTaskManagerStorage(filePath).saveTaskManager(original);
+
+        BinaryTaskManagerStorage binaryTaskManagerStorage = new BinaryTaskManagerStorage(filePath);
+        ReadOnlyTaskManager readBack = binaryTaskManagerStorage.readTaskManager().get();
+        assertEquals(original, new TaskManager(readBack));
+
+        binaryTaskManagerStorage.saveTaskManager(readBack);
+        assertTrue(BinaryFileStorage.isBinaryFile(new File(filePath)));
+        assertEquals(original, new TaskManager(new XmlTaskManagerStorage(filePath).readTaskManager().get()));
+    }
+
+    @Test
+    public void convert_xmlToBinaryAndBack_dataPreserved() throws Exception {
+        File binaryFile = new File(getTempFilePath("converted.bin"));
+        File xmlFile = new File(getTempFilePath("converted.xml"));
+        TaskManager expected = new TaskManager(XmlStreamFileStorage.loadDataFromSaveFile(VALID_XML_FILE));
+
+        TaskManagerFileConverter.convert(VALID_XML_FILE, binaryFile, StorageManager.BINARY_STORAGE_FORMAT);
+        assertTrue(BinaryFileStorage.isBinaryFile(binaryFile));
+        TaskManagerFileConverter.convert(binaryFile, xmlFile, StorageManager.XML_STORAGE_FORMAT);
+        assertFalse(BinaryFileStorage.isBinaryFile(xmlFile));
+
+        assertEquals(expected, new TaskManager(XmlFileStorage.loadDataFromSaveFile(xmlFile)));
+    }
+
+}
@@ -0,0 +1,63 @@
+package savvytodo.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.TaskManager;
+import savvytodo.model.task.Task;
+import savvytodo.testutil.TypicalTestTasks;
+
+public class ColdTaskStoreTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private ColdTaskStore createColdTaskStore() {
+        return new ColdTaskStore(testFolder.getRoot().getPath() + File.separator + "TempTaskManager.xml");
+    }
+
+    @Test
+    public void read_nothingArchived_emptyResult() throws Exception {
+        assertFalse(createColdTaskStore().read().isPresent());
+    }
+
+    @Test
+    public void archive_tasksArchivedTwice_storedOnce() throws Exception {
+        TypicalTestTasks td = new TypicalTestTasks();
+        ColdTaskStore coldTaskStore = createColdTaskStore();
+
+        coldTaskStore.archive(Arrays.asList(new Task(td.assignment), new Task(td.birthday)));
+        coldTaskStore.archive(Arrays.asList(new Task(td.birthday), new Task(td.meeting)));
+
+        TaskManager expected = new TaskManager();
+        expected.addTask(new Task(td.assignment));
+        expected.addTask(new Task(td.birthday));
+        expected.addTask(new Task(td.meeting));
+        ReadOnlyTaskManager archived = coldTaskStore.read().get();
+        assertTrue(archived instanceof MappedTaskManager);
+        assertEquals(expected, new TaskManager(archived));
+    }
+
+    @Test
+    public void archive_whileEarlierReadInUse_earlierReadUnaffected() throws Exception {
+        TypicalTestTasks td = new TypicalTestTasks();
+        ColdTaskStore coldTaskStore = createColdTaskStore();
+        coldTaskStore.archive(Arrays.asList(new Task(td.assignment)));
+        ReadOnlyTaskManager earlier = coldTaskStore.read().get();
+
+        coldTaskStore.archive(Arrays.asList(new Task(td.birthday), new Task(td.meeting)));
+        assertEquals(1, earlier.getTaskList().size());
+        assertEquals(new Task(td.assignment), earlier.getTaskList().get(0));
+        assertEquals(3, coldTaskStore.read().get().getTaskList().size());
+    }
+
+}
@@ -0,0 +1,92 @@
+package savvytodo.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import savvytodo.commons.core.Config;
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.TaskManager;
+import savvytodo.testutil.TypicalTestTasks;
+
+public class DataFileCompressionTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private String getTempFilePath(String fileName) {
+        return testFolder.getRoot().getPath() + File.separator + fileName;
+    }
+
+    @After
+    public void tearDown() {
+        DataFileCompression.setCompressionLevel(DataFileCompression.NO_COMPRESSION);
+    }
+
+    @Test
+    public void saveTaskManager_compressedFileName_compressed() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.xml.gz");
+        TaskManager original = new TypicalTestTasks().getTypicalTaskManager();
+        XmlTaskManagerStorage xmlTaskManagerStorage = new XmlTaskManagerStorage(filePath);
+
+        xmlTaskManagerStorage.saveTaskManager(original);
+        assertTrue(DataFileCompression.isCompressed(new File(filePath)));
+        assertEquals(original, new TaskManager(xmlTaskManagerStorage.readTaskManager().get()));
+    }
+
+    @Test
+    public void saveTaskManager_plainFileName_notCompressed() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.xml");
+        new XmlTaskManagerStorage(filePath).saveTaskManager(new TypicalTestTasks().getTypicalTaskManager());
+        assertFalse(DataFileCompression.isCompressed(new File(filePath)));
+    }
+
+    @Test
+    public void saveTaskManager_compressionLevelSet_allFormatsCompressed() throws Exception {
+        TaskManager original = new TypicalTestTasks().getTypicalTaskManager();
+        for (int level : new int[] { DataFileCompression.MIN_COMPRESSION_LEVEL,
+            DataFileCompression.MAX_COMPRESSION_LEVEL }) {
+            DataFileCompression.setCompressionLevel(level);
+            for (String format : new String[] { StorageManager.XML_STORAGE_FORMAT,
+                StorageManager.BINARY_STORAGE_FORMAT, StorageManager.JOURNAL_STORAGE_FORMAT }) {
+                String filePath = getTempFilePath(format + level);
+                TaskManagerStorage storage = StorageManager.createTaskManagerStorage(filePath, format);
+                storage.saveTaskManager(original);
+
+                assertTrue(DataFileCompression.isCompressed(new File(filePath)));
+                assertEquals(original, new TaskManager(storage.readTaskManager().get()));
+            }
+        }
+    }
+
+    @Test
+    public void init_invalidCompressionLevel_savedFilesNotCompressed() throws Exception {
+        Config config = new Config();
+        config.setTaskManagerCompressionLevel(DataFileCompression.MAX_COMPRESSION_LEVEL + 1);
+        DataFileCompression.init(config);
+        assertEquals(DataFileCompression.NO_COMPRESSION, DataFileCompression.getCompressionLevel());
+
+        String filePath = getTempFilePath("TempTaskManager.xml");
+        new XmlTaskManagerStorage(filePath).saveTaskManager(new TypicalTestTasks().getTypicalTaskManager());
+        assertFalse(DataFileCompression.isCompressed(new File(filePath)));
+    }
+
+    @Test
+    public void readTaskManager_compressedBinaryFile_readWithoutMapping() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.bin.gz");
+        TaskManager original = new TypicalTestTasks().getTypicalTaskManager();
+        new BinaryTaskManagerStorage(filePath).saveTaskManager(original);
+
+        ReadOnlyTaskManager readBack = new MappedTaskManagerStorage(filePath).readTaskManager().get();
+        assertFalse(readBack instanceof MappedTaskManager);
+        assertEquals(original, new TaskManager(readBack));
+    }
+
+}
@@ -0,0 +1,106 @@
+package savvytodo.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.eventbus.Subscribe;
+
+import savvytodo.commons.core.EventsCenter;
+import savvytodo.commons.events.storage.DataFileChangedEvent;
+import savvytodo.model.ModelManager;
+import savvytodo.model.TaskManager;
+import savvytodo.model.UserPrefs;
+import savvytodo.model.task.ReadOnlyTask;
+import savvytodo.model.task.Task;
+import savvytodo.testutil.TypicalTestTasks;
+
+public class DataFileWatcherTest {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private final BlockingQueue<DataFileChangedEvent> changedDataFiles = new LinkedBlockingQueue<>();
+    private DataFileWatcher watcher;
+    private StorageManager storageManager;
+
+    @After
+    public void stopWatching() {
+        if (watcher != null) {
+            watcher.stop();
+        }
+        if (storageManager != null) {
+            storageManager.setWatchingDataFile(false);
+        }
+    }
+
+    @Subscribe
+    public void handleDataFileChangedEvent(DataFileChangedEvent event) {
+        if (event.filePath.equals(storageManager.getTaskManagerFilePath())) {
+            changedDataFiles.add(event);
+        }
+    }
+
+    private String getTempFilePath(String fileName) {
+        return testFolder.getRoot().getPath() + File.separator + fileName;
+    }
+
+    @Test
+    public void start_dataFileWritten_changeHandlerRun() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.xml");
+        CountDownLatch changed = new CountDownLatch(1);
+        watcher = new DataFileWatcher(filePath, changed::countDown);
+        watcher.start();
+
+        XmlStreamFileStorage.saveDataToFile(new File(filePath), new TypicalTestTasks().getTypicalTaskManager());
+        assertTrue(changed.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void setWatchingDataFile_changedOutside_changedDataRaised() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.xml");
+        storageManager = new StorageManager(filePath, getTempFilePath("prefs"));
+        storageManager.setWatchingDataFile(true);
+        EventsCenter.getInstance().registerHandler(this);
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskManager original = td.getTypicalTaskManager();
+        storageManager.saveTaskManager(original);
+        Thread.sleep(DataFileWatcher.SETTLE_MILLIS * 2);
+
+        TaskManager changed = new TaskManager(original);
+        changed.addTask(new Task(td.discussion));
+        XmlStreamFileStorage.saveDataToFile(new File(filePath), changed);
+
+        // the save of the storage itself is not raised
+        DataFileChangedEvent event = changedDataFiles.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        assertEquals(changed, new TaskManager(event.data));
+    }
+
+    @Test
+    public void updateFromChangedData_tasksAddedAndRemoved_otherTasksKept() throws Exception {
+        TypicalTestTasks td = new TypicalTestTasks();
+        ModelManager model = new ModelManager(td.getTypicalTaskManager(), new UserPrefs());
+        ReadOnlyTask keptTask = model.getTaskManager().getTaskList().get(0);
+
+        TaskManager changed = td.getTypicalTaskManager();
+        changed.addTask(new Task(td.discussion));
+        changed.removeTask(new Task(td.presentation));
+        model.updateFromChangedData(changed);
+
+        assertEquals(new TaskManager(changed), new TaskManager(model.getTaskManager()));
+        assertTrue(model.getTaskManager().getTaskList().stream().anyMatch(task -> task == keptTask));
+    }
+
+}
@@ -0,0 +1,73 @@
+package savvytodo.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.TaskManager;
+import savvytodo.testutil.TypicalTestTasks;
+
+public class DebouncedTaskManagerSaverTest {
+
+    private static final long LONG_SAVE_WINDOW_MILLIS = 60000;
+
+    @Test
+    public void submit_burstOfChanges_latestDataSavedOnce() {
+        List<ReadOnlyTaskManager> saved = new ArrayList<>();
+        List<IOException> failures = new ArrayList<>();
+        DebouncedTaskManagerSaver saver = new DebouncedTaskManagerSaver(saved::add, failures::add,
+                LONG_SAVE_WINDOW_MILLIS);
+
+        TaskManager first = new TaskManager();
+        TaskManager latest = new TypicalTestTasks().getTypicalTaskManager();
+        saver.submit(first);
+        saver.submit(new TaskManager());
+        saver.submit(latest);
+        saver.flush();
+
+        assertEquals(1, saved.size());
+        assertSame(latest, saved.get(0));
+        assertEquals(0, failures.size());
+
+        //Nothing is pending after a flush
+        saver.shutdown();
+        assertEquals(1, saved.size());
+    }
+
+    @Test
+    public void submit_saveFails_failureReported() {
+        IOException error = new IOException("dummy exception");
+        List<IOException> failures = new ArrayList<>();
+        DebouncedTaskManagerSaver saver = new DebouncedTaskManagerSaver(taskManager -> {
+            throw error;
+        }, failures::add, LONG_SAVE_WINDOW_MILLIS);
+
+        saver.submit(new TaskManager());
+        saver.shutdown();
+
+        assertEquals(1, failures.size());
+        assertSame(error, failures.get(0));
+    }
+
+    @Test
+    public void submit_saveThrowsRuntimeException_failureReported() {
+        IllegalArgumentException error = new IllegalArgumentException("dummy exception");
+        List<IOException> failures = new ArrayList<>();
+        DebouncedTaskManagerSaver saver = new DebouncedTaskManagerSaver(taskManager -> {
+            throw error;
+        }, failures::add, LONG_SAVE_WINDOW_MILLIS);
+
+        saver.submit(new TaskManager());
+        saver.shutdown();
+
+        assertEquals(1, failures.size());
+        assertSame(error, failures.get(0).getCause());
+    }
+
+}
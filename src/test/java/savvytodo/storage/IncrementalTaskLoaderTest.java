@@ -0,0 +1,133 @@
+package savvytodo.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.eventbus.Subscribe;
+
+import savvytodo.commons.core.EventsCenter;
+import savvytodo.commons.events.storage.DeferredTasksLoadedEvent;
+import savvytodo.model.TaskManager;
+import savvytodo.model.task.Recurrence;
+import savvytodo.model.task.Task;
+import savvytodo.model.task.Type;
+import savvytodo.testutil.TaskBuilder;
+import savvytodo.testutil.TestTask;
+import savvytodo.testutil.TypicalTestTasks;
+
+public class IncrementalTaskLoaderTest {
+
+    private static final int PAST_EVENT_COUNT = 3000;
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private String getTempFilePath(String fileName) {
+        return testFolder.getRoot().getPath() + File.separator + fileName;
+    }
+
+    private static TestTask getTask(String name, String start, String end, Type type) throws Exception {
+        return new TaskBuilder().withName(name).withPriority("low").withDescription("description")
+                .withLocation("location").withDateTime(start, end).withRecurrence(Recurrence.DEFAULT_VALUES)
+                .withStatus(false).withTimeStamp().withType(type).build();
+    }
+
+    /** Returns the typical tasks, which all ended in March 2017, many more past events and two upcoming tasks. */
+    private static TaskManager getLargeTaskManager(TypicalTestTasks td) throws Exception {
+        TaskManager taskManager = td.getTypicalTaskManager();
+        for (int i = 0; i < PAST_EVENT_COUNT; i++) {
+            taskManager.addTask(new Task(getTask("Past event " + i, "01/02/2017 1400", "02/02/2017 1400",
+                    Type.getEventType())));
+        }
+        taskManager.addTask(new Task(getTask("Upcoming event", "01/01/2099 1400", "02/01/2099 1400",
+                Type.getEventType())));
+        taskManager.addTask(new Task(getTask("Undone deadline", "", "01/03/2017 1400", Type.getDeadlineType())));
+        return taskManager;
+    }
+
+    @Test
+    public void read_smallFile_readInOneStep() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.xml");
+        TaskManager original = new TypicalTestTasks().getTypicalTaskManager();
+        XmlTaskManagerStorage storage = new XmlTaskManagerStorage(filePath, true);
+        storage.saveTaskManager(original);
+
+        assertEquals(original, new TaskManager(storage.readTaskManager().get()));
+        assertFalse(storage.hasDeferredTasks());
+        assertFalse(storage.isLoadingDeferredTasks());
+    }
+
+    @Test
+    public void read_largeFile_upcomingTasksFirstAndOthersKeptBySavesUntilMerged() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.xml");
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskManager original = getLargeTaskManager(td);
+        XmlTaskManagerStorage storage = new XmlTaskManagerStorage(filePath, true);
+        storage.saveTaskManager(original);
+        assertTrue(IncrementalTaskLoader.isLoadedIncrementally(new File(filePath)));
+        DeferredTasksHandler handler = new DeferredTasksHandler();
+        EventsCenter.getInstance().registerHandler(handler);
+
+        TaskManager upcoming = new TaskManager(storage.readTaskManager().get());
+        assertEquals(2, upcoming.getTaskList().size());
+        assertTrue(storage.hasDeferredTasks());
+        DeferredTasksLoadedEvent event = handler.events.poll(10, TimeUnit.SECONDS);
+        assertNotNull(event);
+        assertEquals(filePath, event.filePath);
+        assertEquals(original.getTaskList().size() - 2, event.data.getTaskList().size());
+
+        // saving data without the deferred tasks keeps them
+        upcoming.addTask(new Task(td.floating1));
+        storage.saveTaskManager(upcoming);
+        TaskManager expected = getLargeTaskManager(td);
+        expected.addTask(new Task(td.floating1));
+        assertEquals(expected.getTaskList().size(),
+                new XmlTaskManagerStorage(filePath).readTaskManager().get().getTaskList().size());
+
+        // once merged, saves write the data as it is
+        storage.markDeferredTasksMerged();
+        assertFalse(storage.isLoadingDeferredTasks());
+        storage.saveTaskManager(upcoming);
+        assertEquals(upcoming, new TaskManager(new XmlTaskManagerStorage(filePath).readTaskManager().get()));
+    }
+
+    @Test
+    public void save_deferredTaskAddedAgainBeforeMerge_savedOnce() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.xml");
+        TaskManager original = getLargeTaskManager(new TypicalTestTasks());
+        XmlTaskManagerStorage storage = new XmlTaskManagerStorage(filePath, true);
+        storage.saveTaskManager(original);
+
+        TaskManager upcoming = new TaskManager(storage.readTaskManager().get());
+        assertTrue(storage.hasDeferredTasks());
+        upcoming.addTask(new Task(getTask("Past event 0", "01/02/2017 1400", "02/02/2017 1400",
+                Type.getEventType())));
+        storage.saveTaskManager(upcoming);
+        assertEquals(original.getTaskList().size(),
+                new TaskManager(new XmlTaskManagerStorage(filePath).readTaskManager().get()).getTaskList().size());
+    }
+
+    /**
+     * Collects the {@link DeferredTasksLoadedEvent}s raised on the background thread.
+     */
+    private static class DeferredTasksHandler {
+        private final BlockingQueue<DeferredTasksLoadedEvent> events = new LinkedBlockingQueue<>();
+
+        @Subscribe
+        public void handleDeferredTasksLoadedEvent(DeferredTasksLoadedEvent event) {
+            events.add(event);
+        }
+    }
+
+}
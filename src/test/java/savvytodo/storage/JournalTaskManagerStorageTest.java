@@ -0,0 +1,148 @@
+package savvytodo.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.TaskManager;
+import savvytodo.model.task.Status;
+import savvytodo.model.task.Task;
+import savvytodo.testutil.TypicalTestTasks;
+
+public class JournalTaskManagerStorageTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private String getTempFilePath(String fileName) {
+        return testFolder.getRoot().getPath() + File.separator + fileName;
+    }
+
+    @Test
+    public void read_missingFile_emptyResult() throws Exception {
+        String filePath = getTempFilePath("NonExistentFile.xml");
+        assertFalse(new JournalTaskManagerStorage(filePath).readTaskManager().isPresent());
+    }
+
+    @Test
+    public void readAndSaveTaskManager_allInOrder_success() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.xml");
+        File journalFile = JournalTaskManagerStorage.getJournalFile(filePath);
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskManager original = td.getTypicalTaskManager();
+        JournalTaskManagerStorage journalStorage = new JournalTaskManagerStorage(filePath);
+
+        //First save writes a base snapshot only
+        journalStorage.saveTaskManager(original);
+        assertFalse(journalFile.exists());
+        assertEquals(original, new TaskManager(new JournalTaskManagerStorage(filePath).readTaskManager().get()));
+
+        //Further saves only append the changes
+        original.addTask(new Task(td.discussion));
+        original.removeTask(new Task(td.presentation));
+        journalStorage.saveTaskManager(original);
+        assertEquals(2, readJournal(journalFile).size());
+        assertEquals(original, new TaskManager(new JournalTaskManagerStorage(filePath).readTaskManager().get()));
+
+        //An edit is journalled as a removal followed by an addition
+        Task marked = new Task(td.discussion);
+        marked.setStatus(new Status(true));
+        original.updateTask(original.getTaskList().indexOf(new Task(td.discussion)), marked);
+        journalStorage.saveTaskManager(original);
+        assertEquals(4, readJournal(journalFile).size());
+
+        //Saving unchanged data leaves the journal untouched
+        journalStorage.saveTaskManager(original);
+        assertEquals(4, readJournal(journalFile).size());
+
+        ReadOnlyTaskManager readBack = new JournalTaskManagerStorage(filePath).readTaskManager().get();
+        assertEquals(original, new TaskManager(readBack));
+    }
+
+    @Test
+    public void read_incompleteLastAddRecord_recordIgnored() throws Exception {
+        String record = TaskRecordCodec.encode(new TypicalTestTasks().interview);
+        // cut within the time the task was added, so that every field is still there
+        assertIncompleteLastRecordIgnored("+ " + record.substring(0, record.length() - 8));
+    }
+
+    @Test
+    public void read_incompleteLastRemoveRecord_recordIgnored() throws Exception {
+        String key = TaskRecordCodec.encodeKey(new TypicalTestTasks().discussion);
+        assertIncompleteLastRecordIgnored("- " + key.substring(0, key.length() / 2));
+    }
+
+    /**
+     * Asserts that the journal of a file is replayed without {@code incompleteRecord} appended to it
+     * without a line separator, and is folded into a fresh snapshot on the next save.
+     */
+    private void assertIncompleteLastRecordIgnored(String incompleteRecord) throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.xml");
+        File journalFile = JournalTaskManagerStorage.getJournalFile(filePath);
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskManager original = td.getTypicalTaskManager();
+        JournalTaskManagerStorage journalStorage = new JournalTaskManagerStorage(filePath);
+        journalStorage.saveTaskManager(original);
+        original.addTask(new Task(td.discussion));
+        journalStorage.saveTaskManager(original);
+
+        Files.write(journalFile.toPath(), incompleteRecord.getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        JournalTaskManagerStorage reopenedStorage = new JournalTaskManagerStorage(filePath);
+        assertEquals(original, new TaskManager(reopenedStorage.readTaskManager().get()));
+
+        //The damaged journal is folded into a fresh snapshot on the next save
+        reopenedStorage.saveTaskManager(original);
+        assertFalse(journalFile.exists());
+        assertTrue(new File(filePath).exists());
+        assertEquals(original, new TaskManager(new JournalTaskManagerStorage(filePath).readTaskManager().get()));
+    }
+
+    @Test
+    public void compact_journalWithRecords_foldedIntoSnapshot() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.xml");
+        File journalFile = JournalTaskManagerStorage.getJournalFile(filePath);
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskManager original = td.getTypicalTaskManager();
+        JournalTaskManagerStorage journalStorage = new JournalTaskManagerStorage(filePath);
+        JournalCompactor compactor = new JournalCompactor(journalStorage, 3);
+        journalStorage.saveTaskManager(original);
+
+        //Below the threshold nothing happens
+        original.addTask(new Task(td.discussion));
+        journalStorage.saveTaskManager(original);
+        assertFalse(compactor.compactIfNeeded());
+        assertEquals(1, journalStorage.getJournalRecordCount());
+
+        original.removeTask(new Task(td.presentation));
+        original.addTask(new Task(td.interview));
+        journalStorage.saveTaskManager(original);
+        assertTrue(compactor.compactIfNeeded());
+        assertEquals(0, journalStorage.getJournalRecordCount());
+        assertFalse(journalFile.exists());
+        assertEquals(original, new TaskManager(new JournalTaskManagerStorage(filePath).readTaskManager().get()));
+
+        //Journalling carries on after a compaction
+        original.removeTask(new Task(td.interview));
+        journalStorage.saveTaskManager(original);
+        assertEquals(1, readJournal(journalFile).size());
+        assertEquals(original, new TaskManager(new JournalTaskManagerStorage(filePath).readTaskManager().get()));
+    }
+
+    private List<String> readJournal(File journalFile) throws Exception {
+        return Files.readAllLines(journalFile.toPath(), StandardCharsets.UTF_8);
+    }
+
+}
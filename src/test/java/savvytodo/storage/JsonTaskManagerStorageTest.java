@@ -0,0 +1,101 @@
+package savvytodo.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import savvytodo.commons.exceptions.DataConversionException;
+import savvytodo.commons.util.FileUtil;
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.TaskManager;
+import savvytodo.model.task.Task;
+import savvytodo.testutil.TypicalTestTasks;
+
+public class JsonTaskManagerStorageTest {
+    private static final File VALID_XML_FILE = new File(FileUtil.getPath("src/test/data/XmlUtilTest/")
+            + "validTaskManager.xml");
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private String getTempFilePath(String fileName) {
+        return testFolder.getRoot().getPath() + File.separator + fileName;
+    }
+
+    @Test
+    public void read_missingFile_emptyResult() throws Exception {
+        assertFalse(new JsonTaskManagerStorage(getTempFilePath("NonExistentFile.json")).readTaskManager()
+                .isPresent());
+    }
+
+    @Test
+    public void read_truncatedFile_exceptionThrown() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.json");
+        FileUtil.writeToFile(new File(filePath), "{ \"taskmanager\" : { \"tasks\" : [ { \"name\" : \"Task\" ");
+        thrown.expect(DataConversionException.class);
+        new JsonTaskManagerStorage(filePath).readTaskManager();
+    }
+
+    @Test
+    public void readAndSaveTaskManager_allInOrder_success() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.json");
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskManager original = td.getTypicalTaskManager();
+        original.addTask(new Task(td.floating1));
+        JsonTaskManagerStorage jsonTaskManagerStorage = new JsonTaskManagerStorage(filePath);
+
+        //Save in new file and read back
+        jsonTaskManagerStorage.saveTaskManager(original);
+        assertTrue(JsonFileStorage.isJsonFile(new File(filePath)));
+        ReadOnlyTaskManager readBack = jsonTaskManagerStorage.readTaskManager().get();
+        assertEquals(original, new TaskManager(readBack));
+        assertEquals(original.getTaskList().get(0).getTimeStamp(), readBack.getTaskList().get(0).getTimeStamp());
+
+        //Modify data, overwrite exiting file, and read back
+        original.addTask(new Task(td.discussion));
+        original.removeTask(new Task(td.presentation));
+        jsonTaskManagerStorage.saveTaskManager(original);
+        readBack = jsonTaskManagerStorage.readTaskManager().get();
+        assertEquals(original, new TaskManager(readBack));
+    }
+
+    @Test
+    public void convert_xmlToJsonAndBack_dataPreserved() throws Exception {
+        File jsonFile = new File(getTempFilePath("converted.json"));
+        File xmlFile = new File(getTempFilePath("converted.xml"));
+        TaskManager expected = new TaskManager(XmlStreamFileStorage.loadDataFromSaveFile(VALID_XML_FILE));
+
+        TaskManagerFileConverter.convert(VALID_XML_FILE, jsonFile, StorageManager.JSON_STORAGE_FORMAT);
+        assertTrue(JsonFileStorage.isJsonFile(jsonFile));
+        TaskManagerFileConverter.convert(jsonFile, xmlFile, StorageManager.XML_STORAGE_FORMAT);
+        assertFalse(JsonFileStorage.isJsonFile(xmlFile));
+
+        assertEquals(expected, new TaskManager(XmlFileStorage.loadDataFromSaveFile(xmlFile)));
+    }
+
+    @Test
+    public void createTaskManagerStorage_autoFormat_formatDetected() throws Exception {
+        String jsonFilePath = getTempFilePath("TempTaskManager.json");
+        assertTrue(StorageManager.createTaskManagerStorage(jsonFilePath, StorageManager.AUTO_STORAGE_FORMAT)
+                instanceof JsonTaskManagerStorage);
+        assertTrue(StorageManager.createTaskManagerStorage(getTempFilePath("TempTaskManager.bin.gz"),
+                StorageManager.AUTO_STORAGE_FORMAT) instanceof BinaryTaskManagerStorage);
+
+        // an existing file is recognised from its content, whatever its name
+        String binaryFilePath = getTempFilePath("TempTaskManager.xml");
+        new BinaryTaskManagerStorage(binaryFilePath).saveTaskManager(new TypicalTestTasks().getTypicalTaskManager());
+        assertTrue(StorageManager.createTaskManagerStorage(binaryFilePath, StorageManager.AUTO_STORAGE_FORMAT)
+                instanceof BinaryTaskManagerStorage);
+    }
+
+}
@@ -0,0 +1,134 @@
+package savvytodo.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import savvytodo.model.ModelManager;
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.TaskManager;
+import savvytodo.model.UserPrefs;
+import savvytodo.model.task.ReadOnlyTask;
+import savvytodo.model.task.TaskType;
+import savvytodo.testutil.TypicalTestTasks;
+
+public class MappedTaskManagerStorageTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private String getTempFilePath(String fileName) {
+        return testFolder.getRoot().getPath() + File.separator + fileName;
+    }
+
+    @Test
+    public void read_missingFile_emptyResult() throws Exception {
+        assertFalse(new MappedTaskManagerStorage(getTempFilePath("NonExistentFile.bin")).readTaskManager()
+                .isPresent());
+    }
+
+    @Test
+    public void read_binaryFile_tasksDecodedOnAccess() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.bin");
+        TaskManager original = new TypicalTestTasks().getTypicalTaskManager();
+        new BinaryTaskManagerStorage(filePath).saveTaskManager(original);
+
+        ReadOnlyTaskManager readBack = new MappedTaskManagerStorage(filePath).readTaskManager().get();
+        assertTrue(readBack instanceof MappedTaskManager);
+        MappedTaskManager mapped = (MappedTaskManager) readBack;
+        assertEquals(0, mapped.getDecodedTaskCount());
+
+        assertEquals(original.getTaskList().get(1), mapped.getTaskList().get(1));
+        assertEquals(1, mapped.getDecodedTaskCount());
+
+        assertEquals(original, new TaskManager(mapped));
+        assertEquals(original.getTaskList().size(), mapped.getDecodedTaskCount());
+    }
+
+    @Test
+    public void read_binaryFile_tasksNotDecodedWhenShown() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.bin");
+        new BinaryTaskManagerStorage(filePath).saveTaskManager(new TypicalTestTasks().getTypicalTaskManager());
+
+        MappedTaskManager mapped = (MappedTaskManager) new MappedTaskManagerStorage(filePath)
+                .readTaskManager().get();
+        ModelManager model = new ModelManager(mapped, new UserPrefs());
+        assertEquals(0, mapped.getDecodedTaskCount());
+
+        model.getFilteredEventTaskList().get(0);
+        assertEquals(1, mapped.getDecodedTaskCount());
+    }
+
+    @Test
+    public void read_binaryFile_tasksSplitByType() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.bin");
+        TaskManager original = new TypicalTestTasks().getTypicalTaskManager();
+        new BinaryTaskManagerStorage(filePath).saveTaskManager(original);
+
+        MappedTaskManager mapped = (MappedTaskManager) new MappedTaskManagerStorage(filePath)
+                .readTaskManager().get();
+        int eventCount = 0;
+        for (ReadOnlyTask task : original.getTaskList()) {
+            if (task.getType().getType() == TaskType.EVENT) {
+                eventCount++;
+            }
+        }
+        assertEquals(eventCount, mapped.getEventTaskList().size());
+        assertEquals(original.getTaskList().size() - eventCount, mapped.getFloatingTaskList().size());
+        for (ReadOnlyTask task : mapped.getEventTaskList()) {
+            assertEquals(TaskType.EVENT, task.getType().getType());
+        }
+    }
+
+    @Test
+    public void read_xmlFile_readAsWhole() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.xml");
+        TaskManager original = new TypicalTestTasks().getTypicalTaskManager();
+        new XmlTaskManagerStorage(filePath).saveTaskManager(original);
+
+        MappedTaskManagerStorage storage = new MappedTaskManagerStorage(filePath);
+        ReadOnlyTaskManager readBack = storage.readTaskManager().get();
+        assertFalse(readBack instanceof MappedTaskManager);
+        assertEquals(original, new TaskManager(readBack));
+
+        // the file is not mapped, so it can be converted in place
+        storage.saveTaskManager(readBack);
+        assertTrue(BinaryFileStorage.isBinaryFile(new File(filePath)));
+    }
+
+    @Test
+    public void save_mappedFile_exceptionThrown() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.bin");
+        TaskManager original = new TypicalTestTasks().getTypicalTaskManager();
+        new BinaryTaskManagerStorage(filePath).saveTaskManager(original);
+        MappedTaskManagerStorage storage = new MappedTaskManagerStorage(filePath);
+        ReadOnlyTaskManager readBack = storage.readTaskManager().get();
+
+        thrown.expect(IOException.class);
+        storage.saveTaskManager(readBack);
+    }
+
+    @Test
+    public void save_otherFile_editableCopy() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.bin");
+        String copyPath = getTempFilePath("Copy.bin");
+        TaskManager original = new TypicalTestTasks().getTypicalTaskManager();
+        new BinaryTaskManagerStorage(filePath).saveTaskManager(original);
+        MappedTaskManagerStorage storage = new MappedTaskManagerStorage(filePath);
+
+        storage.saveTaskManager(storage.readTaskManager().get(), copyPath);
+        assertEquals(original, new TaskManager(new BinaryTaskManagerStorage(copyPath).readTaskManager().get()));
+    }
+
+}
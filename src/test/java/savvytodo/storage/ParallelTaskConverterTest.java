@@ -0,0 +1,56 @@
+package savvytodo.storage;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import savvytodo.commons.exceptions.IllegalValueException;
+import savvytodo.model.task.Task;
+import savvytodo.testutil.TestTask;
+import savvytodo.testutil.TypicalTestTasks;
+
+public class ParallelTaskConverterTest {
+
+    private static final int TASK_COUNT = ParallelTaskConverter.MIN_PARALLEL_SIZE * 8;
+
+    private final TestTask[] typicalTasks = new TypicalTestTasks().getTypicalTasks();
+    private final List<Integer> storedTasks = IntStream.range(0, TASK_COUNT).boxed().collect(Collectors.toList());
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void convert_manyTasks_orderKept() throws Exception {
+        List<Task> tasks = ParallelTaskConverter.convert(storedTasks, this::toTask);
+
+        assertEquals(TASK_COUNT, tasks.size());
+        for (int i = 0; i < TASK_COUNT; i++) {
+            assertEquals(toTask(i), tasks.get(i));
+        }
+    }
+
+    @Test
+    public void convert_severalInvalidTasks_firstErrorReported() throws Exception {
+        thrown.expect(IllegalValueException.class);
+        thrown.expectMessage("Invalid task 300");
+        ParallelTaskConverter.convert(storedTasks, this::toTaskFailingSome);
+    }
+
+    private Task toTask(int storedTask) {
+        return new Task(typicalTasks[storedTask % typicalTasks.length]);
+    }
+
+    private Task toTaskFailingSome(int storedTask) throws IllegalValueException {
+        if (storedTask == 300 || storedTask == 301 || storedTask == 1500) {
+            throw new IllegalValueException("Invalid task " + storedTask);
+        }
+        return toTask(storedTask);
+    }
+
+}
@@ -0,0 +1,181 @@
+package savvytodo.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.eventbus.Subscribe;
+
+import savvytodo.commons.core.EventsCenter;
+import savvytodo.commons.events.storage.DeferredTasksLoadedEvent;
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.TaskManager;
+import savvytodo.model.task.Task;
+import savvytodo.testutil.TypicalTestTasks;
+
+public class ShardedTaskManagerStorageTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private String getTempFilePath(String fileName) {
+        return testFolder.getRoot().getPath() + File.separator + fileName;
+    }
+
+    private File getShardFile(String filePath, String shardKey) {
+        return new File(ShardedTaskManagerStorage.getShardDirectory(new File(filePath)), shardKey + ".bin");
+    }
+
+    /** Returns the typical tasks, which are all in March 2017, and one floating task. */
+    private TaskManager getTypicalTaskManagerWithFloatingTask(TypicalTestTasks td) throws Exception {
+        TaskManager taskManager = td.getTypicalTaskManager();
+        taskManager.addTask(new Task(td.floating1));
+        return taskManager;
+    }
+
+    @Test
+    public void read_missingFile_emptyResult() throws Exception {
+        assertFalse(new ShardedTaskManagerStorage(getTempFilePath("NonExistentFile")).readTaskManager().isPresent());
+    }
+
+    @Test
+    public void saveAndRead_tasksSplitByMonth_allTasksReadBack() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.json");
+        TaskManager original = getTypicalTaskManagerWithFloatingTask(new TypicalTestTasks());
+        ShardedTaskManagerStorage storage = new ShardedTaskManagerStorage(filePath);
+
+        storage.saveTaskManager(original);
+        assertTrue(getShardFile(filePath, "2017-03").exists());
+        assertTrue(getShardFile(filePath, ShardedTaskManagerStorage.FLOATING_SHARD_KEY).exists());
+        assertEquals(original, new TaskManager(storage.readTaskManager().get()));
+    }
+
+    @Test
+    public void save_oneShardChanged_onlyThatShardWritten() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.json");
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskManager original = getTypicalTaskManagerWithFloatingTask(td);
+        ShardedTaskManagerStorage storage = new ShardedTaskManagerStorage(filePath);
+        storage.saveTaskManager(original);
+        File monthShard = getShardFile(filePath, "2017-03");
+        File floatingShard = getShardFile(filePath, ShardedTaskManagerStorage.FLOATING_SHARD_KEY);
+        assertTrue(monthShard.setLastModified(0));
+        assertTrue(floatingShard.setLastModified(0));
+
+        original.addTask(new Task(td.floating2));
+        storage.saveTaskManager(original);
+        assertEquals(0, monthShard.lastModified());
+        assertNotEquals(0, floatingShard.lastModified());
+        assertEquals(original, new TaskManager(storage.readTaskManager().get()));
+    }
+
+    @Test
+    public void save_monthNoLongerUsed_shardDeleted() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.json");
+        TypicalTestTasks td = new TypicalTestTasks();
+        ShardedTaskManagerStorage storage = new ShardedTaskManagerStorage(filePath);
+        storage.saveTaskManager(getTypicalTaskManagerWithFloatingTask(td));
+
+        TaskManager floatingOnly = new TaskManager();
+        floatingOnly.addTask(new Task(td.floating1));
+        storage.saveTaskManager(floatingOnly);
+        assertFalse(getShardFile(filePath, "2017-03").exists());
+        assertEquals(floatingOnly, new TaskManager(storage.readTaskManager().get()));
+    }
+
+    @Test
+    public void read_xmlFile_readAndWrittenBackAsShards() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.xml");
+        TaskManager original = getTypicalTaskManagerWithFloatingTask(new TypicalTestTasks());
+        new XmlTaskManagerStorage(filePath).saveTaskManager(original);
+        ShardedTaskManagerStorage storage = new ShardedTaskManagerStorage(filePath);
+
+        ReadOnlyTaskManager readBack = storage.readTaskManager().get();
+        assertEquals(original, new TaskManager(readBack));
+        storage.saveTaskManager(readBack);
+        assertTrue(getShardFile(filePath, "2017-03").exists());
+        assertEquals(original, new TaskManager(storage.readTaskManager().get()));
+    }
+
+    @Test
+    public void read_olderShardsDeferred_keptBySavesUntilMerged() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.json");
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskManager original = getTypicalTaskManagerWithFloatingTask(td);
+        ShardedTaskManagerStorage storage = new ShardedTaskManagerStorage(filePath, true);
+        storage.saveTaskManager(original);
+        DeferredTasksHandler handler = new DeferredTasksHandler();
+        EventsCenter.getInstance().registerHandler(handler);
+
+        // March 2017 is before the current month, so only the floating task is read right away
+        TaskManager recent = new TaskManager(storage.readTaskManager().get());
+        assertEquals(1, recent.getTaskList().size());
+        assertTrue(storage.hasDeferredTasks());
+        DeferredTasksLoadedEvent event = handler.events.poll(10, TimeUnit.SECONDS);
+        assertNotNull(event);
+        assertEquals(filePath, event.filePath);
+        assertEquals(original.getTaskList().size() - 1, event.data.getTaskList().size());
+
+        // saving data without the deferred tasks keeps them
+        recent.addTask(new Task(td.discussion));
+        storage.saveTaskManager(recent);
+        TaskManager expected = getTypicalTaskManagerWithFloatingTask(td);
+        expected.addTask(new Task(td.discussion));
+        assertEquals(expected, new TaskManager(new ShardedTaskManagerStorage(filePath).readTaskManager().get()));
+
+        // once merged, saves write the data as it is
+        storage.markDeferredTasksMerged();
+        assertFalse(storage.hasDeferredTasks());
+        recent.removeTask(new Task(td.discussion));
+        storage.saveTaskManager(recent);
+        assertEquals(recent, new TaskManager(new ShardedTaskManagerStorage(filePath).readTaskManager().get()));
+    }
+
+    @Test
+    public void save_taskAddedToDeferredMonthThenDeleted_deferredShardAsRead() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.json");
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskManager original = getTypicalTaskManagerWithFloatingTask(td);
+        ShardedTaskManagerStorage storage = new ShardedTaskManagerStorage(filePath, true);
+        storage.saveTaskManager(original);
+        DeferredTasksHandler handler = new DeferredTasksHandler();
+        EventsCenter.getInstance().registerHandler(handler);
+
+        TaskManager recent = new TaskManager(storage.readTaskManager().get());
+        recent.addTask(new Task(td.discussion));
+        storage.saveTaskManager(recent);
+        recent.removeTask(new Task(td.discussion));
+        storage.saveTaskManager(recent);
+
+        // the deleted task is neither saved nor loaded with the deferred tasks
+        assertEquals(original, new TaskManager(new ShardedTaskManagerStorage(filePath).readTaskManager().get()));
+        DeferredTasksLoadedEvent event = handler.events.poll(10, TimeUnit.SECONDS);
+        assertNotNull(event);
+        assertEquals(original.getTaskList().size() - 1, event.data.getTaskList().size());
+        assertEquals(2, ShardedTaskManagerStorage.getShardDirectory(new File(filePath)).list().length);
+    }
+
+    /**
+     * Collects the {@link DeferredTasksLoadedEvent}s raised on the background thread.
+     */
+    private static class DeferredTasksHandler {
+        private final BlockingQueue<DeferredTasksLoadedEvent> events = new LinkedBlockingQueue<>();
+
+        @Subscribe
+        public void handleDeferredTasksLoadedEvent(DeferredTasksLoadedEvent event) {
+            events.add(event);
+        }
+    }
+
+}
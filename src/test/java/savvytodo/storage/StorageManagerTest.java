@@ -2,8 +2,10 @@ package savvytodo.storage;
 
 import static junit.framework.TestCase.assertNotNull;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.io.IOException;
 
 import org.junit.Before;
@@ -16,6 +18,7 @@ import savvytodo.commons.events.storage.DataSavingExceptionEvent;
 import savvytodo.model.ReadOnlyTaskManager;
 import savvytodo.model.TaskManager;
 import savvytodo.model.UserPrefs;
+import savvytodo.model.task.Task;
 import savvytodo.testutil.EventsCollector;
 import savvytodo.testutil.TypicalTestTasks;
 
@@ -80,6 +83,45 @@ public class StorageManagerTest {
         assertTrue(eventCollector.get(0) instanceof DataSavingExceptionEvent);
     }
 
+    @Test
+    public void handleTaskManagerChangedEvent_withSaveWindow_latestDataSavedOnFlush() throws Exception {
+        Storage storage = new StorageManager(getTempFilePath("delayed"), getTempFilePath("prefs"),
+                StorageManager.XML_STORAGE_FORMAT, 60000);
+        TaskManager original = new TypicalTestTasks().getTypicalTaskManager();
+        storage.handleTaskManagerChangedEvent(new TaskManagerChangedEvent(new TaskManager()));
+        storage.handleTaskManagerChangedEvent(new TaskManagerChangedEvent(original));
+        assertFalse(storage.readTaskManager().isPresent());
+
+        storage.flushPendingSaves();
+        assertEquals(original, new TaskManager(storage.readTaskManager().get()));
+    }
+
+    @Test
+    public void saveTaskManager_unchangedData_writeSkipped() throws Exception {
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskManager original = td.getTypicalTaskManager();
+        storageManager.saveTaskManager(original);
+        storageManager.saveTaskManager(new TaskManager(original));
+        assertEquals(1, storageManager.getWrittenSaveCount());
+        assertEquals(1, storageManager.getSkippedSaveCount());
+
+        original.addTask(new Task(td.discussion));
+        storageManager.saveTaskManager(original);
+        assertEquals(2, storageManager.getWrittenSaveCount());
+        assertEquals(original, new TaskManager(storageManager.readTaskManager().get()));
+
+        // the file is written again if it has been changed by something else
+        new File(storageManager.getTaskManagerFilePath()).delete();
+        storageManager.saveTaskManager(original);
+        assertEquals(3, storageManager.getWrittenSaveCount());
+        assertEquals(original, new TaskManager(storageManager.readTaskManager().get()));
+
+        // saves to other files are never skipped because of the data file
+        storageManager.saveTaskManager(original, getTempFilePath("copy"));
+        assertEquals(4, storageManager.getWrittenSaveCount());
+        assertEquals(1, storageManager.getSkippedSaveCount());
+    }
+
 
     /**
      * A Stub class to throw an exception when the save method is called
@@ -0,0 +1,114 @@
+package savvytodo.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import savvytodo.commons.events.storage.TaskChangesFollowedEvent;
+import savvytodo.model.TaskManager;
+import savvytodo.model.task.Task;
+import savvytodo.testutil.TypicalTestTasks;
+
+public class TaskChangeLogFollowerTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private final List<StorageManager> sharingStorageManagers = new ArrayList<>();
+    private final List<TaskChangesFollowedEvent> followedChanges = new ArrayList<>();
+
+    @After
+    public void releaseDataFiles() {
+        for (StorageManager storageManager : sharingStorageManagers) {
+            storageManager.setSharedAccess(false);
+        }
+    }
+
+    private String getTempFilePath(String fileName) {
+        return testFolder.getRoot().getPath() + File.separator + fileName;
+    }
+
+    private StorageManager createSharingStorageManager(String filePath) {
+        StorageManager storageManager = new StorageManager(filePath, getTempFilePath("prefs"));
+        storageManager.setSharedAccess(true);
+        sharingStorageManagers.add(storageManager);
+        return storageManager;
+    }
+
+    @Test
+    public void setSharedAccess_dataFileLockedByAnotherStorage_followsWriter() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.xml");
+        StorageManager writer = createSharingStorageManager(filePath);
+        StorageManager follower = createSharingStorageManager(filePath);
+        assertFalse(writer.isFollowingWriter());
+        assertTrue(follower.isFollowingWriter());
+
+        // saving to another file is still allowed
+        follower.saveTaskManager(new TypicalTestTasks().getTypicalTaskManager(), getTempFilePath("Copy.xml"));
+
+        // the next instance to open the file becomes the writer once the lock is released
+        writer.setSharedAccess(false);
+        assertFalse(createSharingStorageManager(filePath).isFollowingWriter());
+
+        thrown.expect(IOException.class);
+        follower.saveTaskManager(new TypicalTestTasks().getTypicalTaskManager());
+    }
+
+    @Test
+    public void poll_writerSavedChanges_onlyChangesPassedOn() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.xml");
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskManager original = td.getTypicalTaskManager();
+        StorageManager writer = createSharingStorageManager(filePath);
+        writer.saveTaskManager(original);
+
+        TaskChangeLogFollower follower = new TaskChangeLogFollower(new XmlTaskManagerStorage(filePath),
+                followedChanges::add);
+        follower.poll();
+        assertTrue(followedChanges.isEmpty());
+
+        original.addTask(new Task(td.discussion));
+        original.removeTask(new Task(td.presentation));
+        writer.saveTaskManager(original);
+        follower.poll();
+        assertEquals(1, followedChanges.size());
+        TaskChangesFollowedEvent changes = followedChanges.get(0);
+        assertNull(changes.reloadedData);
+        assertEquals(Collections.singletonList(new Task(td.presentation)), changes.removedTasks);
+        assertEquals(Collections.singletonList(new Task(td.discussion)), changes.addedTasks);
+
+        // nothing new to pass on
+        follower.poll();
+        assertEquals(1, followedChanges.size());
+    }
+
+    @Test
+    public void poll_writerStartedNewSession_dataFileReadAgain() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.xml");
+        TaskChangeLogFollower follower = new TaskChangeLogFollower(new XmlTaskManagerStorage(filePath),
+                followedChanges::add);
+        TaskManager original = new TypicalTestTasks().getTypicalTaskManager();
+        createSharingStorageManager(filePath).saveTaskManager(original);
+
+        follower.poll();
+        assertEquals(1, followedChanges.size());
+        assertEquals(original, new TaskManager(followedChanges.get(0).reloadedData));
+    }
+
+}
@@ -0,0 +1,154 @@
+package savvytodo.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import savvytodo.commons.util.FileUtil;
+import savvytodo.model.PresortedTaskManagerSnapshot;
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.TaskManager;
+import savvytodo.model.TaskManagerSnapshot;
+import savvytodo.model.category.UniqueCategoryList;
+import savvytodo.model.task.DateTime;
+import savvytodo.model.task.Description;
+import savvytodo.model.task.Location;
+import savvytodo.model.task.Name;
+import savvytodo.model.task.Priority;
+import savvytodo.model.task.ReadOnlyTask;
+import savvytodo.model.task.Recurrence;
+import savvytodo.model.task.Status;
+import savvytodo.model.task.Task;
+import savvytodo.model.task.TimeStamp;
+
+public class TaskIndexSidecarTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private String getTempFilePath(String fileName) {
+        return testFolder.getRoot().getPath() + File.separator + fileName;
+    }
+
+    private Checksum checksumOf(File file) throws IOException {
+        CRC32 checksum = new CRC32();
+        checksum.update(Files.readAllBytes(file.toPath()));
+        return checksum;
+    }
+
+    /**
+     * Returns {@code taskCount} floating tasks, listed in the reverse of the order they were added.
+     */
+    private ReadOnlyTaskManager getTasksInReverseOrder(int taskCount) throws Exception {
+        LocalDateTime firstAdded = LocalDateTime.of(2017, 4, 1, 9, 0);
+        List<ReadOnlyTask> tasks = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(new Task(new Name("Task " + i), new Priority("low"), new Description("" + i),
+                    new Location("" + i), new UniqueCategoryList(), new DateTime(), new Recurrence(),
+                    new Status(false), new TimeStamp(firstAdded.plusMinutes(i))));
+        }
+        Collections.reverse(tasks);
+        return new TaskManagerSnapshot(tasks, Collections.emptyList());
+    }
+
+    @Test
+    public void read_matchingIndex_tasksTakenOverInAddedOrder() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.bin");
+        ReadOnlyTaskManager original = getTasksInReverseOrder(TaskIndexSidecar.MIN_INDEXED_TASK_COUNT);
+        BinaryTaskManagerStorage storage = new BinaryTaskManagerStorage(filePath);
+        storage.saveTaskManager(original);
+        assertTrue(TaskIndexSidecar.getIndexFile(new File(filePath)).exists());
+
+        ReadOnlyTaskManager readBack = storage.readTaskManager().get();
+        assertTrue(readBack instanceof PresortedTaskManagerSnapshot);
+        assertEquals(new Name("Task 0"), readBack.getTaskList().get(0).getName());
+        TaskManager taskManager = new TaskManager(readBack);
+        assertEquals(new TaskManager(original), taskManager);
+        assertEquals(new Name("Task 0"), taskManager.getTaskList().get(0).getName());
+    }
+
+    @Test
+    public void read_compressedFileWithMatchingIndex_tasksTakenOverInAddedOrder() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.json" + DataFileCompression.COMPRESSED_FILE_SUFFIX);
+        ReadOnlyTaskManager original = getTasksInReverseOrder(TaskIndexSidecar.MIN_INDEXED_TASK_COUNT);
+        JsonTaskManagerStorage storage = new JsonTaskManagerStorage(filePath);
+        storage.saveTaskManager(original);
+
+        // the checksum kept while writing is that of the compressed bytes in the file
+        ReadOnlyTaskManager readBack = storage.readTaskManager().get();
+        assertTrue(readBack instanceof PresortedTaskManagerSnapshot);
+        assertEquals(new TaskManager(original), new TaskManager(readBack));
+    }
+
+    @Test
+    public void read_dataFileChangedSinceIndexed_indexNotUsed() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.json");
+        ReadOnlyTaskManager original = getTasksInReverseOrder(TaskIndexSidecar.MIN_INDEXED_TASK_COUNT);
+        JsonTaskManagerStorage storage = new JsonTaskManagerStorage(filePath);
+        storage.saveTaskManager(original);
+
+        ReadOnlyTaskManager changed = getTasksInReverseOrder(TaskIndexSidecar.MIN_INDEXED_TASK_COUNT + 1);
+        JsonFileStorage.saveDataToFile(new File(filePath), changed);
+
+        ReadOnlyTaskManager readBack = storage.readTaskManager().get();
+        assertFalse(readBack instanceof PresortedTaskManagerSnapshot);
+        assertEquals(new TaskManager(changed), new TaskManager(readBack));
+    }
+
+    @Test
+    public void read_xmlFileWithMatchingIndex_tasksTakenOverInAddedOrder() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.xml");
+        ReadOnlyTaskManager original = getTasksInReverseOrder(TaskIndexSidecar.MIN_INDEXED_TASK_COUNT);
+        XmlTaskManagerStorage storage = new XmlTaskManagerStorage(filePath);
+        storage.saveTaskManager(original);
+
+        ReadOnlyTaskManager readBack = storage.readTaskManager().get();
+        assertTrue(readBack instanceof PresortedTaskManagerSnapshot);
+        assertEquals(new TaskManager(original), new TaskManager(readBack));
+    }
+
+    @Test
+    public void read_xmlFileWithoutTimesAdded_indexNotUsed() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.xml");
+        ReadOnlyTaskManager original = getTasksInReverseOrder(TaskIndexSidecar.MIN_INDEXED_TASK_COUNT);
+        XmlTaskManagerStorage storage = new XmlTaskManagerStorage(filePath);
+        storage.saveTaskManager(original);
+        // as written before the time tasks were added was kept
+        File dataFile = new File(filePath);
+        String content = FileUtil.readFromFile(dataFile).replaceAll("<timeStamp>[^<]*</timeStamp>", "<timeStamp/>");
+        FileUtil.writeToFile(dataFile, content);
+        TaskIndexSidecar.write(dataFile, original, checksumOf(dataFile));
+
+        // such files give tasks new times in file order, so the index does not apply
+        ReadOnlyTaskManager readBack = storage.readTaskManager().get();
+        assertFalse(readBack instanceof PresortedTaskManagerSnapshot);
+        assertEquals(original.getTaskList(), readBack.getTaskList());
+    }
+
+    @Test
+    public void save_fewTasks_indexRemoved() throws Exception {
+        String filePath = getTempFilePath("TempTaskManager.bin");
+        BinaryTaskManagerStorage storage = new BinaryTaskManagerStorage(filePath);
+        storage.saveTaskManager(getTasksInReverseOrder(TaskIndexSidecar.MIN_INDEXED_TASK_COUNT));
+        File indexFile = TaskIndexSidecar.getIndexFile(new File(filePath));
+        assertTrue(indexFile.exists());
+
+        storage.saveTaskManager(getTasksInReverseOrder(TaskIndexSidecar.MIN_INDEXED_TASK_COUNT - 1));
+        assertFalse(indexFile.exists());
+    }
+
+}
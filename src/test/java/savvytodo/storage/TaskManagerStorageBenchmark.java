@@ -0,0 +1,180 @@
+package savvytodo.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import savvytodo.commons.exceptions.DataConversionException;
+import savvytodo.commons.exceptions.IllegalValueException;
+import savvytodo.commons.util.DateTimeUtil;
+import savvytodo.model.ReadOnlyTaskManager;
+import savvytodo.model.TaskManagerSnapshot;
+import savvytodo.model.category.Category;
+import savvytodo.model.category.UniqueCategoryList;
+import savvytodo.model.task.DateTime;
+import savvytodo.model.task.Description;
+import savvytodo.model.task.Location;
+import savvytodo.model.task.Name;
+import savvytodo.model.task.Priority;
+import savvytodo.model.task.ReadOnlyTask;
+import savvytodo.model.task.Recurrence;
+import savvytodo.model.task.Status;
+import savvytodo.model.task.Task;
+import savvytodo.model.task.TimeStamp;
+
+/**
+ * Compares how long the task data file formats take to save and load files of many tasks, and how much memory
+ * they allocate doing so. It is not one of the tests, run it with
+ * {@code java savvytodo.storage.TaskManagerStorageBenchmark [TASK_COUNT]...}, which defaults to
+ * 10k, 100k and 1M tasks. 1M tasks need a heap of a few GB.
+ */
+public class TaskManagerStorageBenchmark {
+
+    private static final int[] DEFAULT_TASK_COUNTS = { 10_000, 100_000, 1_000_000 };
+    /** Runs before the measured one, so that the code has been compiled when it is measured. */
+    private static final int WARM_UP_RUNS = 2;
+
+    private static final List<Format> FORMATS = Arrays.asList(
+            new Format("jaxb", TaskManagerStorageBenchmark::saveWithJaxb, TaskManagerStorageBenchmark::loadWithJaxb),
+            new Format(StorageManager.XML_STORAGE_FORMAT, XmlStreamFileStorage::saveDataToFile,
+                    XmlStreamFileStorage::loadDataFromSaveFile),
+            new Format(StorageManager.JSON_STORAGE_FORMAT, JsonFileStorage::saveDataToFile,
+                    JsonFileStorage::loadDataFromSaveFile),
+            new Format(StorageManager.BINARY_STORAGE_FORMAT, BinaryFileStorage::saveDataToFile,
+                    BinaryFileStorage::loadDataFromSaveFile));
+
+    public static void main(String[] args) throws Exception {
+        int[] taskCounts = DEFAULT_TASK_COUNTS;
+        if (args.length > 0) {
+            taskCounts = Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        }
+
+        System.out.println(String.format("%-8s %10s %10s %10s %10s %12s %12s", "format", "tasks", "save ms",
+                "load ms", "file KB", "save MB", "load MB"));
+        for (int taskCount : taskCounts) {
+            ReadOnlyTaskManager taskManager = generateTaskManager(taskCount);
+            for (Format format : FORMATS) {
+                File file = File.createTempFile("benchmark", "." + format.name);
+                file.deleteOnExit();
+                int runs = taskCount >= 1_000_000 ? 1 : WARM_UP_RUNS + 1;
+                Measurement measurement = null;
+                for (int i = 0; i < runs; i++) {
+                    measurement = measure(format, file, taskManager);
+                }
+                System.out.println(String.format("%-8s %10d %10d %10d %10d %12.1f %12.1f", format.name, taskCount,
+                        measurement.saveMillis, measurement.loadMillis, file.length() / 1024,
+                        measurement.saveAllocatedBytes / 1e6, measurement.loadAllocatedBytes / 1e6));
+                file.delete();
+            }
+        }
+    }
+
+    private static Measurement measure(Format format, File file, ReadOnlyTaskManager taskManager)
+            throws DataConversionException, IOException {
+        Measurement measurement = new Measurement();
+        System.gc();
+        long allocatedBefore = getAllocatedBytes();
+        long start = System.nanoTime();
+        format.saver.save(file, taskManager);
+        measurement.saveMillis = (System.nanoTime() - start) / 1_000_000;
+        measurement.saveAllocatedBytes = getAllocatedBytes() - allocatedBefore;
+
+        System.gc();
+        allocatedBefore = getAllocatedBytes();
+        start = System.nanoTime();
+        int loadedCount = format.loader.load(file).getTaskList().size();
+        measurement.loadMillis = (System.nanoTime() - start) / 1_000_000;
+        measurement.loadAllocatedBytes = getAllocatedBytes() - allocatedBefore;
+        if (loadedCount != taskManager.getTaskList().size()) {
+            throw new IllegalStateException(format.name + " loaded " + loadedCount + " tasks");
+        }
+        return measurement;
+    }
+
+    /**
+     * Returns the bytes allocated so far by the threads that are alive, which include those loading in parallel.
+     */
+    private static long getAllocatedBytes() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return Arrays.stream(threads.getThreadAllocatedBytes(threads.getAllThreadIds())).filter(bytes -> bytes > 0)
+                .sum();
+    }
+
+    /**
+     * Returns {@code taskCount} distinct tasks, a third of each type, with a few categories.
+     */
+    private static ReadOnlyTaskManager generateTaskManager(int taskCount) throws IllegalValueException {
+        List<Category> categories = Arrays.asList(new Category("work"), new Category("home"));
+        LocalDateTime start = LocalDateTime.of(2017, 1, 1, 9, 0);
+        List<ReadOnlyTask> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            DateTime dateTime;
+            if (i % 3 == 0) {
+                dateTime = new DateTime(start.plusHours(i), start.plusHours(i + 1));
+            } else if (i % 3 == 1) {
+                dateTime = new DateTime(null, start.plusHours(i).format(DateTimeUtil.DATE_FORMATTER));
+            } else {
+                dateTime = new DateTime();
+            }
+            tasks.add(new Task(new Name("Task " + i), new Priority(i % 2 == 0 ? "low" : "high"),
+                    new Description("Description of task " + i), new Location("Room " + (i % 100)),
+                    new UniqueCategoryList(Collections.singletonList(categories.get(i % 2))), dateTime,
+                    new Recurrence(), new Status(i % 5 == 0), new TimeStamp(start.plusSeconds(i))));
+        }
+        return new TaskManagerSnapshot(tasks, categories);
+    }
+
+    private static void saveWithJaxb(File file, ReadOnlyTaskManager taskManager) throws IOException {
+        XmlFileStorage.saveDataToFile(file, new XmlSerializableTaskManager(taskManager));
+    }
+
+    private static ReadOnlyTaskManager loadWithJaxb(File file) throws DataConversionException, IOException {
+        return new TaskManagerSnapshot(XmlFileStorage.loadDataFromSaveFile(file));
+    }
+
+    /**
+     * Writes task data to a file.
+     */
+    private interface Saver {
+        void save(File file, ReadOnlyTaskManager taskManager) throws IOException;
+    }
+
+    /**
+     * Reads task data from a file.
+     */
+    private interface Loader {
+        ReadOnlyTaskManager load(File file) throws DataConversionException, IOException;
+    }
+
+    /**
+     * A data file format, with how it is saved and loaded.
+     */
+    private static class Format {
+        private final String name;
+        private final Saver saver;
+        private final Loader loader;
+
+        Format(String name, Saver saver, Loader loader) {
+            this.name = name;
+            this.saver = saver;
+            this.loader = loader;
+        }
+    }
+
+    /**
+     * The results of saving and loading one file.
+     */
+    private static class Measurement {
+        private long saveMillis;
+        private long loadMillis;
+        private long saveAllocatedBytes;
+        private long loadAllocatedBytes;
+    }
+
+}
@@ -0,0 +1,116 @@
+package savvytodo.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.EmptyStackException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import savvytodo.model.TaskManager;
+import savvytodo.model.operations.Operation;
+import savvytodo.model.operations.UndoAddOperation;
+import savvytodo.model.operations.UndoClearOperation;
+import savvytodo.model.operations.UndoEditOperation;
+import savvytodo.model.operations.UndoMarkOperation;
+import savvytodo.model.task.Task;
+import savvytodo.testutil.TypicalTestTasks;
+
+public class UndoHistoryFileTest {
+
+    private static final int DEPTH = 3;
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private final TypicalTestTasks td = new TypicalTestTasks();
+
+    private File getHistoryFile() {
+        String filePath = testFolder.getRoot().getPath() + File.separator + "TempTaskManager.xml";
+        return UndoHistoryFile.getUndoHistoryFile(filePath);
+    }
+
+    private static void assertSameOperation(Operation expected, Operation actual) {
+        assertEquals(OperationRecordCodec.encode(expected), OperationRecordCodec.encode(actual));
+    }
+
+    @Test
+    public void open_closedWithSameData_operationsReadBack() throws Exception {
+        TaskManager taskManager = td.getTypicalTaskManager();
+        Operation add = new UndoAddOperation(new Task(td.discussion));
+        Operation edit = new UndoEditOperation(1, td.appointment, td.interview);
+        Operation clear = new UndoClearOperation(taskManager, new TaskManager());
+        Operation redoMark = new UndoMarkOperation(2).reverse();
+
+        UndoHistoryFile history = UndoHistoryFile.open(getHistoryFile(), DEPTH, taskManager);
+        history.pushUndo(add);
+        history.pushUndo(edit);
+        history.pushUndo(clear);
+        history.pushRedo(redoMark);
+        history.close(taskManager);
+
+        UndoHistoryFile reopened = UndoHistoryFile.open(getHistoryFile(), DEPTH, taskManager);
+        assertSameOperation(redoMark, reopened.popRedo());
+        assertSameOperation(clear, reopened.popUndo());
+        assertSameOperation(edit, reopened.popUndo());
+        assertSameOperation(add, reopened.popUndo());
+        thrown.expect(EmptyStackException.class);
+        reopened.popUndo();
+    }
+
+    @Test
+    public void open_dataChangedSinceClosed_emptyHistory() throws Exception {
+        TaskManager taskManager = td.getTypicalTaskManager();
+        UndoHistoryFile history = UndoHistoryFile.open(getHistoryFile(), DEPTH, taskManager);
+        history.pushUndo(new UndoAddOperation(new Task(td.discussion)));
+        history.close(taskManager);
+
+        taskManager.addTask(new Task(td.interview));
+        UndoHistoryFile reopened = UndoHistoryFile.open(getHistoryFile(), DEPTH, taskManager);
+        thrown.expect(EmptyStackException.class);
+        reopened.popUndo();
+    }
+
+    @Test
+    public void open_notClosed_emptyHistory() throws Exception {
+        TaskManager taskManager = td.getTypicalTaskManager();
+        UndoHistoryFile history = UndoHistoryFile.open(getHistoryFile(), DEPTH, taskManager);
+        history.pushUndo(new UndoAddOperation(new Task(td.discussion)));
+        history.close(taskManager);
+        // operations after the close are not covered by it, as if the application stopped without closing
+        history.pushUndo(new UndoAddOperation(new Task(td.interview)));
+
+        UndoHistoryFile reopened = UndoHistoryFile.open(getHistoryFile(), DEPTH, taskManager);
+        thrown.expect(EmptyStackException.class);
+        reopened.popUndo();
+    }
+
+    @Test
+    public void push_moreThanDepth_oldestDroppedAndFileRewritten() throws Exception {
+        TaskManager taskManager = td.getTypicalTaskManager();
+        UndoHistoryFile history = UndoHistoryFile.open(getHistoryFile(), DEPTH, taskManager);
+        for (int i = 0; i < 10 * DEPTH; i++) {
+            history.pushUndo(new UndoMarkOperation(i));
+            history.clearRedo();
+            history.pushRedo(new UndoMarkOperation(i).reverse());
+        }
+        history.close(taskManager);
+        assertTrue(Files.readAllLines(getHistoryFile().toPath()).size() <= 4 * DEPTH + 1);
+
+        UndoHistoryFile reopened = UndoHistoryFile.open(getHistoryFile(), DEPTH, taskManager);
+        for (int i = 10 * DEPTH - 1; i >= 9 * DEPTH; i--) {
+            assertSameOperation(new UndoMarkOperation(i), reopened.popUndo());
+        }
+        thrown.expect(EmptyStackException.class);
+        reopened.popUndo();
+    }
+
+}
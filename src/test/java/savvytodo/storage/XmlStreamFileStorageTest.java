@@ -0,0 +1,61 @@
+package savvytodo.storage;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import savvytodo.commons.exceptions.DataConversionException;
+import savvytodo.commons.util.FileUtil;
+import savvytodo.model.TaskManager;
+import savvytodo.testutil.TypicalTestTasks;
+
+public class XmlStreamFileStorageTest {
+
+    private static final String TEST_DATA_FOLDER = FileUtil.getPath("src/test/data/XmlUtilTest/");
+    private static final File EMPTY_FILE = new File(TEST_DATA_FOLDER + "empty.xml");
+    private static final File MISSING_FILE = new File(TEST_DATA_FOLDER + "missing.xml");
+    private static final File VALID_FILE = new File(TEST_DATA_FOLDER + "validTaskManager.xml");
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void loadDataFromSaveFile_missingFile_fileNotFoundException() throws Exception {
+        thrown.expect(FileNotFoundException.class);
+        XmlStreamFileStorage.loadDataFromSaveFile(MISSING_FILE);
+    }
+
+    @Test
+    public void loadDataFromSaveFile_emptyFile_dataConversionException() throws Exception {
+        thrown.expect(DataConversionException.class);
+        XmlStreamFileStorage.loadDataFromSaveFile(EMPTY_FILE);
+    }
+
+    @Test
+    public void loadDataFromSaveFile_validFile_sameAsJaxb() throws Exception {
+        TaskManager expected = new TaskManager(XmlFileStorage.loadDataFromSaveFile(VALID_FILE));
+        TaskManager actual = new TaskManager(XmlStreamFileStorage.loadDataFromSaveFile(VALID_FILE));
+        assertEquals(6, actual.getTaskList().size());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void saveDataToFile_typicalTaskManager_readableByJaxb() throws Exception {
+        File file = testFolder.newFile("TempTaskManager.xml");
+        TaskManager original = new TypicalTestTasks().getTypicalTaskManager();
+        XmlStreamFileStorage.saveDataToFile(file, original);
+
+        assertEquals(original, new TaskManager(XmlFileStorage.loadDataFromSaveFile(file)));
+        assertEquals(original, new TaskManager(XmlStreamFileStorage.loadDataFromSaveFile(file)));
+    }
+
+}
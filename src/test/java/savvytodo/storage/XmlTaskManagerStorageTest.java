@@ -85,6 +85,36 @@ public class XmlTaskManagerStorageTest {
 
     }
 
+    @Test
+    public void saveTaskManager_someTasksChanged_onlyChangedTasksSerialised() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + "TempTaskManager.xml";
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskManager original = td.getTypicalTaskManager();
+        int taskCount = original.getTaskList().size();
+        XmlTaskManagerStorage xmlTaskManagerStorage = new XmlTaskManagerStorage(filePath);
+        XmlTaskFragmentCache fragmentCache = xmlTaskManagerStorage.getFragmentCache();
+
+        xmlTaskManagerStorage.saveTaskManager(original);
+        assertEquals(0, fragmentCache.getLastReusedCount());
+        assertEquals(taskCount, fragmentCache.getLastSerialisedCount());
+
+        original.addTask(new Task(td.discussion));
+        original.removeTask(new Task(td.presentation));
+        original.updateTask(original.getTaskList().indexOf(new Task(td.meeting)), new Task(td.interview));
+        xmlTaskManagerStorage.saveTaskManager(original);
+        assertEquals(taskCount - 2, fragmentCache.getLastReusedCount());
+        assertEquals(2, fragmentCache.getLastSerialisedCount());
+        assertEquals(2, fragmentCache.getLastDroppedCount());
+        // tasks are read back in the order they were added, which the edited task is no longer in
+        TaskManager expected = new TaskManager(original);
+        assertEquals(expected, new TaskManager(xmlTaskManagerStorage.readTaskManager().get()));
+
+        //Saves to other files serialise every task and leave the cache alone
+        xmlTaskManagerStorage.saveTaskManager(original, filePath + ".copy");
+        assertEquals(2, fragmentCache.getLastSerialisedCount());
+        assertEquals(expected, new TaskManager(xmlTaskManagerStorage.taskManagerBook(filePath + ".copy").get()));
+    }
+
     @Test
     public void saveTaskManager_nullTaskManager_assertionFailure() throws IOException {
         thrown.expect(AssertionError.class);